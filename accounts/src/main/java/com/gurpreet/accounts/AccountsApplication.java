@@ -1,5 +1,6 @@
 package com.gurpreet.accounts;
 
+import com.gurpreet.accounts.config.AccountsRuntimeHints;
 import com.gurpreet.accounts.dto.AccountContactInfoDto;
 import io.swagger.v3.oas.annotations.ExternalDocumentation;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
@@ -8,12 +9,15 @@ import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.info.License;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 // this annotation is to perform auto configuration and scan all the beans in the spring boot application
 @SpringBootApplication
 @EnableJpaAuditing(auditorAwareRef = "auditAwareImpl" )
+@ImportRuntimeHints(AccountsRuntimeHints.class)
 @EnableConfigurationProperties(value = AccountContactInfoDto.class)
 @OpenAPIDefinition(
         info = @Info(
@@ -37,6 +41,9 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 public class AccountsApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(AccountsApplication.class, args);
+        SpringApplication application = new SpringApplication(AccountsApplication.class);
+        // keeps the startup steps for the /actuator/startup report
+        application.setApplicationStartup(new BufferingApplicationStartup(2048));
+        application.run(args);
     }
 }
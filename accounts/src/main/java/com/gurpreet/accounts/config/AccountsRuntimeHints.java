@@ -0,0 +1,60 @@
+package com.gurpreet.accounts.config;
+
+import com.gurpreet.accounts.dto.AccountContactInfoDto;
+import com.gurpreet.accounts.dto.AccountsDto;
+import com.gurpreet.accounts.dto.CustomerDto;
+import com.gurpreet.accounts.dto.ErrorResponseDto;
+import com.gurpreet.accounts.dto.ResponseDto;
+import com.gurpreet.accounts.entity.Accounts;
+import com.gurpreet.accounts.entity.BaseEntity;
+import com.gurpreet.accounts.entity.Customer;
+import com.gurpreet.accounts.repository.AccountsRepository;
+import com.gurpreet.accounts.repository.CustomerRepository;
+import com.gurpreet.accounts.repository.CustomerSearchRow;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints used by the fast-start (Spring AOT) build of the accounts service.
+ *
+ * Lombok generates the accessors of the entities and DTOs at compile time, Hibernate and Jackson
+ * then reach them reflectively, so they are registered with all their members.
+ */
+public class AccountsRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> ENTITIES = List.of(
+            Accounts.class,
+            Customer.class,
+            BaseEntity.class
+    );
+
+    private static final List<Class<?>> DTOS = List.of(
+            CustomerDto.class,
+            AccountsDto.class,
+            ResponseDto.class,
+            ErrorResponseDto.class,
+            AccountContactInfoDto.class
+    );
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            AccountsRepository.class,
+            CustomerRepository.class,
+            CustomerSearchRow.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        ENTITIES.forEach(type -> hints.reflection().registerType(type, MemberCategory.values()));
+        DTOS.forEach(type -> hints.reflection().registerType(type, MemberCategory.values()));
+        REPOSITORIES.forEach(type -> hints.reflection().registerType(type,
+                MemberCategory.INTROSPECT_PUBLIC_METHODS, MemberCategory.INVOKE_PUBLIC_METHODS));
+
+        // springdoc serves the OpenAPI document and the bundled swagger-ui assets
+        hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+        hints.resources().registerPattern("META-INF/swagger-ui.version");
+        hints.resources().registerPattern("schema.sql");
+    }
+}
@@ -0,0 +1,38 @@
+package com.gurpreet.accounts.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource which sends the connections of read-only transactions to the replica pool
+ * and every other connection to the primary pool.
+ *
+ * It has to be wrapped in a LazyConnectionDataSourceProxy, so the connection is only looked up
+ * once the transaction read-only flag has been set.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    /**
+     * Sends the reads of the current thread to the primary, until {@link #unpin()} is called.
+     */
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (PINNED_TO_PRIMARY.get() == null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+}
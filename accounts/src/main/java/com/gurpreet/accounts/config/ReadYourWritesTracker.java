@@ -0,0 +1,65 @@
+package com.gurpreet.accounts.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the mobile numbers which were written recently, so their reads are served by the
+ * primary until the replica has caught up (datasource.replica.read-your-writes-window).
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(@Value("${datasource.replica.read-your-writes-window:0s}") Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Records a create, update or delete for the given mobile number.
+     *
+     * @param mobileNumber the mobile number which was written
+     */
+    public void recordWrite(String mobileNumber) {
+        if (windowNanos <= 0 || mobileNumber == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (lastWrites.size() > CLEANUP_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt > windowNanos);
+        }
+        lastWrites.put(mobileNumber, now);
+    }
+
+    /**
+     * Pins the reads of the current transaction to the primary when the given mobile number
+     * was written within the window.
+     *
+     * @param mobileNumber the mobile number about to be read
+     */
+    public void pinToPrimaryIfRecentlyWritten(String mobileNumber) {
+        Long writtenAt = mobileNumber == null ? null : lastWrites.get(mobileNumber);
+        if (writtenAt == null || System.nanoTime() - writtenAt > windowNanos
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        ReadReplicaRoutingDataSource.pinToPrimary();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                ReadReplicaRoutingDataSource.unpin();
+            }
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.gurpreet.accounts.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Beans of the startup-optimized profile (application-startup.yml).
+ *
+ * The schema scripts only run when schema.sql changed, and the time to ready is checked against
+ * the configured budget. The individual startup steps are available at /actuator/startup.
+ */
+@Configuration
+@Profile("startup")
+@EnableConfigurationProperties(SqlInitializationProperties.class)
+public class StartupProfileConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupProfileConfig.class);
+
+    @Value("${startup.time-to-ready-budget:5s}")
+    private Duration timeToReadyBudget;
+
+    @Bean
+    @Lazy(false)
+    public VersionedSchemaInitializer versionedSchemaInitializer(DataSource dataSource,
+                                                                 SqlInitializationProperties properties) {
+        return new VersionedSchemaInitializer(dataSource, properties);
+    }
+
+    @EventListener
+    public void checkTimeToReady(ApplicationReadyEvent event) {
+        Duration timeTaken = event.getTimeTaken();
+        if (timeTaken != null && timeTaken.compareTo(timeToReadyBudget) > 0) {
+            logger.warn("Time to ready {} ms exceeds the budget of {} ms, see /actuator/startup for the slowest steps",
+                    timeTaken.toMillis(), timeToReadyBudget.toMillis());
+        } else if (timeTaken != null) {
+            logger.info("Time to ready {} ms within the budget of {} ms", timeTaken.toMillis(), timeToReadyBudget.toMillis());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.gurpreet.accounts.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Schema initializer which only runs schema.sql when its content changed since the last run.
+ *
+ * The SHA-256 checksum of the script is recorded in the schema_version table after a successful run,
+ * so a restart with the same schema skips all the DDL statements. Replicas starting together may both run
+ * the script, which is idempotent, and both record its checksum: the second record is ignored.
+ */
+public class VersionedSchemaInitializer extends SqlDataSourceScriptDatabaseInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(VersionedSchemaInitializer.class);
+
+    private static final String SCHEMA_SCRIPT = "schema.sql";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VersionedSchemaInitializer(DataSource dataSource, SqlInitializationProperties properties) {
+        super(dataSource, properties);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public boolean initializeDatabase() {
+        String checksum = checksum();
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS `schema_version` ("
+                + "`checksum` varchar(64) NOT NULL PRIMARY KEY, "
+                + "`applied_at` datetime NOT NULL)");
+        Integer applied = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM `schema_version` WHERE `checksum` = ?", Integer.class, checksum);
+        if (applied != null && applied > 0) {
+            logger.info("Schema version {} already applied, skipping schema initialization", checksum);
+            return false;
+        }
+        boolean initialized = super.initializeDatabase();
+        jdbcTemplate.update("INSERT IGNORE INTO `schema_version` (`checksum`, `applied_at`) VALUES (?, ?)",
+                checksum, LocalDateTime.now());
+        return initialized;
+    }
+
+    /**
+     * @return the hex encoded SHA-256 checksum of the schema script
+     */
+    private static String checksum() {
+        try (InputStream inputStream = new ClassPathResource(SCHEMA_SCRIPT).getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(inputStream.readAllBytes()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
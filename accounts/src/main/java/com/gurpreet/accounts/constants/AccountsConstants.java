@@ -16,6 +16,8 @@ public class AccountsConstants {
     public static final String  STATUS_417 = "417";
     public static final String  MESSAGE_417_UPDATE= "Update operation failed. Please try again or contact Dev team";
     public static final String  MESSAGE_417_DELETE= "Delete operation failed. Please try again or contact Dev team";
+    public static final int  MAX_SEARCH_RESULTS = 50;
+    public static final String  MESSAGE_503 = "Service is busy. Please retry after some time";
     public static final String  STATUS_500 = "500";
     public static final String  MESSAGE_500 = "An error occurred. Please try again or contact Dev team";
 
@@ -13,7 +13,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 //import lombok.AllArgsConstructor;
 //import org.springframework.boot.autoconfigure.integration.IntegrationProperties;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,9 +28,17 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
 
 @RestController
-@RequestMapping(path="/api", produces= {MediaType.APPLICATION_JSON_VALUE})
+@RequestMapping(path="/api", produces= {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
 @Validated
 //Validated= perform validations on all the rest apis inside controller
 @Tag(
@@ -96,11 +108,57 @@ public class AccountsController {
     @GetMapping("/fetch")
     public ResponseEntity<CustomerDto> fetchAccountDetails(@RequestParam
                                                                @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
-                                                               String mobileNumber){
+                                                               String mobileNumber,
+                                                               WebRequest webRequest){
+        Optional<LocalDateTime> lastModified = iAccountsService.fetchLastModified(mobileNumber);
+        if (lastModified.isPresent()) {
+            long lastModifiedMillis = lastModified.get().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            // answers If-None-Match/If-Modified-Since with 304 without loading the customer and account details
+            if (webRequest.checkNotModified(eTag(lastModified.get()), lastModifiedMillis)) {
+                return null;
+            }
+        }
         CustomerDto customerDto = iAccountsService.fetchAccount(mobileNumber);
         return ResponseEntity.status(HttpStatus.OK).body(customerDto);
     }
 
+    /**
+     * Finds customers by partial name or email, for the support agents.
+     *
+     * @param query one or more words, or word prefixes, of the name or the email
+     * @param limit the maximum number of customers to return, up to MAX_SEARCH_RESULTS
+     * @return the best matching customers first, without their account details
+     */
+    @Operation(
+            summary = "Search Customers REST API",
+            description = "REST API to find Customers by partial name or email"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<List<CustomerDto>> searchCustomers(@RequestParam
+                                                             @NotBlank(message = "Query can not be null or empty")
+                                                             @Size(max = 100, message = "Query can not be longer than 100 characters")
+                                                             String query,
+                                                             @RequestParam(defaultValue = "10")
+                                                             @Min(value = 1, message = "Limit should be at least 1")
+                                                             @Max(value = AccountsConstants.MAX_SEARCH_RESULTS, message = "Limit can not be more than 50")
+                                                             int limit) {
+        return ResponseEntity.status(HttpStatus.OK).body(iAccountsService.searchCustomers(query, limit));
+    }
+
     @Operation(
             summary = "Update Account REST API",
             description = "REST API to update new Customer and Account inside a Bank based on a account number"
@@ -257,4 +315,11 @@ public class AccountsController {
                 status(HttpStatus.OK).
                 body(accountContactInfoDto);
     }
-}
\ No newline at end of file
+
+    /**
+     * @return the strong ETag derived from the last modification time, in microseconds
+     */
+    private static String eTag(LocalDateTime lastModified) {
+        return "\"" + Long.toHexString(ChronoUnit.MICROS.between(LocalDate.EPOCH.atStartOfDay(), lastModified)) + "\"";
+    }
+}
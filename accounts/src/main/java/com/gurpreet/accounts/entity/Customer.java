@@ -2,9 +2,11 @@ package com.gurpreet.accounts.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.GenericGenerator;
 
 @Entity
+@DynamicUpdate
 @Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
 public class Customer extends BaseEntity {
 
@@ -3,10 +3,14 @@ package com.gurpreet.accounts.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+/**
+ * Thrown when a customer is already registered with the given mobile number.
+ * This is an expected outcome, so the exception does not capture a stack trace.
+ */
 @ResponseStatus(value = HttpStatus.BAD_REQUEST)
 public class CustomerAlreadyExistsException extends RuntimeException{
     public CustomerAlreadyExistsException(String message)
     {
-        super(message);
+        super(message, null, false, false);
     }
 }
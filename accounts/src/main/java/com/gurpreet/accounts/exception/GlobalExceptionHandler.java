@@ -1,10 +1,15 @@
 package com.gurpreet.accounts.exception;
 
+import com.gurpreet.accounts.constants.AccountsConstants;
 import com.gurpreet.accounts.dto.ErrorResponseDto;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -13,6 +18,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.sql.SQLTransientConnectionException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -21,6 +27,9 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
+    @Value("${connection-pool.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
 
     /**
     * Handles MethodArgumentNotValidException triggered when a method argument fails validation.
@@ -49,6 +58,25 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(validationErrors, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles ConstraintViolationException triggered when a parameter of a {@code @Validated} controller method,
+     * such as a request parameter or an element of a request body list, fails validation.
+     *
+     * The violations are returned keyed by their property path with a BAD_REQUEST status, like the field errors
+     * of a request body.
+     *
+     * @param exception the exception containing the constraint violations
+     * @return a ResponseEntity containing a map of validation errors with a BAD_REQUEST status
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Map<String, String>> handleConstraintViolationException(
+            ConstraintViolationException exception) {
+        Map<String, String> validationErrors = new HashMap<>();
+        exception.getConstraintViolations().forEach(violation ->
+                validationErrors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return new ResponseEntity<>(validationErrors, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * This method is used to handle any global exception which may occur.
      * It returns a ResponseEntity with an INTERNAL_SERVER_ERROR status and an ErrorResponseDto as the body.
@@ -112,4 +140,43 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         );
         return new ResponseEntity<>(errorResponseDTO, HttpStatus.NOT_FOUND);
     }
+
+    /**
+     * Handles the failures to obtain a database connection.
+     * When the connection pool could not hand out a connection within its connection-timeout the request is shed
+     * with a SERVICE_UNAVAILABLE status and a Retry-After header, instead of holding the request thread.
+     * Any other failure is reported with an INTERNAL_SERVER_ERROR status like the global handler does.
+     *
+     * @param exception the exception raised while opening the transaction or the connection
+     * @param webRequest the WebRequest object
+     * @return a ResponseEntity with a SERVICE_UNAVAILABLE status and an ErrorResponseDto as the body
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponseDto> handleConnectionPoolExhausted(Exception exception,
+                                                                          WebRequest webRequest){
+        if (!isPoolTimeout(exception)) {
+            return handleGlobalException(exception, webRequest);
+        }
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto(
+                webRequest.getDescription(false),
+                HttpStatus.SERVICE_UNAVAILABLE,
+                AccountsConstants.MESSAGE_503,
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(errorResponseDto);
+    }
+
+    /**
+     * @return true if the cause chain contains the timeout raised by the connection pool
+     */
+    private static boolean isPoolTimeout(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,165 @@
+package com.gurpreet.accounts.grpc;
+
+import com.gurpreet.accounts.constants.AccountsConstants;
+import com.gurpreet.accounts.dto.CustomerDto;
+import com.gurpreet.accounts.exception.CustomerAlreadyExistsException;
+import com.gurpreet.accounts.exception.ResourceNotFoundException;
+import com.gurpreet.accounts.grpc.proto.AccountsServiceGrpc;
+import com.gurpreet.accounts.grpc.proto.Customer;
+import com.gurpreet.accounts.grpc.proto.MobileNumberRequest;
+import com.gurpreet.accounts.grpc.proto.MobileNumbersRequest;
+import com.gurpreet.accounts.grpc.proto.StatusResponse;
+import com.gurpreet.accounts.mapper.CustomerProtoMapper;
+import com.gurpreet.accounts.service.IAccountsService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC binding of {@link IAccountsService}, the internal counterpart of the AccountsController.
+ *
+ * Requests are validated with the same bean validation constraints as the REST payloads and the
+ * domain exceptions are translated to gRPC status codes the way GlobalExceptionHandler translates
+ * them to HTTP statuses.
+ */
+@Component
+public class AccountsGrpcService extends AccountsServiceGrpc.AccountsServiceImplBase {
+
+    private static final Pattern MOBILE_NUMBER = Pattern.compile("(^$|[0-9]{10})");
+
+    private final IAccountsService iAccountsService;
+
+    private final Validator validator;
+
+    public AccountsGrpcService(IAccountsService iAccountsService, Validator validator) {
+        this.iAccountsService = iAccountsService;
+        this.validator = validator;
+    }
+
+    @Override
+    public void createAccount(Customer request, StreamObserver<StatusResponse> responseObserver) {
+        unary(responseObserver, () -> {
+            iAccountsService.createAccount(validated(CustomerProtoMapper.mapToCustomerDto(request)));
+            return statusResponse(AccountsConstants.STATUS_201, AccountsConstants.MESSAGE_201);
+        });
+    }
+
+    @Override
+    public void fetchAccount(MobileNumberRequest request, StreamObserver<Customer> responseObserver) {
+        unary(responseObserver, () -> CustomerProtoMapper.mapToCustomerMessage(
+                iAccountsService.fetchAccount(validatedMobileNumber(request.getMobileNumber()))));
+    }
+
+    @Override
+    public void updateAccount(Customer request, StreamObserver<StatusResponse> responseObserver) {
+        unary(responseObserver, () -> iAccountsService.updateAccount(validated(CustomerProtoMapper.mapToCustomerDto(request)))
+                ? statusResponse(AccountsConstants.STATUS_200, AccountsConstants.MESSAGE_200)
+                : statusResponse(AccountsConstants.STATUS_417, AccountsConstants.MESSAGE_417_UPDATE));
+    }
+
+    @Override
+    public void deleteAccount(MobileNumberRequest request, StreamObserver<StatusResponse> responseObserver) {
+        unary(responseObserver, () -> iAccountsService.deleteAccount(validatedMobileNumber(request.getMobileNumber()))
+                ? statusResponse(AccountsConstants.STATUS_200, AccountsConstants.MESSAGE_200)
+                : statusResponse(AccountsConstants.STATUS_417, AccountsConstants.MESSAGE_417_DELETE));
+    }
+
+    /**
+     * Streams one Customer message per known mobile number, in request order. Unknown numbers are
+     * skipped and the stream stops early when the caller cancels it.
+     */
+    @Override
+    public void fetchAccounts(MobileNumbersRequest request, StreamObserver<Customer> responseObserver) {
+        ServerCallStreamObserver<Customer> serverObserver = (ServerCallStreamObserver<Customer>) responseObserver;
+        try {
+            request.getMobileNumbersList().forEach(AccountsGrpcService::validatedMobileNumber);
+            for (String mobileNumber : request.getMobileNumbersList()) {
+                if (serverObserver.isCancelled()) {
+                    return;
+                }
+                try {
+                    serverObserver.onNext(CustomerProtoMapper.mapToCustomerMessage(iAccountsService.fetchAccount(mobileNumber)));
+                } catch (ResourceNotFoundException e) {
+                    // not found numbers are left out of the stream
+                }
+            }
+            serverObserver.onCompleted();
+        } catch (RuntimeException e) {
+            serverObserver.onError(toStatus(e).asRuntimeException());
+        }
+    }
+
+    private static <T> void unary(StreamObserver<T> responseObserver, Supplier<T> call) {
+        T response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    private CustomerDto validated(CustomerDto customerDto) {
+        Set<ConstraintViolation<CustomerDto>> violations = validator.validate(customerDto);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return customerDto;
+    }
+
+    private static String validatedMobileNumber(String mobileNumber) {
+        if (!MOBILE_NUMBER.matcher(mobileNumber).matches()) {
+            throw new IllegalArgumentException("Mobile number must be 10 digits");
+        }
+        return mobileNumber;
+    }
+
+    private static StatusResponse statusResponse(String statusCode, String statusMsg) {
+        return StatusResponse.newBuilder().setStatusCode(statusCode).setStatusMsg(statusMsg).build();
+    }
+
+    private static Status toStatus(RuntimeException e) {
+        if (e instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+        }
+        if (e instanceof ResourceNotFoundException) {
+            return Status.NOT_FOUND.withDescription(e.getMessage());
+        }
+        if (e instanceof CustomerAlreadyExistsException) {
+            return Status.ALREADY_EXISTS.withDescription(e.getMessage());
+        }
+        if ((e instanceof CannotCreateTransactionException || e instanceof DataAccessResourceFailureException)
+                && isPoolTimeout(e)) {
+            return Status.UNAVAILABLE.withDescription(AccountsConstants.MESSAGE_503).withCause(e);
+        }
+        return Status.INTERNAL.withDescription(e.getMessage()).withCause(e);
+    }
+
+    /**
+     * @return true if the cause chain contains the timeout raised by the connection pool
+     */
+    private static boolean isPoolTimeout(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
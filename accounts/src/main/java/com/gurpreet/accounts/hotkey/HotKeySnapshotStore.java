@@ -0,0 +1,60 @@
+package com.gurpreet.accounts.hotkey;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Persists the heavy hitters of the {@link HotKeyTracker} in hot_key_snapshot, so they survive a restart.
+ *
+ * Every instance upserts its own hitters, so the table holds the union of the hot keys of the cluster.
+ * Keys which no instance has saved again within the retention are dropped.
+ */
+@Component
+public class HotKeySnapshotStore {
+
+    private static final String SAVE_SQL = """
+            insert into hot_key_snapshot (kind, key_value, estimate, saved_at) values (?, ?, ?, ?)
+            on duplicate key update estimate = values(estimate), saved_at = values(saved_at)""";
+
+    private static final String PRUNE_SQL = "delete from hot_key_snapshot where kind = ? and saved_at < ?";
+
+    private static final String LOAD_SQL = """
+            select key_value from hot_key_snapshot where kind = ? order by estimate desc limit ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public HotKeySnapshotStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param kind the kind of key
+     * @param heavyHitters the current heavy hitters of the kind
+     * @param savedAt the time of the snapshot
+     * @param retentionStart the oldest save time kept, older rows of the kind are removed
+     */
+    public void save(String kind, List<HotKeySketch.HeavyHitter> heavyHitters, LocalDateTime savedAt,
+                     LocalDateTime retentionStart) {
+        Timestamp timestamp = Timestamp.valueOf(savedAt);
+        jdbcTemplate.batchUpdate(SAVE_SQL, heavyHitters, heavyHitters.size(), (ps, hitter) -> {
+            ps.setString(1, kind);
+            ps.setString(2, hitter.key());
+            ps.setLong(3, hitter.estimate());
+            ps.setTimestamp(4, timestamp);
+        });
+        jdbcTemplate.update(PRUNE_SQL, kind, Timestamp.valueOf(retentionStart));
+    }
+
+    /**
+     * @param kind the kind of key
+     * @param limit the maximum number of keys
+     * @return the saved keys of the kind, hottest first
+     */
+    public List<String> load(String kind, int limit) {
+        return jdbcTemplate.queryForList(LOAD_SQL, String.class, kind, limit);
+    }
+}
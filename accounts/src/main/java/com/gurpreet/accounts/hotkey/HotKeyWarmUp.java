@@ -0,0 +1,164 @@
+package com.gurpreet.accounts.hotkey;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gurpreet.accounts.exception.ResourceNotFoundException;
+import com.gurpreet.accounts.service.IAccountsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the service up with the hot keys of the previous run before it reports ready.
+ *
+ * The heavy hitters of the warm-up kind are saved to the {@link HotKeySnapshotStore} every snapshot interval
+ * and on shutdown. At startup the saved keys are replayed through {@link IAccountsService#fetchAccount}, which
+ * opens the connection pool, brings the hot rows into the database buffer pool and gets the fetch path
+ * (Hibernate, the mappers, Jackson) compiled by the JIT. The replay is an ApplicationReadyEvent listener of
+ * the lowest precedence, so it runs after the mobile number filter and the search index, whose rebuild
+ * listeners have the highest, are built. The readiness state only becomes ACCEPTING_TRAFFIC once all these
+ * listeners have returned, so the instance receives traffic only when it is warm. The replay
+ * is bounded by a number of fetches and a timeout, and a failure only skips it.
+ */
+@Component
+public class HotKeyWarmUp {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotKeyWarmUp.class);
+
+    private final HotKeyTracker hotKeyTracker;
+
+    private final HotKeySnapshotStore hotKeySnapshotStore;
+
+    private final IAccountsService iAccountsService;
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+
+    private final String kind;
+
+    private final int maxKeys;
+
+    private final int fetches;
+
+    private final Duration timeout;
+
+    private final Duration snapshotInterval;
+
+    private final Duration snapshotRetention;
+
+    private final Timer warmUps;
+
+    private ScheduledExecutorService snapshotter;
+
+    public HotKeyWarmUp(HotKeyTracker hotKeyTracker, HotKeySnapshotStore hotKeySnapshotStore,
+                        IAccountsService iAccountsService, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                        @Value("${hot-keys.warm-up.enabled:true}") boolean enabled,
+                        @Value("${hot-keys.warm-up.kind:mobileNumber}") String kind,
+                        @Value("${hot-keys.warm-up.keys:200}") int maxKeys,
+                        @Value("${hot-keys.warm-up.fetches:5000}") int fetches,
+                        @Value("${hot-keys.warm-up.timeout:30s}") Duration timeout,
+                        @Value("${hot-keys.snapshot.interval:5m}") Duration snapshotInterval,
+                        @Value("${hot-keys.snapshot.retention:1d}") Duration snapshotRetention) {
+        this.hotKeyTracker = hotKeyTracker;
+        this.hotKeySnapshotStore = hotKeySnapshotStore;
+        this.iAccountsService = iAccountsService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.kind = kind;
+        this.maxKeys = maxKeys;
+        this.fetches = fetches;
+        this.timeout = timeout;
+        this.snapshotInterval = snapshotInterval;
+        this.snapshotRetention = snapshotRetention;
+
+        this.warmUps = Timer.builder("hot.keys.warm.up")
+                .description("Replay of the saved hot keys at startup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replays the saved hot keys, then starts saving the current ones periodically.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp() {
+        if (enabled) {
+            warmUps.record(this::replay);
+        }
+        snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hot-key-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotter.scheduleWithFixedDelay(this::saveQuietly, snapshotInterval.toMillis(),
+                snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (snapshotter != null) {
+            snapshotter.shutdown();
+            snapshotter.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        saveQuietly();
+    }
+
+    private void replay() {
+        List<String> keys;
+        try {
+            keys = new ArrayList<>(hotKeySnapshotStore.load(kind, maxKeys));
+        } catch (DataAccessException e) {
+            logger.warn("Cannot load the saved hot keys, starting cold: {}", e.getMessage());
+            return;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        int done = 0;
+        while (!keys.isEmpty() && done < fetches && System.nanoTime() < deadline) {
+            int index = done % keys.size();
+            try {
+                objectMapper.writeValueAsBytes(iAccountsService.fetchAccount(keys.get(index)));
+            } catch (ResourceNotFoundException e) {
+                keys.remove(index);
+            } catch (RuntimeException | JsonProcessingException e) {
+                logger.warn("Warm-up stopped after {} fetches: {}", done, e.getMessage());
+                return;
+            }
+            done++;
+        }
+        logger.info("Warmed up with {} fetches of {} saved hot keys", done, keys.size());
+    }
+
+    /**
+     * Saves the current heavy hitters of the warm-up kind, nothing is saved while there is no traffic.
+     */
+    private void saveQuietly() {
+        List<HotKeySketch.HeavyHitter> heavyHitters = hotKeyTracker.heavyHitters(kind);
+        if (heavyHitters.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            hotKeySnapshotStore.save(kind, heavyHitters, now, now.minus(snapshotRetention));
+        } catch (DataAccessException e) {
+            logger.warn("Cannot save the hot keys: {}", e.getMessage());
+        }
+    }
+}
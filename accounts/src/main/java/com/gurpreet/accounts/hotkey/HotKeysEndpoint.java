@@ -0,0 +1,33 @@
+package com.gurpreet.accounts.hotkey;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint /actuator/hotkeys listing the current heavy hitters per kind of key,
+ * /actuator/hotkeys/{kind} for one kind.
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    private final HotKeyTracker hotKeyTracker;
+
+    public HotKeysEndpoint(HotKeyTracker hotKeyTracker) {
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    @ReadOperation
+    public Map<String, Object> hotKeys() {
+        return hotKeyTracker.report();
+    }
+
+    @ReadOperation
+    public Map<String, Object> hotKeys(@Selector String kind) {
+        return hotKeyTracker.report(kind);
+    }
+}
@@ -3,6 +3,8 @@ package com.gurpreet.accounts.mapper;
 import com.gurpreet.accounts.dto.AccountsDto;
 import com.gurpreet.accounts.entity.Accounts;
 
+import java.util.Objects;
+
 public class AccountsMapper {
 
     /**
@@ -33,4 +35,30 @@ public class AccountsMapper {
         return accounts;
     }
 
+    /**
+     * Checks whether applying the given {@link AccountsDto} to the {@link Accounts} object would change anything.
+     *
+     * @param accountsDto the requested account details
+     * @param accounts the current account
+     * @return true if every mapped field already holds the requested value
+     */
+    public static boolean isUnchanged(AccountsDto accountsDto, Accounts accounts) {
+        return Objects.equals(accounts.getAccountNumber(), accountsDto.getAccountNumber())
+                && Objects.equals(accounts.getAccountType(), accountsDto.getAccountType())
+                && Objects.equals(accounts.getBranchAddress(), accountsDto.getBranchAddress());
+    }
+
+    /**
+     * Copies an {@link AccountsDto}.
+     *
+     * @param accountsDto the object to be copied
+     * @return a new object with the same values
+     */
+    public static AccountsDto copyOf(AccountsDto accountsDto) {
+        AccountsDto copy = new AccountsDto();
+        copy.setAccountNumber(accountsDto.getAccountNumber());
+        copy.setAccountType(accountsDto.getAccountType());
+        copy.setBranchAddress(accountsDto.getBranchAddress());
+        return copy;
+    }
 }
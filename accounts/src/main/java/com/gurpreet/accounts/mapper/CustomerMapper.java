@@ -2,6 +2,9 @@ package com.gurpreet.accounts.mapper;
 
 import com.gurpreet.accounts.dto.CustomerDto;
 import com.gurpreet.accounts.entity.Customer;
+import com.gurpreet.accounts.service.CustomerSearchIndex;
+
+import java.util.Objects;
 
 public class CustomerMapper {
     /**
@@ -18,6 +21,20 @@ public class CustomerMapper {
         return customerDto;
     }
 
+    /**
+     * Maps a customer found by the search index to a {@link CustomerDto} object.
+     *
+     * @param match the object to be mapped
+     * @param customerDto the object to map to
+     * @return the mapped object
+     */
+    public static CustomerDto mapToCustomerDto(CustomerSearchIndex.Match match, CustomerDto customerDto) {
+        customerDto.setName(match.name());
+        customerDto.setEmail(match.email());
+        customerDto.setMobileNumber(match.mobileNumber());
+        return customerDto;
+    }
+
     /**
      * Maps a {@link CustomerDto} object to a {@link Customer} object.
      *
@@ -31,4 +48,35 @@ public class CustomerMapper {
         customer.setMobileNumber(customerDto.getMobileNumber());
         return customer;
     }
+
+    /**
+     * Checks whether applying the given {@link CustomerDto} to the {@link Customer} object would change anything.
+     *
+     * @param customerDto the requested customer details
+     * @param customer the current customer
+     * @return true if every mapped field already holds the requested value
+     */
+    public static boolean isUnchanged(CustomerDto customerDto, Customer customer) {
+        return Objects.equals(customer.getName(), customerDto.getName())
+                && Objects.equals(customer.getEmail(), customerDto.getEmail())
+                && Objects.equals(customer.getMobileNumber(), customerDto.getMobileNumber());
+    }
+
+    /**
+     * Copies a {@link CustomerDto} with its {@link AccountsDto}, so that callers sharing one fetch each get
+     * their own instances.
+     *
+     * @param customerDto the object to be copied
+     * @return a new object with the same values
+     */
+    public static CustomerDto copyOf(CustomerDto customerDto) {
+        CustomerDto copy = new CustomerDto();
+        copy.setName(customerDto.getName());
+        copy.setEmail(customerDto.getEmail());
+        copy.setMobileNumber(customerDto.getMobileNumber());
+        if (customerDto.getAccountsDto() != null) {
+            copy.setAccountsDto(AccountsMapper.copyOf(customerDto.getAccountsDto()));
+        }
+        return copy;
+    }
 }
@@ -0,0 +1,50 @@
+package com.gurpreet.accounts.mapper;
+
+import com.gurpreet.accounts.dto.AccountsDto;
+import com.gurpreet.accounts.dto.CustomerDto;
+import com.gurpreet.accounts.grpc.proto.Account;
+import com.gurpreet.accounts.grpc.proto.Customer;
+
+public class CustomerProtoMapper {
+    /**
+     * Maps a {@link CustomerDto} object to a gRPC {@link Customer} message.
+     *
+     * @param customerDto the object to be mapped
+     * @return the mapped message
+     */
+    public static Customer mapToCustomerMessage(CustomerDto customerDto) {
+        Customer.Builder builder = Customer.newBuilder()
+                .setName(customerDto.getName())
+                .setEmail(customerDto.getEmail())
+                .setMobileNumber(customerDto.getMobileNumber());
+        AccountsDto accountsDto = customerDto.getAccountsDto();
+        if (accountsDto != null) {
+            builder.setAccount(Account.newBuilder()
+                    .setAccountNumber(accountsDto.getAccountNumber())
+                    .setAccountType(accountsDto.getAccountType())
+                    .setBranchAddress(accountsDto.getBranchAddress()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Maps a gRPC {@link Customer} message to a {@link CustomerDto} object.
+     *
+     * @param customer the message to be mapped
+     * @return the mapped object
+     */
+    public static CustomerDto mapToCustomerDto(Customer customer) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setName(customer.getName());
+        customerDto.setEmail(customer.getEmail());
+        customerDto.setMobileNumber(customer.getMobileNumber());
+        if (customer.hasAccount()) {
+            AccountsDto accountsDto = new AccountsDto();
+            accountsDto.setAccountNumber(customer.getAccount().getAccountNumber());
+            accountsDto.setAccountType(customer.getAccount().getAccountType());
+            accountsDto.setBranchAddress(customer.getAccount().getBranchAddress());
+            customerDto.setAccountsDto(accountsDto);
+        }
+        return customerDto;
+    }
+}
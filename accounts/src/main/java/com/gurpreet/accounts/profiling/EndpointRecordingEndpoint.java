@@ -0,0 +1,38 @@
+package com.gurpreet.accounts.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint /actuator/jfr returning the per-endpoint summary of the {@link EndpointRecording},
+ * POST /actuator/jfr/start and /actuator/jfr/stop to control it.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class EndpointRecordingEndpoint {
+
+    private final EndpointRecording endpointRecording;
+
+    public EndpointRecordingEndpoint(EndpointRecording endpointRecording) {
+        this.endpointRecording = endpointRecording;
+    }
+
+    @ReadOperation
+    public Map<String, Object> summary() {
+        return endpointRecording.summary();
+    }
+
+    @WriteOperation
+    public Map<String, Object> control(@Selector String action) {
+        return switch (action) {
+            case "start" -> endpointRecording.start();
+            case "stop" -> endpointRecording.stop();
+            default -> throw new IllegalArgumentException("Unknown action " + action + ", expected start or stop");
+        };
+    }
+}
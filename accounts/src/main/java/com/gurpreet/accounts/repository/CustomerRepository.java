@@ -1,14 +1,63 @@
 package com.gurpreet.accounts.repository;
 
 import com.gurpreet.accounts.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 //jparepository comes from Spring Data JPA Framework
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     Optional<Customer> findByMobileNumber(String mobileNumber);
+
+    /**
+     * Streams the mobile numbers of all the rows without loading the entities.
+     * The MySQL driver only streams the rows for the Integer.MIN_VALUE fetch size,
+     * the caller has to run inside a read-only transaction and close the stream.
+     *
+     * @return a stream of all the mobile numbers
+     */
+    @Query("select e.mobileNumber from Customer e")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "" + Integer.MIN_VALUE))
+    Stream<String> streamAllMobileNumbers();
+
+    /**
+     * Streams the searchable columns of all the rows without loading the entities.
+     * Like {@link #streamAllMobileNumbers()} the caller has to run inside a read-only transaction and
+     * close the stream.
+     *
+     * @return a stream of the name, email and mobile number of all the customers
+     */
+    @Query("select new com.gurpreet.accounts.repository.CustomerSearchRow(e.customerId, e.name, e.email, e.mobileNumber) from Customer e")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "" + Integer.MIN_VALUE))
+    Stream<CustomerSearchRow> streamAllSearchRows();
+
+    /**
+     * Finds the customers whose name or email starts with the given prefixes, used when the in-memory
+     * search index is not available. A leading-anchored LIKE can use an index on the column.
+     *
+     * @return at most limit customers
+     */
+    List<Customer> findByNameStartingWithOrEmailStartingWith(String namePrefix, String emailPrefix, Limit limit);
+
+    /**
+     * Finds only the last modification time of the customer and account of the given mobile number,
+     * without loading the entity. Rows which were never updated report their creation time.
+     *
+     * @param mobileNumber the mobile number of the customer
+     * @return an Optional containing the last modification time, or an empty Optional if not found
+     */
+    @Query("select greatest(coalesce(c.updatedAt, c.createdAt), coalesce(a.updatedAt, a.createdAt)) " +
+            "from Customer c join Accounts a on a.customerId = c.customerId where c.mobileNumber = :mobileNumber")
+    Optional<LocalDateTime> findLastModifiedByMobileNumber(@Param("mobileNumber") String mobileNumber);
 }
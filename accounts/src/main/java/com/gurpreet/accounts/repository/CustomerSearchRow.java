@@ -0,0 +1,12 @@
+package com.gurpreet.accounts.repository;
+
+/**
+ * The searchable columns of a customer, read without loading the entity.
+ *
+ * @param customerId the primary key of the customer
+ * @param name the name of the customer
+ * @param email the email of the customer
+ * @param mobileNumber the mobile number of the customer
+ */
+public record CustomerSearchRow(Long customerId, String name, String email, String mobileNumber) {
+}
@@ -0,0 +1,483 @@
+package com.gurpreet.accounts.service;
+
+import com.gurpreet.accounts.repository.CustomerRepository;
+import com.gurpreet.accounts.repository.CustomerSearchRow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory n-gram index over the name and email of the customers.
+ *
+ * Both fields are split in lower case words. Every word is indexed by its trigrams, and by its first one
+ * and two characters so that short queries still work as a word prefix. A query word of three characters
+ * or more matches anywhere inside a word (the posting lists of its trigrams are intersected, then the
+ * candidates are checked against the stored text), a shorter one only at the start of a word. All the
+ * query words have to match. Results are ranked by where they matched: start of a name word, then start
+ * of an email word, then anywhere.
+ *
+ * Customers are stored as one UTF-8 byte array each, addressed by a dense document id, and the posting
+ * lists are plain int arrays of these ids, in ascending order. A changed customer gets a new document and
+ * the old one becomes a tombstone; the postings are rebuilt once half of the documents are tombstones.
+ *
+ * The read lock is only held to intersect the posting lists and collect the candidate documents, which are
+ * immutable; they are decoded and scored after it is released. A query made only of one or two character
+ * words matches a large part of the index, so only its first max-prefix-candidates candidates are ranked.
+ *
+ * The index is filled with a streaming scan of the table once the application is ready and updated on
+ * every create, update and delete after their commit. Until the scan completes {@link #isReady()} is false
+ * and the caller falls back to the database. The changes committed while the scan runs are held back and
+ * applied in commit order once it completes, so a row scanned before it was updated or deleted cannot
+ * overwrite the newer state. All the writers of the table are expected to go through this service instance.
+ */
+@Component
+public class CustomerSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerSearchIndex.class);
+
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final int COMPACTION_MIN_DOCUMENTS = 1024;
+
+    /**
+     * A customer found by a search.
+     */
+    public record Match(long customerId, String name, String email, String mobileNumber, int score) {
+    }
+
+    /** Best first: higher score, then shorter name, then older customer. */
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::score).reversed()
+            .thenComparingInt(match -> match.name().length())
+            .thenComparingLong(Match::customerId);
+
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    /** Sizes reported by the gauges, updated under the write lock. */
+    private static final class Stats {
+        private int liveCount;
+        private long documentBytes;
+        private long postingEntries;
+
+        private long memory() {
+            return documentBytes + postingEntries * Integer.BYTES;
+        }
+    }
+
+    private final CustomerRepository customerRepository;
+
+    private final boolean enabled;
+
+    private final int maxPrefixCandidates;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Postings> grams = new HashMap<>();
+
+    private final Map<Long, Integer> documentByCustomer = new HashMap<>();
+
+    private long[] customerIds = new long[1024];
+
+    private byte[][] documents = new byte[1024][];
+
+    private int documentCount;
+
+    private final Stats stats = new Stats();
+
+    /** Changes committed during the scan, guarded by itself. */
+    private final List<Runnable> pendingChanges = new ArrayList<>();
+
+    private boolean scanning;
+
+    private volatile boolean ready;
+
+    public CustomerSearchIndex(CustomerRepository customerRepository, MeterRegistry meterRegistry,
+                               @Value("${customer-search.enabled:true}") boolean enabled,
+                               @Value("${customer-search.max-prefix-candidates:5000}") int maxPrefixCandidates) {
+        this.customerRepository = customerRepository;
+        this.enabled = enabled;
+        this.maxPrefixCandidates = maxPrefixCandidates;
+
+        Gauge.builder("customer.search.documents", stats, sizes -> sizes.liveCount)
+                .description("Customers held by the search index")
+                .register(meterRegistry);
+        Gauge.builder("customer.search.memory", stats, Stats::memory)
+                .description("Approximate size of the stored text and the posting lists")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Fills the index with a streaming scan of all the customers.
+     * Runs as the first ApplicationReadyEvent listener, before the hot key warm-up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        // set before the query takes its snapshot: every change the scan may miss is held back
+        synchronized (pendingChanges) {
+            scanning = true;
+        }
+        try (Stream<CustomerSearchRow> rows = customerRepository.streamAllSearchRows()) {
+            rows.forEach(row -> put(row.customerId(), row.name(), row.email(), row.mobileNumber()));
+        } finally {
+            synchronized (pendingChanges) {
+                pendingChanges.forEach(Runnable::run);
+                pendingChanges.clear();
+                scanning = false;
+            }
+        }
+        ready = true;
+        logger.info("Customer search index built with {} customers, {} grams, about {} bytes",
+                stats.liveCount, grams.size(), stats.memory());
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Indexes the given customer, replacing its previous version, once the current transaction commits.
+     */
+    public void index(long customerId, String name, String email, String mobileNumber) {
+        if (enabled) {
+            afterCommit(() -> apply(() -> put(customerId, name, email, mobileNumber)));
+        }
+    }
+
+    /**
+     * Removes the given customer from the index once the current transaction commits.
+     */
+    public void remove(long customerId) {
+        if (enabled) {
+            afterCommit(() -> apply(() -> delete(customerId)));
+        }
+    }
+
+    /**
+     * Finds the customers matching all the words of the query.
+     *
+     * @param query one or more words, matched against the name and the email
+     * @param limit the maximum number of customers to return
+     * @return the best matches first
+     */
+    public List<Match> search(String query, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        boolean prefixOnly = words.stream().allMatch(word -> word.length() < 3);
+        byte[][] candidateDocuments;
+        long[] candidateCustomerIds;
+        int collected = 0;
+        lock.readLock().lock();
+        try {
+            int[] candidates = null;
+            int candidateCount = 0;
+            for (String word : words) {
+                for (long gram : queryGrams(word)) {
+                    Postings postings = grams.get(gram);
+                    if (postings == null) {
+                        return List.of();
+                    }
+                    if (candidates == null) {
+                        candidates = Arrays.copyOf(postings.ids, postings.size);
+                        candidateCount = postings.size;
+                    } else {
+                        candidateCount = intersect(candidates, candidateCount, postings.ids, postings.size);
+                    }
+                    if (candidateCount == 0) {
+                        return List.of();
+                    }
+                }
+            }
+
+            int maxCandidates = prefixOnly ? Math.min(candidateCount, maxPrefixCandidates) : candidateCount;
+            candidateDocuments = new byte[maxCandidates][];
+            candidateCustomerIds = new long[maxCandidates];
+            for (int i = 0; i < candidateCount && collected < maxCandidates; i++) {
+                byte[] document = documents[candidates[i]];
+                if (document != null) {
+                    candidateDocuments[collected] = document;
+                    candidateCustomerIds[collected++] = customerIds[candidates[i]];
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (int i = 0; i < collected; i++) {
+            String document = new String(candidateDocuments[i], StandardCharsets.UTF_8);
+            int nameEnd = document.indexOf(FIELD_SEPARATOR);
+            int emailEnd = document.indexOf(FIELD_SEPARATOR, nameEnd + 1);
+            String name = document.substring(0, nameEnd);
+            String email = document.substring(nameEnd + 1, emailEnd);
+            int score = score(words, name.toLowerCase(Locale.ROOT), email.toLowerCase(Locale.ROOT));
+            if (score > 0) {
+                best.add(new Match(candidateCustomerIds[i], name, email, document.substring(emailEnd + 1), score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(RANKING);
+        return matches;
+    }
+
+    /**
+     * Applies a committed change, or holds it back until the scan completes if one is running.
+     */
+    private void apply(Runnable change) {
+        synchronized (pendingChanges) {
+            if (scanning) {
+                pendingChanges.add(change);
+                return;
+            }
+        }
+        change.run();
+    }
+
+    private void put(long customerId, String name, String email, String mobileNumber) {
+        lock.writeLock().lock();
+        try {
+            deleteLocked(customerId);
+            if (documentCount == documents.length) {
+                documents = Arrays.copyOf(documents, documentCount * 2);
+                customerIds = Arrays.copyOf(customerIds, documentCount * 2);
+            }
+            int documentId = documentCount++;
+            byte[] document = (nullToEmpty(name) + FIELD_SEPARATOR + nullToEmpty(email) + FIELD_SEPARATOR
+                    + nullToEmpty(mobileNumber)).getBytes(StandardCharsets.UTF_8);
+            documents[documentId] = document;
+            customerIds[documentId] = customerId;
+            documentByCustomer.put(customerId, documentId);
+            stats.documentBytes += document.length;
+            stats.liveCount++;
+            addPostings(documentId, name, email);
+            // an update leaves a tombstone just like a delete
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void delete(long customerId) {
+        lock.writeLock().lock();
+        try {
+            deleteLocked(customerId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void deleteLocked(long customerId) {
+        Integer documentId = documentByCustomer.remove(customerId);
+        if (documentId != null) {
+            stats.documentBytes -= documents[documentId].length;
+            documents[documentId] = null;
+            stats.liveCount--;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (documentCount >= COMPACTION_MIN_DOCUMENTS && stats.liveCount < documentCount / 2) {
+            compact();
+        }
+    }
+
+    /**
+     * Renumbers the live documents densely and rebuilds the posting lists without the tombstones.
+     */
+    private void compact() {
+        byte[][] liveDocuments = new byte[Math.max(1024, stats.liveCount * 2)][];
+        long[] liveCustomerIds = new long[liveDocuments.length];
+        grams = new HashMap<>();
+        stats.postingEntries = 0;
+        documentByCustomer.clear();
+        int next = 0;
+        for (int documentId = 0; documentId < documentCount; documentId++) {
+            if (documents[documentId] == null) {
+                continue;
+            }
+            liveDocuments[next] = documents[documentId];
+            liveCustomerIds[next] = customerIds[documentId];
+            documentByCustomer.put(customerIds[documentId], next);
+            String[] fields = new String(documents[documentId], StandardCharsets.UTF_8)
+                    .split(String.valueOf(FIELD_SEPARATOR), -1);
+            addPostings(next, fields[0], fields[1]);
+            next++;
+        }
+        documents = liveDocuments;
+        customerIds = liveCustomerIds;
+        documentCount = next;
+        logger.info("Customer search index compacted to {} customers", next);
+    }
+
+    private void addPostings(int documentId, String name, String email) {
+        Set<Long> documentGrams = new HashSet<>();
+        for (String word : words(name)) {
+            indexGrams(word, documentGrams);
+        }
+        for (String word : words(email)) {
+            indexGrams(word, documentGrams);
+        }
+        for (Long gram : documentGrams) {
+            grams.computeIfAbsent(gram, key -> new Postings()).add(documentId);
+        }
+        stats.postingEntries += documentGrams.size();
+    }
+
+    private static void indexGrams(String word, Set<Long> grams) {
+        grams.add(prefixGram(word, 1));
+        if (word.length() >= 2) {
+            grams.add(prefixGram(word, 2));
+        }
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            grams.add(trigram(word, i));
+        }
+    }
+
+    private static long[] queryGrams(String word) {
+        if (word.length() < 3) {
+            return new long[]{prefixGram(word, word.length())};
+        }
+        long[] trigrams = new long[word.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = trigram(word, i);
+        }
+        return trigrams;
+    }
+
+    private static long trigram(String word, int from) {
+        return ((long) word.charAt(from) << 32) | ((long) word.charAt(from + 1) << 16) | word.charAt(from + 2);
+    }
+
+    /**
+     * Keys of the word prefixes, kept apart from the trigram keys by a marker above their 48 bits.
+     */
+    private static long prefixGram(String word, int length) {
+        return length == 1
+                ? (2L << 48) | word.charAt(0)
+                : (1L << 48) | ((long) word.charAt(0) << 16) | word.charAt(1);
+    }
+
+    /**
+     * Keeps in the first array the ids found in both sorted arrays.
+     *
+     * @return the number of ids kept
+     */
+    private static int intersect(int[] ids, int size, int[] other, int otherSize) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < size && j < otherSize; i++) {
+            while (j < otherSize && other[j] < ids[i]) {
+                j++;
+            }
+            if (j < otherSize && other[j] == ids[i]) {
+                ids[kept++] = ids[i];
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Scores the lower case name and email in place, without splitting them in words: the query words only
+     * hold letters and digits, so a match never spans two words.
+     *
+     * @return the sum over the query words of 3 for the start of a name word, 2 for the start of an email
+     *         word and 1 for anywhere else, or 0 if a word does not match at all
+     */
+    private static int score(List<String> queryWords, String name, String email) {
+        int score = 0;
+        for (String queryWord : queryWords) {
+            if (startsWord(name, queryWord)) {
+                score += 3;
+            } else if (startsWord(email, queryWord)) {
+                score += 2;
+            } else if (queryWord.length() >= 3 && (name.contains(queryWord) || email.contains(queryWord))) {
+                score += 1;
+            } else {
+                return 0;
+            }
+        }
+        return score;
+    }
+
+    private static boolean startsWord(String text, String word) {
+        for (int i = text.indexOf(word); i >= 0; i = text.indexOf(word, i + 1)) {
+            if (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
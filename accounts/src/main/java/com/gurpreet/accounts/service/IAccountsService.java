@@ -2,6 +2,10 @@ package com.gurpreet.accounts.service;
 
 import com.gurpreet.accounts.dto.CustomerDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 public interface IAccountsService {
     /**
      * This method is used to create a new account for the given customer.
@@ -39,4 +43,24 @@ public interface IAccountsService {
      */
     boolean deleteAccount(String mobileNumber);
 
+    /**
+     * Fetches only the last modification time of the customer and account details of the given mobile number,
+     * used as the validator of conditional fetch requests.
+     *
+     * @param mobileNumber
+     *            the mobile number of the customer
+     * @return an Optional containing the last modification time, or an empty Optional if not found
+     */
+    Optional<LocalDateTime> fetchLastModified(String mobileNumber);
+
+    /**
+     * Finds the customers whose name or email contains all the words of the query.
+     *
+     * @param query
+     *            one or more words, or word prefixes, of the name or the email
+     * @param limit
+     *            the maximum number of customers to return
+     * @return the best matching customers first, without their account details
+     */
+    List<CustomerDto> searchCustomers(String query, int limit);
 }
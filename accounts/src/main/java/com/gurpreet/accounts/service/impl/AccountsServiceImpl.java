@@ -1,5 +1,6 @@
 package com.gurpreet.accounts.service.impl;
 
+import com.gurpreet.accounts.config.ReadYourWritesTracker;
 import com.gurpreet.accounts.constants.AccountsConstants;
 import com.gurpreet.accounts.dto.AccountsDto;
 import com.gurpreet.accounts.dto.CustomerDto;
@@ -7,15 +8,21 @@ import com.gurpreet.accounts.entity.Accounts;
 import com.gurpreet.accounts.entity.Customer;
 import com.gurpreet.accounts.exception.CustomerAlreadyExistsException;
 import com.gurpreet.accounts.exception.ResourceNotFoundException;
+import com.gurpreet.accounts.hotkey.HotKeyTracker;
 import com.gurpreet.accounts.mapper.AccountsMapper;
 import com.gurpreet.accounts.mapper.CustomerMapper;
 import com.gurpreet.accounts.repository.AccountsRepository;
 import com.gurpreet.accounts.repository.CustomerRepository;
+import com.gurpreet.accounts.service.CustomerSearchIndex;
 import com.gurpreet.accounts.service.IAccountsService;
+import com.gurpreet.accounts.service.MobileNumberFilter;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 
@@ -25,6 +32,10 @@ public class AccountsServiceImpl implements IAccountsService {
 
     private AccountsRepository accountsRepository;
     private CustomerRepository customerRepository;
+    private ReadYourWritesTracker readYourWritesTracker;
+    private MobileNumberFilter mobileNumberFilter;
+    private CustomerSearchIndex customerSearchIndex;
+    private HotKeyTracker hotKeyTracker;
     /**
      * This method is used to create a new account for the given customer.
      *
@@ -34,7 +45,9 @@ public class AccountsServiceImpl implements IAccountsService {
     @Override
     public void createAccount(CustomerDto customerDto) {
         Customer customer = CustomerMapper.mapToCustomer(customerDto,new Customer());
-        Optional<Customer> optionalCustomer= customerRepository.findByMobileNumber(customerDto.getMobileNumber());
+        Optional<Customer> optionalCustomer= mobileNumberFilter.mightContain(customerDto.getMobileNumber())
+                ? customerRepository.findByMobileNumber(customerDto.getMobileNumber())
+                : Optional.empty();
         if(optionalCustomer.isPresent())
         {
             //custom validation exception
@@ -43,7 +56,11 @@ public class AccountsServiceImpl implements IAccountsService {
         //customer.setCreatedAt(LocalDateTime.now());
         //customer.setCreatedBy("Anonymous");
         Customer savedCustomer = customerRepository.save(customer);
+        mobileNumberFilter.add(savedCustomer.getMobileNumber());
+        customerSearchIndex.index(savedCustomer.getCustomerId(), savedCustomer.getName(), savedCustomer.getEmail(),
+                savedCustomer.getMobileNumber());
         accountsRepository.save(createNewAccount(savedCustomer));
+        readYourWritesTracker.recordWrite(customerDto.getMobileNumber());
     }
 
     /**
@@ -76,7 +93,12 @@ public class AccountsServiceImpl implements IAccountsService {
     */
 
     @Override
+    @Transactional(readOnly = true)
     public CustomerDto fetchAccount(String mobileNumber) {
+        if (!mobileNumberFilter.mightContain(mobileNumber)) {
+            throw new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber);
+        }
+        readYourWritesTracker.pinToPrimaryIfRecentlyWritten(mobileNumber);
         Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 ()-> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
         Accounts accounts = accountsRepository.findByCustomerId(customer.getCustomerId()).orElseThrow(
@@ -93,7 +115,9 @@ public class AccountsServiceImpl implements IAccountsService {
      * This method first retrieves the account to be updated using the provided account number.
      * If the account is found, it then retrieves the associated customer information using the customer's ID.
      * If either the customer or the account is not found, a ResourceNotFoundException is thrown.
-     * The customer details are then updated with the given information.
+     * The customer details are then updated with the given information. Both entities stay managed for the
+     * whole transaction, so only the changed columns are flushed by dirty checking, and a payload equal to
+     * the stored details is not written at all.
      * The method returns true if the account is updated successfully, false otherwise.
      *
      * @param customerDto
@@ -102,8 +126,10 @@ public class AccountsServiceImpl implements IAccountsService {
      * @throws ResourceNotFoundException if the customer or account is not found for the given account number
      */
     @Override
+    @Transactional
     public boolean updateAccount(CustomerDto customerDto) {
         boolean isUpdated = false;
+        hotKeyTracker.record("mobileNumber", customerDto.getMobileNumber());
 
         AccountsDto accountsDto = customerDto.getAccountsDto();
 
@@ -113,17 +139,24 @@ public class AccountsServiceImpl implements IAccountsService {
                     ()->new ResourceNotFoundException("Account", "AccountNumber", accountsDto.getAccountNumber().toString())
             );
 
-            AccountsMapper.mapToAccounts(accountsDto, accounts);
-            accounts = accountsRepository.save(accounts);
-
             Long customerId = accounts.getCustomerId();
 
             Customer customer = customerRepository.findById(customerId).orElseThrow(
                     ()-> new ResourceNotFoundException("Customer", "CustomerID", customerId.toString())
             );
 
+            if (AccountsMapper.isUnchanged(accountsDto, accounts) && CustomerMapper.isUnchanged(customerDto, customer)) {
+                return true;
+            }
+            String previousMobileNumber = customer.getMobileNumber();
+            AccountsMapper.mapToAccounts(accountsDto, accounts);
             CustomerMapper.mapToCustomer(customerDto, customer);
-            customerRepository.save(customer);
+            customerSearchIndex.index(customer.getCustomerId(), customer.getName(), customer.getEmail(),
+                    customer.getMobileNumber());
+            mobileNumberFilter.add(customer.getMobileNumber());
+            // a customer moved to another mobile number must not be found under the old one on a lagging replica
+            readYourWritesTracker.recordWrite(previousMobileNumber);
+            readYourWritesTracker.recordWrite(customer.getMobileNumber());
             isUpdated = true;
         }
         return isUpdated;
@@ -143,12 +176,57 @@ public class AccountsServiceImpl implements IAccountsService {
      */
     @Override
     public boolean deleteAccount(String mobileNumber) {
+        if (!mobileNumberFilter.mightContain(mobileNumber)) {
+            throw new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber);
+        }
         Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 ()-> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
         );
         accountsRepository.deleteByCustomerId(customer.getCustomerId());
         customerRepository.deleteById(customer.getCustomerId());
+        customerSearchIndex.remove(customer.getCustomerId());
+        readYourWritesTracker.recordWrite(mobileNumber);
 
         return true;
     }
+
+    /**
+     * Fetches only the last modification time of the customer and account details of the given mobile number.
+     *
+     * @param mobileNumber the mobile number of the customer
+     * @return an Optional containing the last modification time, or an empty Optional if not found
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> fetchLastModified(String mobileNumber) {
+        if (!mobileNumberFilter.mightContain(mobileNumber)) {
+            return Optional.empty();
+        }
+        readYourWritesTracker.pinToPrimaryIfRecentlyWritten(mobileNumber);
+        return customerRepository.findLastModifiedByMobileNumber(mobileNumber);
+    }
+
+    /**
+     * Finds the customers whose name or email contains all the words of the query.
+     *
+     * The search is answered by the in-memory {@link CustomerSearchIndex}. While the index is being built,
+     * or when it is disabled, it falls back to a prefix query on the name and email columns.
+     *
+     * @param query one or more words, or word prefixes, of the name or the email
+     * @param limit the maximum number of customers to return
+     * @return the best matching customers first, without their account details
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerDto> searchCustomers(String query, int limit) {
+        if (customerSearchIndex.isReady()) {
+            return customerSearchIndex.search(query, limit).stream()
+                    .map(match -> CustomerMapper.mapToCustomerDto(match, new CustomerDto()))
+                    .toList();
+        }
+        String prefix = query.trim();
+        return customerRepository.findByNameStartingWithOrEmailStartingWith(prefix, prefix, Limit.of(limit)).stream()
+                .map(customer -> CustomerMapper.mapToCustomerDto(customer, new CustomerDto()))
+                .toList();
+    }
 }
@@ -0,0 +1,66 @@
+package com.gurpreet.accounts.service.impl;
+
+import com.gurpreet.accounts.dto.CustomerDto;
+import com.gurpreet.accounts.mapper.CustomerMapper;
+import com.gurpreet.accounts.service.IAccountsService;
+import com.gurpreet.accounts.service.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Coalescing layer in front of {@link AccountsServiceImpl}.
+ *
+ * During hot-key storms thousands of identical fetches arrive at the same time, they are collapsed
+ * into one in-flight query per mobile number. Writes are passed through unchanged.
+ */
+@Service
+@Primary
+public class CoalescingAccountsService implements IAccountsService {
+
+    private final AccountsServiceImpl accountsServiceImpl;
+
+    private final SingleFlight<String, CustomerDto> fetchAccountFlight;
+
+    public CoalescingAccountsService(AccountsServiceImpl accountsServiceImpl, MeterRegistry meterRegistry) {
+        this.accountsServiceImpl = accountsServiceImpl;
+        this.fetchAccountFlight = new SingleFlight<>("fetchAccount", meterRegistry, CustomerMapper::copyOf);
+    }
+
+    @Override
+    public void createAccount(CustomerDto customerDto) {
+        accountsServiceImpl.createAccount(customerDto);
+    }
+
+    /**
+     * Concurrent fetches for the same mobile number share a single database lookup.
+     */
+    @Override
+    public CustomerDto fetchAccount(String mobileNumber) {
+        return fetchAccountFlight.execute(mobileNumber, () -> accountsServiceImpl.fetchAccount(mobileNumber));
+    }
+
+    @Override
+    public boolean updateAccount(CustomerDto customerDto) {
+        return accountsServiceImpl.updateAccount(customerDto);
+    }
+
+    @Override
+    public boolean deleteAccount(String mobileNumber) {
+        return accountsServiceImpl.deleteAccount(mobileNumber);
+    }
+
+    @Override
+    public Optional<LocalDateTime> fetchLastModified(String mobileNumber) {
+        return accountsServiceImpl.fetchLastModified(mobileNumber);
+    }
+
+    @Override
+    public List<CustomerDto> searchCustomers(String query, int limit) {
+        return accountsServiceImpl.searchCustomers(query, limit);
+    }
+}
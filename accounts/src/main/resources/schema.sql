@@ -3,9 +3,9 @@ CREATE TABLE IF NOT EXISTS `customer` (
                                           `name` varchar(100) NOT NULL,
     `email` varchar(100) NOT NULL,
     `mobile_number` varchar(20) NOT NULL,
-    `created_at` date NOT NULL,
+    `created_at` datetime(6) NOT NULL,
     `created_by` varchar(20) NOT NULL,
-    `updated_at` date DEFAULT NULL,
+    `updated_at` datetime(6) DEFAULT NULL,
     `updated_by` varchar(20) DEFAULT NULL
     );
 
@@ -14,8 +14,40 @@ CREATE TABLE IF NOT EXISTS `accounts` (
                                           `account_number` int AUTO_INCREMENT  PRIMARY KEY,
                                           `account_type` varchar(100) NOT NULL,
     `branch_address` varchar(200) NOT NULL,
-    `created_at` date NOT NULL,
+    `created_at` datetime(6) NOT NULL,
     `created_by` varchar(20) NOT NULL,
-    `updated_at` date DEFAULT NULL,
+    `updated_at` datetime(6) DEFAULT NULL,
     `updated_by` varchar(20) DEFAULT NULL
-    );
\ No newline at end of file
+    );
+
+-- the audit columns carry the validators of the fetch APIs (ETag/Last-Modified), they need sub-second precision
+-- one-time migration of the tables created before: only altered while a column is still a date or less precise
+SET @widen_customer = (SELECT IF(COUNT(*) > 0,
+    'ALTER TABLE `customer` MODIFY `created_at` datetime(6) NOT NULL, MODIFY `updated_at` datetime(6) DEFAULT NULL',
+    'DO 0')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'customer'
+    AND COLUMN_NAME IN ('created_at', 'updated_at')
+    AND (DATA_TYPE <> 'datetime' OR DATETIME_PRECISION < 6));
+PREPARE widen_customer FROM @widen_customer;
+EXECUTE widen_customer;
+DEALLOCATE PREPARE widen_customer;
+SET @widen_accounts = (SELECT IF(COUNT(*) > 0,
+    'ALTER TABLE `accounts` MODIFY `created_at` datetime(6) NOT NULL, MODIFY `updated_at` datetime(6) DEFAULT NULL',
+    'DO 0')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'accounts'
+    AND COLUMN_NAME IN ('created_at', 'updated_at')
+    AND (DATA_TYPE <> 'datetime' OR DATETIME_PRECISION < 6));
+PREPARE widen_accounts FROM @widen_accounts;
+EXECUTE widen_accounts;
+DEALLOCATE PREPARE widen_accounts;
+
+-- heavy hitters saved by every instance, replayed at startup to warm the caches before readiness
+CREATE TABLE IF NOT EXISTS `hot_key_snapshot` (
+    `kind` varchar(30) NOT NULL,
+    `key_value` varchar(100) NOT NULL,
+    `estimate` bigint NOT NULL,
+    `saved_at` datetime(6) NOT NULL,
+    PRIMARY KEY (`kind`, `key_value`)
+    );
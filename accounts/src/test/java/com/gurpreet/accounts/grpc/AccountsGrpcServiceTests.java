@@ -0,0 +1,149 @@
+package com.gurpreet.accounts.grpc;
+
+import com.gurpreet.accounts.dto.AccountsDto;
+import com.gurpreet.accounts.dto.CustomerDto;
+import com.gurpreet.accounts.exception.ResourceNotFoundException;
+import com.gurpreet.accounts.grpc.proto.AccountsServiceGrpc;
+import com.gurpreet.accounts.grpc.proto.Customer;
+import com.gurpreet.accounts.grpc.proto.MobileNumberRequest;
+import com.gurpreet.accounts.grpc.proto.MobileNumbersRequest;
+import com.gurpreet.accounts.service.IAccountsService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountsGrpcServiceTests {
+
+    private final IAccountsService iAccountsService = mock(IAccountsService.class);
+
+    private Server server;
+
+    private ManagedChannel channel;
+
+    private AccountsServiceGrpc.AccountsServiceBlockingStub stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(new AccountsGrpcService(iAccountsService,
+                        Validation.buildDefaultValidatorFactory().getValidator()))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+        stub = AccountsServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void fetchAccountReturnsCustomer() {
+        when(iAccountsService.fetchAccount("8929014488")).thenReturn(customer("8929014488"));
+
+        Customer customer = stub.fetchAccount(MobileNumberRequest.newBuilder().setMobileNumber("8929014488").build());
+
+        assertThat(customer.getName()).isEqualTo("Customer 8929014488");
+        assertThat(customer.getAccount().getAccountNumber()).isEqualTo(1234567890L);
+    }
+
+    @Test
+    void fetchAccountMapsNotFound() {
+        when(iAccountsService.fetchAccount("8929014488"))
+                .thenThrow(new ResourceNotFoundException("Customer", "mobileNumber", "8929014488"));
+
+        assertThatThrownBy(() -> stub.fetchAccount(MobileNumberRequest.newBuilder().setMobileNumber("8929014488").build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND));
+    }
+
+    @Test
+    void fetchAccountAcceptsTheEmptyMobileNumberLikeRest() {
+        when(iAccountsService.fetchAccount(""))
+                .thenThrow(new ResourceNotFoundException("Customer", "mobileNumber", ""));
+
+        assertThatThrownBy(() -> stub.fetchAccount(MobileNumberRequest.newBuilder().setMobileNumber("").build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND));
+    }
+
+    @Test
+    void fetchAccountMapsOnlyThePoolTimeoutToUnavailable() {
+        when(iAccountsService.fetchAccount("8929014488"))
+                .thenThrow(new CannotCreateTransactionException("no connection",
+                        new SQLTransientConnectionException("Connection is not available, request timed out")))
+                .thenThrow(new CannotCreateTransactionException("no connection", new SQLException("Access denied")));
+        MobileNumberRequest request = MobileNumberRequest.newBuilder().setMobileNumber("8929014488").build();
+
+        assertThatThrownBy(() -> stub.fetchAccount(request))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAVAILABLE));
+        assertThatThrownBy(() -> stub.fetchAccount(request))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INTERNAL));
+    }
+
+    @Test
+    void createAccountRejectsInvalidCustomer() {
+        Customer invalid = Customer.newBuilder().setName("Bob").setEmail("not-an-email").setMobileNumber("8929014488").build();
+
+        assertThatThrownBy(() -> stub.createAccount(invalid))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+        verify(iAccountsService, never()).createAccount(any());
+    }
+
+    @Test
+    void fetchAccountsStreamsKnownCustomersInOrder() {
+        when(iAccountsService.fetchAccount("1111111111")).thenReturn(customer("1111111111"));
+        when(iAccountsService.fetchAccount("2222222222"))
+                .thenThrow(new ResourceNotFoundException("Customer", "mobileNumber", "2222222222"));
+        when(iAccountsService.fetchAccount("3333333333")).thenReturn(customer("3333333333"));
+
+        List<String> mobileNumbers = new ArrayList<>();
+        stub.fetchAccounts(MobileNumbersRequest.newBuilder()
+                        .addMobileNumbers("1111111111").addMobileNumbers("2222222222").addMobileNumbers("3333333333")
+                        .build())
+                .forEachRemaining(customer -> mobileNumbers.add(customer.getMobileNumber()));
+
+        assertThat(mobileNumbers).containsExactly("1111111111", "3333333333");
+    }
+
+    private static CustomerDto customer(String mobileNumber) {
+        AccountsDto accountsDto = new AccountsDto();
+        accountsDto.setAccountNumber(1234567890L);
+        accountsDto.setAccountType("Savings");
+        accountsDto.setBranchAddress("123 Main Street, New York");
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setName("Customer " + mobileNumber);
+        customerDto.setEmail("customer@gmail.com");
+        customerDto.setMobileNumber(mobileNumber);
+        customerDto.setAccountsDto(accountsDto);
+        return customerDto;
+    }
+}
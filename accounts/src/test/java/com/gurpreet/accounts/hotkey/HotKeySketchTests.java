@@ -0,0 +1,76 @@
+package com.gurpreet.accounts.hotkey;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotKeySketchTests {
+
+    private static final long HOUR = Duration.ofHours(1).toNanos();
+
+    @Test
+    void keepsTheMostRequestedKeysFirst() {
+        HotKeySketch sketch = new HotKeySketch(4, 1024, 2, HOUR);
+        record(sketch, "cold", 1);
+        record(sketch, "warm", 5);
+        record(sketch, "hot", 10);
+
+        assertThat(sketch.heavyHitters()).containsExactly(
+                new HotKeySketch.HeavyHitter("hot", 10), new HotKeySketch.HeavyHitter("warm", 5));
+        assertThat(sketch.total()).isEqualTo(16);
+    }
+
+    @Test
+    void keysWithTheSameStringHashCodeAreCountedApart() {
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        HotKeySketch sketch = new HotKeySketch(4, 1 << 16, 2, HOUR);
+        record(sketch, "Aa", 100);
+        record(sketch, "BB", 1);
+
+        assertThat(sketch.heavyHitters()).containsExactly(
+                new HotKeySketch.HeavyHitter("Aa", 100), new HotKeySketch.HeavyHitter("BB", 1));
+    }
+
+    @Test
+    void concurrentRequestsOfAHotKeyAreNotUnderCounted() throws Exception {
+        HotKeySketch sketch = new HotKeySketch(4, 1024, 4, HOUR);
+        int threads = 8;
+        int requestsPerThread = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                int thread = i;
+                executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < requestsPerThread; j++) {
+                        sketch.record("hot");
+                        sketch.record("key-" + thread + "-" + (j % 100));
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(sketch.heavyHitters()).hasSizeLessThanOrEqualTo(4);
+        assertThat(sketch.heavyHitters().getFirst().key()).isEqualTo("hot");
+        assertThat(sketch.heavyHitters().getFirst().estimate()).isGreaterThanOrEqualTo((long) threads * requestsPerThread);
+    }
+
+    private static void record(HotKeySketch sketch, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            sketch.record(key);
+        }
+    }
+}
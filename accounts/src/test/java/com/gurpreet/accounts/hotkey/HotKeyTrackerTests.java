@@ -0,0 +1,36 @@
+package com.gurpreet.accounts.hotkey;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotKeyTrackerTests {
+
+    private final HotKeyTracker hotKeyTracker = new HotKeyTracker(new SimpleMeterRegistry(), true,
+            Set.of("mobileNumber", "customerId"), 4, 1024, 10, Duration.ofMinutes(1));
+
+    @Test
+    void onlyWellFormedKeysAreCounted() {
+        hotKeyTracker.record("mobileNumber", "9876543210");
+        hotKeyTracker.record("mobileNumber", "987654");
+        hotKeyTracker.record("mobileNumber", "98765432100");
+        hotKeyTracker.record("mobileNumber", "987654321x");
+        hotKeyTracker.record("mobileNumber", "x".repeat(1000));
+        hotKeyTracker.record("mobileNumber", "");
+
+        assertThat(hotKeyTracker.heavyHitters("mobileNumber"))
+                .containsExactly(new HotKeySketch.HeavyHitter("9876543210", 1));
+    }
+
+    @Test
+    void keysOfAKindWithoutAFormatAreNotCounted() {
+        hotKeyTracker.record("customerId", "42");
+
+        assertThat(hotKeyTracker.heavyHitters("customerId")).isEmpty();
+        assertThat(hotKeyTracker.report()).isEmpty();
+    }
+}
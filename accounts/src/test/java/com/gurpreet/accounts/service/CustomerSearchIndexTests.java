@@ -0,0 +1,97 @@
+package com.gurpreet.accounts.service;
+
+import com.gurpreet.accounts.repository.CustomerRepository;
+import com.gurpreet.accounts.repository.CustomerSearchRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomerSearchIndexTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+
+    private final CustomerSearchIndex customerSearchIndex =
+            new CustomerSearchIndex(customerRepository, meterRegistry, true, 3);
+
+    @Test
+    void ranksNameWordStartsBeforeEmailWordStartsBeforeInnerMatches() {
+        customerSearchIndex.index(1, "Anna Smithers", "anna@example.com", "1111111111");
+        customerSearchIndex.index(2, "Bob Brown", "smith.bob@example.com", "2222222222");
+        customerSearchIndex.index(3, "Carl Blacksmith", "carl@example.com", "3333333333");
+        customerSearchIndex.index(4, "Dora Jones", "dora@example.com", "4444444444");
+
+        List<CustomerSearchIndex.Match> matches = customerSearchIndex.search("SMITH", 10);
+
+        assertThat(matches).extracting(CustomerSearchIndex.Match::customerId).containsExactly(1L, 2L, 3L);
+        assertThat(matches).extracting(CustomerSearchIndex.Match::score).containsExactly(3, 2, 1);
+        assertThat(matches.get(0).mobileNumber()).isEqualTo("1111111111");
+    }
+
+    @Test
+    void shortWordsOnlyMatchTheStartOfAWord() {
+        customerSearchIndex.index(1, "Jo Smith", "jo@example.com", "1111111111");
+        customerSearchIndex.index(2, "Alijo Brown", "alijo@example.com", "2222222222");
+
+        assertThat(customerSearchIndex.search("jo sm", 10))
+                .extracting(CustomerSearchIndex.Match::customerId).containsExactly(1L);
+    }
+
+    @Test
+    void prefixOnlyQueriesRankAtMostTheCandidateCap() {
+        for (long customerId = 1; customerId <= 10; customerId++) {
+            customerSearchIndex.index(customerId, "Amit " + customerId, "amit" + customerId + "@example.com", "1111111111");
+        }
+
+        assertThat(customerSearchIndex.search("a", 10)).hasSize(3);
+        assertThat(customerSearchIndex.search("amit", 10)).hasSize(10);
+    }
+
+    @Test
+    void repeatedUpdatesAreCompacted() {
+        customerSearchIndex.index(1, "Anna Smithers", "anna@example.com", "1111111111");
+
+        for (int i = 0; i < 10_000; i++) {
+            customerSearchIndex.index(2, "Bob Brown " + (i % 10), "bob@example.com", "2222222222");
+        }
+
+        // without compaction the postings of the 10000 versions alone would take about 800 kB
+        assertThat(memory()).isLessThan(200_000);
+        assertThat(customerSearchIndex.search("bob", 10)).extracting(CustomerSearchIndex.Match::name)
+                .containsExactly("Bob Brown 9");
+        assertThat(customerSearchIndex.search("anna", 10)).hasSize(1);
+    }
+
+    @Test
+    void changesCommittedDuringTheScanWinOverTheScannedRows() {
+        CustomerSearchRow anna = new CustomerSearchRow(1L, "Anna Smithers", "anna@example.com", "1111111111");
+        CustomerSearchRow bob = new CustomerSearchRow(2L, "Bob Brown", "bob@example.com", "2222222222");
+        // Anna is renamed and Bob deleted after the scan read its snapshot, before their rows are indexed
+        when(customerRepository.streamAllSearchRows()).thenReturn(Stream.of(anna, bob).peek(row -> {
+            if (row == anna) {
+                customerSearchIndex.index(1, "Anna Jones", "anna@example.com", "1111111111");
+                customerSearchIndex.remove(2);
+            }
+        }));
+
+        customerSearchIndex.rebuild();
+
+        assertThat(customerSearchIndex.isReady()).isTrue();
+        assertThat(customerSearchIndex.search("anna", 10)).extracting(CustomerSearchIndex.Match::name)
+                .containsExactly("Anna Jones");
+        assertThat(customerSearchIndex.search("smithers", 10)).isEmpty();
+        assertThat(customerSearchIndex.search("bob", 10)).isEmpty();
+        assertThat(meterRegistry.get("customer.search.documents").gauge().value()).isEqualTo(1);
+    }
+
+    private double memory() {
+        return meterRegistry.get("customer.search.memory").gauge().value();
+    }
+}
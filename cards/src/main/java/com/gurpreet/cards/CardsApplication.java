@@ -1,5 +1,6 @@
 package com.gurpreet.cards;
 
+import com.gurpreet.cards.config.CardsRuntimeHints;
 import com.gurpreet.cards.dto.CardsContactInfoDto;
 import io.swagger.v3.oas.annotations.ExternalDocumentation;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
@@ -8,11 +9,14 @@ import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.info.License;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 @SpringBootApplication
 @EnableJpaAuditing(auditorAwareRef = "auditAwareImpl")
+@ImportRuntimeHints(CardsRuntimeHints.class)
 @EnableConfigurationProperties(value = CardsContactInfoDto.class)
 @OpenAPIDefinition(
         info = @Info(
@@ -37,6 +41,9 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 public class CardsApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(CardsApplication.class, args);
+        SpringApplication application = new SpringApplication(CardsApplication.class);
+        // keeps the startup steps for the /actuator/startup report
+        application.setApplicationStartup(new BufferingApplicationStartup(2048));
+        application.run(args);
     }
 }
\ No newline at end of file
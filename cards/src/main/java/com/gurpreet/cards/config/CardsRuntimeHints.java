@@ -0,0 +1,61 @@
+package com.gurpreet.cards.config;
+
+import com.gurpreet.cards.dto.CardAuthorizationRequestDto;
+import com.gurpreet.cards.dto.CardAuthorizationResponseDto;
+import com.gurpreet.cards.dto.CardsContactInfoDto;
+import com.gurpreet.cards.dto.CardsDto;
+import com.gurpreet.cards.dto.ErrorResponseDto;
+import com.gurpreet.cards.dto.ResponseDto;
+import com.gurpreet.cards.entity.BaseEntity;
+import com.gurpreet.cards.entity.Cards;
+import com.gurpreet.cards.repository.CardUtilization;
+import com.gurpreet.cards.repository.CardsNaturalIdRepositoryImpl;
+import com.gurpreet.cards.repository.CardsRepository;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints used by the fast-start (Spring AOT) build of the cards service.
+ *
+ * Lombok generates the accessors of the entities and DTOs at compile time, Hibernate and Jackson
+ * then reach them reflectively, so they are registered with all their members.
+ */
+public class CardsRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> ENTITIES = List.of(
+            Cards.class,
+            BaseEntity.class
+    );
+
+    private static final List<Class<?>> DTOS = List.of(
+            CardsDto.class,
+            CardAuthorizationRequestDto.class,
+            CardAuthorizationResponseDto.class,
+            ResponseDto.class,
+            ErrorResponseDto.class,
+            CardsContactInfoDto.class
+    );
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            CardsRepository.class,
+            CardUtilization.class,
+            CardsNaturalIdRepositoryImpl.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        ENTITIES.forEach(type -> hints.reflection().registerType(type, MemberCategory.values()));
+        DTOS.forEach(type -> hints.reflection().registerType(type, MemberCategory.values()));
+        REPOSITORIES.forEach(type -> hints.reflection().registerType(type,
+                MemberCategory.INTROSPECT_PUBLIC_METHODS, MemberCategory.INVOKE_PUBLIC_METHODS));
+
+        // springdoc serves the OpenAPI document and the bundled swagger-ui assets
+        hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+        hints.resources().registerPattern("META-INF/swagger-ui.version");
+        hints.resources().registerPattern("schema.sql");
+        hints.resources().registerPattern("ehcache.xml");
+    }
+}
@@ -15,6 +15,13 @@ public final class CardsConstants {
     public static final String  STATUS_417 = "417";
     public static final String  MESSAGE_417_UPDATE= "Update operation failed. Please try again or contact Dev team";
     public static final String  MESSAGE_417_DELETE= "Delete operation failed. Please try again or contact Dev team";
+    public static final int  MAX_FETCH_BATCH_SIZE = 1000;
+    public static final int  FETCH_BATCH_CHUNK_SIZE = 200;
+    public static final String  STATUS_202 = "202";
+    public static final String  MESSAGE_202_STATEMENTS = "Card statement generation started";
+    public static final String  STATUS_409 = "409";
+    public static final String  MESSAGE_409_STATEMENTS = "Card statement generation already running";
+    public static final String  MESSAGE_503 = "Service is busy. Please retry after some time";
     // public static final String  STATUS_500 = "500";
     // public static final String  MESSAGE_500 = "An error occurred. Please try again or contact Dev team";
 
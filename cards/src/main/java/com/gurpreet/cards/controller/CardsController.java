@@ -1,10 +1,14 @@
 package com.gurpreet.cards.controller;
 
 import com.gurpreet.cards.constants.CardsConstants;
+import com.gurpreet.cards.dto.CardAuthorizationRequestDto;
+import com.gurpreet.cards.dto.CardAuthorizationResponseDto;
 import com.gurpreet.cards.dto.CardsContactInfoDto;
 import com.gurpreet.cards.dto.CardsDto;
 import com.gurpreet.cards.dto.ErrorResponseDto;
 import com.gurpreet.cards.dto.ResponseDto;
+import com.gurpreet.cards.service.ICardAuthorizationService;
+import com.gurpreet.cards.service.ICardStatementService;
 import com.gurpreet.cards.service.ICardsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,7 +17,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -23,6 +29,16 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import java.awt.*;
 
@@ -31,14 +47,21 @@ import java.awt.*;
         description = "CRUD REST API in a Bank to CREATE, UPDATE, FETCH AND DELETE Card Details"
 )
 @RestController
-@RequestMapping(path ="/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+@RequestMapping(path ="/api", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
 @Validated
 public class CardsController {
 
     private final ICardsService iCardsService;
 
-    public CardsController(ICardsService iCardsService){
+    private final ICardAuthorizationService iCardAuthorizationService;
+
+    private final ICardStatementService iCardStatementService;
+
+    public CardsController(ICardsService iCardsService, ICardAuthorizationService iCardAuthorizationService,
+                           ICardStatementService iCardStatementService){
         this.iCardsService = iCardsService;
+        this.iCardAuthorizationService = iCardAuthorizationService;
+        this.iCardStatementService = iCardStatementService;
     }
 
     @Value("${build.version}")
@@ -91,11 +114,50 @@ public class CardsController {
     @GetMapping("/fetch")
     public ResponseEntity<CardsDto> fetchCardDetails(@RequestParam
                                                      @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
-                                                     String mobileNumber) {
+                                                     String mobileNumber,
+                                                     WebRequest webRequest) {
+        Optional<LocalDateTime> lastModified = iCardsService.fetchLastModified(mobileNumber);
+        if (lastModified.isPresent()) {
+            long lastModifiedMillis = lastModified.get().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            // answers If-None-Match/If-Modified-Since with 304 without loading the card details
+            if (webRequest.checkNotModified(eTag(lastModified.get()), lastModifiedMillis)) {
+                return null;
+            }
+        }
         CardsDto cardsDto = iCardsService.fetchCard(mobileNumber);
         return ResponseEntity.status(HttpStatus.OK).body(cardsDto);
     }
 
+    /**
+     * Fetches the card details of up to MAX_FETCH_BATCH_SIZE customers in one call.
+     *
+     * @param mobileNumbers the mobile numbers of the customers whose cards are to be retrieved
+     * @return a map keyed by mobile number, with a null value for every mobile number which has no card
+     */
+    @Operation(
+            summary = "Fetch Card Details in batch REST API",
+            description = "REST API to fetch Card details of several customers based on a list of mobile numbers"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping("/fetch-batch")
+    public ResponseEntity<Map<String, CardsDto>> fetchCardsDetails(@RequestBody
+                                                                 @Size(max = CardsConstants.MAX_FETCH_BATCH_SIZE, message = "At most " + CardsConstants.MAX_FETCH_BATCH_SIZE + " mobile numbers can be fetched at once")
+                                                                 List<@NotNull(message = "Mobile number can not be null") @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits") String> mobileNumbers) {
+        return ResponseEntity.status(HttpStatus.OK).body(iCardsService.fetchCards(mobileNumbers));
+    }
+
     /**
      * Updates the card details associated with the given card number.
      *
@@ -187,6 +249,82 @@ public class CardsController {
                     .body(new ResponseDto(CardsConstants.STATUS_417, CardsConstants.MESSAGE_417_DELETE));
         }
     }
+    /**
+     * Authorizes a spend against the available amount of the given card.
+     *
+     * The balance is held in memory by the service instance and written to the database shortly after,
+     * so an approved spend is reflected by the fetch API with a small delay.
+     *
+     * @param requestDto the card number and the amount to be spent
+     * @return the outcome of the authorization and the available amount after it
+     * @throws ResourceNotFoundException if no card is associated with the given card number
+     */
+    @Operation(
+            summary = "Authorize Card Spend REST API",
+            description = "REST API to approve or decline a spend based on the available amount of a card"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "HTTP Status Not Found",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping("/authorize")
+    public ResponseEntity<CardAuthorizationResponseDto> authorizeCardSpend(@Valid @RequestBody CardAuthorizationRequestDto requestDto) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(iCardAuthorizationService.authorize(requestDto));
+    }
+
+    /**
+     * Starts generating the statements of every card for the given month.
+     *
+     * @param period the month of the statements (yyyy-MM), the previous month when not given
+     * @return 202 once the generation is started, 409 if one is already running
+     */
+    @Operation(
+            summary = "Generate Card Statements REST API",
+            description = "REST API to generate the monthly statements of every Card"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "HTTP Status ACCEPTED"
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "HTTP Status CONFLICT"
+            )
+    })
+    @PostMapping("/statements")
+    public ResponseEntity<ResponseDto> generateCardStatements(@RequestParam(required = false)
+                                                              @Pattern(regexp = "[0-9]{4}-[0-9]{2}", message = "Period must be yyyy-MM")
+                                                              String period) {
+        YearMonth statementPeriod = period == null ? YearMonth.now().minusMonths(1) : YearMonth.parse(period);
+        if (iCardStatementService.startStatements(statementPeriod)) {
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .body(new ResponseDto(CardsConstants.STATUS_202, CardsConstants.MESSAGE_202_STATEMENTS));
+        }
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ResponseDto(CardsConstants.STATUS_409, CardsConstants.MESSAGE_409_STATEMENTS));
+    }
+
     @Operation(
             summary = "Build Info REST API",
             description = "REST API to get the build version of the application"
@@ -277,4 +415,11 @@ public class CardsController {
                 status(HttpStatus.OK).
                 body(cardsContactInfoDto);
     }
+
+    /**
+     * @return the strong ETag derived from the last modification time, in microseconds
+     */
+    private static String eTag(LocalDateTime lastModified) {
+        return "\"" + Long.toHexString(ChronoUnit.MICROS.between(LocalDate.EPOCH.atStartOfDay(), lastModified)) + "\"";
+    }
 }
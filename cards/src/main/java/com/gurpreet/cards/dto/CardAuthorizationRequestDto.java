@@ -0,0 +1,28 @@
+package com.gurpreet.cards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Schema(
+        name = "CardAuthorizationRequest",
+        description = "Schema to hold a spend to be authorized against a card"
+)
+@Data
+public class CardAuthorizationRequestDto {
+
+    @NotEmpty(message = "Card Number can not be null or empty")
+    @Pattern(regexp = "(^$|[0-9]{12})", message = "Card Number must be 12 digits")
+    @Schema(
+            description = "Card Number of the Customer", example = "123456789012"
+    )
+    private String cardNumber;
+
+    @Positive(message = "Amount should be greater than zero")
+    @Schema(
+            description = "Amount to be spent", example = "500"
+    )
+    private int amount;
+}
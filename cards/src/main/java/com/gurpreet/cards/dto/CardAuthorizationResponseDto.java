@@ -0,0 +1,29 @@
+package com.gurpreet.cards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Schema(
+        name = "CardAuthorizationResponse",
+        description = "Schema to hold the outcome of a card authorization"
+)
+@Data
+@AllArgsConstructor
+public class CardAuthorizationResponseDto {
+
+    @Schema(
+            description = "Card Number of the Customer", example = "123456789012"
+    )
+    private String cardNumber;
+
+    @Schema(
+            description = "Whether the spend was approved"
+    )
+    private boolean approved;
+
+    @Schema(
+            description = "Available amount after the authorization", example = "89500"
+    )
+    private long availableAmount;
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.springframework.data.annotation.AccessType;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -27,11 +28,14 @@ public class BaseEntity {
     @Column(updatable = false)
     private String createdBy;
 
+    // set through the setter so that the enhanced dirty tracking sees the new value
     @LastModifiedDate
+    @AccessType(AccessType.Type.PROPERTY)
     @Column(insertable = false)
     private LocalDateTime updatedAt;
 
     @LastModifiedBy
+    @AccessType(AccessType.Type.PROPERTY)
     @Column(insertable = false)
     private String updatedBy;
 }
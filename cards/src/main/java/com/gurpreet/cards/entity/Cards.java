@@ -1,12 +1,29 @@
 package com.gurpreet.cards.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import lombok.*;
-
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+/**
+ * The mobile number is the natural id: it is how the cards are looked up, so both the entity and the
+ * natural id resolution are kept in the second-level cache (regions are bounded in ehcache.xml).
+ * The mobile number can change on update, hence the mutable natural id.
+ *
+ * Updates only write the changed columns (@DynamicUpdate with the enhanced dirty tracking).
+ */
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cards")
+@NaturalIdCache(region = "cards-natural-id")
 @Getter
 @Setter
 @ToString
@@ -18,6 +35,7 @@ public class Cards extends BaseEntity{
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long cardId;
 
+    @NaturalId(mutable = true)
     private String mobileNumber;
 
     private String cardNumber;
@@ -3,10 +3,14 @@ package com.gurpreet.cards.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+/**
+ * Thrown when a card is already registered with the given mobile number.
+ * This is an expected outcome, so the exception does not capture a stack trace.
+ */
 @ResponseStatus(value = HttpStatus.BAD_REQUEST)
 public class CardAlreadyExistsException extends RuntimeException{
 
     public CardAlreadyExistsException(String message){
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,168 @@
+package com.gurpreet.cards.grpc;
+
+import com.gurpreet.cards.constants.CardsConstants;
+import com.gurpreet.cards.dto.CardsDto;
+import com.gurpreet.cards.exception.CardAlreadyExistsException;
+import com.gurpreet.cards.exception.ResourceNotFoundException;
+import com.gurpreet.cards.grpc.proto.Card;
+import com.gurpreet.cards.grpc.proto.CardsServiceGrpc;
+import com.gurpreet.cards.grpc.proto.MobileNumberRequest;
+import com.gurpreet.cards.grpc.proto.MobileNumbersRequest;
+import com.gurpreet.cards.grpc.proto.StatusResponse;
+import com.gurpreet.cards.mapper.CardsProtoMapper;
+import com.gurpreet.cards.service.ICardsService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC binding of {@link ICardsService}, the internal counterpart of the CardsController.
+ *
+ * Requests are validated with the same bean validation constraints as the REST payloads and the
+ * domain exceptions are translated to gRPC status codes the way GlobalExceptionHandler translates
+ * them to HTTP statuses.
+ */
+@Component
+public class CardsGrpcService extends CardsServiceGrpc.CardsServiceImplBase {
+
+    private static final Pattern MOBILE_NUMBER = Pattern.compile("(^$|[0-9]{10})");
+
+    private final ICardsService iCardsService;
+
+    private final Validator validator;
+
+    public CardsGrpcService(ICardsService iCardsService, Validator validator) {
+        this.iCardsService = iCardsService;
+        this.validator = validator;
+    }
+
+    @Override
+    public void createCard(MobileNumberRequest request, StreamObserver<StatusResponse> responseObserver) {
+        unary(responseObserver, () -> {
+            iCardsService.createCard(validatedMobileNumber(request.getMobileNumber()));
+            return statusResponse(CardsConstants.STATUS_201, CardsConstants.MESSAGE_201);
+        });
+    }
+
+    @Override
+    public void fetchCard(MobileNumberRequest request, StreamObserver<Card> responseObserver) {
+        unary(responseObserver, () -> CardsProtoMapper.mapToCardMessage(
+                iCardsService.fetchCard(validatedMobileNumber(request.getMobileNumber()))));
+    }
+
+    @Override
+    public void updateCard(Card request, StreamObserver<StatusResponse> responseObserver) {
+        unary(responseObserver, () -> iCardsService.updateCard(validated(CardsProtoMapper.mapToCardsDto(request)))
+                ? statusResponse(CardsConstants.STATUS_200, CardsConstants.MESSAGE_200)
+                : statusResponse(CardsConstants.STATUS_417, CardsConstants.MESSAGE_417_UPDATE));
+    }
+
+    @Override
+    public void deleteCard(MobileNumberRequest request, StreamObserver<StatusResponse> responseObserver) {
+        unary(responseObserver, () -> iCardsService.deleteCard(validatedMobileNumber(request.getMobileNumber()))
+                ? statusResponse(CardsConstants.STATUS_200, CardsConstants.MESSAGE_200)
+                : statusResponse(CardsConstants.STATUS_417, CardsConstants.MESSAGE_417_DELETE));
+    }
+
+    /**
+     * Streams one Card message per known mobile number, in request order. The numbers are looked up
+     * in chunks through the batch fetch, so the stream is not limited to the REST batch size; unknown
+     * numbers are skipped and the stream stops early when the caller cancels it.
+     */
+    @Override
+    public void fetchCards(MobileNumbersRequest request, StreamObserver<Card> responseObserver) {
+        ServerCallStreamObserver<Card> serverObserver = (ServerCallStreamObserver<Card>) responseObserver;
+        try {
+            List<String> mobileNumbers = request.getMobileNumbersList();
+            mobileNumbers.forEach(CardsGrpcService::validatedMobileNumber);
+            for (int from = 0; from < mobileNumbers.size(); from += CardsConstants.FETCH_BATCH_CHUNK_SIZE) {
+                if (serverObserver.isCancelled()) {
+                    return;
+                }
+                List<String> chunk = mobileNumbers.subList(from,
+                        Math.min(from + CardsConstants.FETCH_BATCH_CHUNK_SIZE, mobileNumbers.size()));
+                iCardsService.fetchCards(chunk).values().stream()
+                        .filter(cardsDto -> cardsDto != null)
+                        .forEach(cardsDto -> serverObserver.onNext(CardsProtoMapper.mapToCardMessage(cardsDto)));
+            }
+            serverObserver.onCompleted();
+        } catch (RuntimeException e) {
+            serverObserver.onError(toStatus(e).asRuntimeException());
+        }
+    }
+
+    private static <T> void unary(StreamObserver<T> responseObserver, Supplier<T> call) {
+        T response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    private CardsDto validated(CardsDto cardsDto) {
+        Set<ConstraintViolation<CardsDto>> violations = validator.validate(cardsDto);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return cardsDto;
+    }
+
+    private static String validatedMobileNumber(String mobileNumber) {
+        if (!MOBILE_NUMBER.matcher(mobileNumber).matches()) {
+            throw new IllegalArgumentException("Mobile Number must be 10 digits");
+        }
+        return mobileNumber;
+    }
+
+    private static StatusResponse statusResponse(String statusCode, String statusMsg) {
+        return StatusResponse.newBuilder().setStatusCode(statusCode).setStatusMsg(statusMsg).build();
+    }
+
+    private static Status toStatus(RuntimeException e) {
+        if (e instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+        }
+        if (e instanceof ResourceNotFoundException) {
+            return Status.NOT_FOUND.withDescription(e.getMessage());
+        }
+        if (e instanceof CardAlreadyExistsException) {
+            return Status.ALREADY_EXISTS.withDescription(e.getMessage());
+        }
+        if ((e instanceof CannotCreateTransactionException || e instanceof DataAccessResourceFailureException)
+                && isPoolTimeout(e)) {
+            return Status.UNAVAILABLE.withDescription(CardsConstants.MESSAGE_503).withCause(e);
+        }
+        return Status.INTERNAL.withDescription(e.getMessage()).withCause(e);
+    }
+
+    /**
+     * @return true if the cause chain contains the timeout raised by the connection pool
+     */
+    private static boolean isPoolTimeout(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
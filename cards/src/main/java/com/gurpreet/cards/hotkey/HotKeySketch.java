@@ -0,0 +1,177 @@
+package com.gurpreet.cards.hotkey;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Count-min sketch of the keys of one kind, with the current top K kept beside it.
+ *
+ * The sketch is depth rows of width counters; a key increments one counter per row and its estimate is
+ * the smallest of them, which may over-count (collisions) but never under-counts. The memory is fixed
+ * at depth * width ints whatever the number of distinct keys. The rows are indexed from a 64-bit hash of the
+ * key, so keys colliding in one row are unlikely to collide in the others.
+ *
+ * A key already in the top K only has its estimate updated, without locking; the monitor is only taken
+ * when the membership of the top K may change.
+ *
+ * Every window all the counters are halved, so the counts decay exponentially and a key which stopped
+ * being hot drops out after a few windows. The decay is done by the first request after the window ends.
+ */
+public class HotKeySketch {
+
+    /**
+     * A heavy hitter and its estimated, decayed request count.
+     */
+    public record HeavyHitter(String key, long estimate) {
+    }
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x85EBCA77C2B2AE63L, 0x27D4EB2F165667C5L
+    };
+
+    private final int depth;
+
+    private final int width;
+
+    private final int topK;
+
+    private final long windowNanos;
+
+    private final AtomicIntegerArray counters;
+
+    private final AtomicLong total = new AtomicLong();
+
+    private final Map<String, Long> heavyHitters = new ConcurrentHashMap<>();
+
+    private volatile long minimumHeavyHitter;
+
+    private volatile long nextDecay;
+
+    public HotKeySketch(int depth, int width, int topK, long windowNanos) {
+        if (depth > SEEDS.length) {
+            throw new IllegalArgumentException("Depth can not be more than " + SEEDS.length);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.topK = topK;
+        this.windowNanos = windowNanos;
+        this.counters = new AtomicIntegerArray(depth * width);
+        this.nextDecay = System.nanoTime() + windowNanos;
+    }
+
+    /**
+     * Counts one request for the given key.
+     */
+    public void record(String key) {
+        decayIfDue();
+        long hash = hash(key);
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + bucket(hash, row);
+            int count = counters.incrementAndGet(index);
+            if (count < 0) {
+                // saturated, a window is much longer than 2^31 requests of one key in practice
+                counters.set(index, Integer.MAX_VALUE);
+                count = Integer.MAX_VALUE;
+            }
+            estimate = Math.min(estimate, count);
+        }
+        total.incrementAndGet();
+        long current = estimate;
+        // like merge(), but a key evicted in the meantime must not come back without going through offer(),
+        // and the max keeps a slower concurrent request from lowering the estimate
+        if (heavyHitters.computeIfPresent(key, (hitter, previous) -> Math.max(previous, current)) == null
+                && (estimate > minimumHeavyHitter || heavyHitters.size() < topK)) {
+            offer(key, estimate);
+        }
+    }
+
+    /**
+     * @return the current heavy hitters, the most requested first
+     */
+    public List<HeavyHitter> heavyHitters() {
+        List<HeavyHitter> result = new ArrayList<>();
+        heavyHitters.forEach((key, estimate) -> result.add(new HeavyHitter(key, estimate)));
+        result.sort(Comparator.comparingLong(HeavyHitter::estimate).reversed());
+        return result;
+    }
+
+    /**
+     * @return the decayed number of requests counted, the denominator of the share of a heavy hitter
+     */
+    public long total() {
+        return total.get();
+    }
+
+    /**
+     * @return the memory used by the counters
+     */
+    public long sizeInBytes() {
+        return (long) depth * width * Integer.BYTES;
+    }
+
+    private synchronized void offer(String key, long estimate) {
+        heavyHitters.put(key, estimate);
+        if (heavyHitters.size() > topK) {
+            String coldest = null;
+            long coldestEstimate = Long.MAX_VALUE;
+            for (Map.Entry<String, Long> entry : heavyHitters.entrySet()) {
+                if (entry.getValue() < coldestEstimate) {
+                    coldest = entry.getKey();
+                    coldestEstimate = entry.getValue();
+                }
+            }
+            heavyHitters.remove(coldest);
+        }
+        if (heavyHitters.size() >= topK) {
+            minimumHeavyHitter = heavyHitters.values().stream().mapToLong(Long::longValue).min().orElse(0);
+        }
+    }
+
+    private void decayIfDue() {
+        if (System.nanoTime() - nextDecay < 0) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (now - nextDecay < 0) {
+                return;
+            }
+            nextDecay = now + windowNanos;
+            for (int i = 0; i < counters.length(); i++) {
+                int count;
+                do {
+                    count = counters.get(i);
+                } while (!counters.compareAndSet(i, count, count >>> 1));
+            }
+            total.updateAndGet(count -> count >>> 1);
+            heavyHitters.replaceAll((key, estimate) -> estimate >>> 1);
+            heavyHitters.values().removeIf(estimate -> estimate == 0);
+            minimumHeavyHitter = minimumHeavyHitter >>> 1;
+        }
+    }
+
+    /**
+     * FNV-1a over the UTF-16 code units of the key, 64 bits wide unlike {@link String#hashCode()}.
+     */
+    static long hash(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private int bucket(long hash, int row) {
+        long mixed = (hash ^ SEEDS[row]) * 0xFF51AFD7ED558CCDL;
+        mixed ^= mixed >>> 33;
+        return (int) ((mixed & Long.MAX_VALUE) % width);
+    }
+}
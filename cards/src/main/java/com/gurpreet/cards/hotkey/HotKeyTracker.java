@@ -0,0 +1,126 @@
+package com.gurpreet.cards.hotkey;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Tracks the request keys of the service (mobile numbers, card numbers) in one {@link HotKeySketch} per
+ * kind of key. Only the configured kinds are tracked, so the memory stays fixed.
+ *
+ * Only well-formed keys are counted: the values come from unvalidated request parameters, and junk
+ * or oversized values must not become heavy hitters, be replayed by the warm-up or overflow the
+ * key_value column of the snapshot.
+ */
+@Component
+public class HotKeyTracker {
+
+    /** Format of the keys of each kind, keys of a kind without a format are never counted. */
+    private static final Map<String, Pattern> KEY_FORMATS = Map.of(
+            "mobileNumber", Pattern.compile("[0-9]{10}"),
+            "cardNumber", Pattern.compile("[0-9]{12}"));
+
+    private final boolean enabled;
+
+    private final Set<String> kinds;
+
+    private final int depth;
+
+    private final int width;
+
+    private final int topK;
+
+    private final Duration window;
+
+    private final Map<String, HotKeySketch> sketches = new ConcurrentHashMap<>();
+
+    public HotKeyTracker(MeterRegistry meterRegistry,
+                         @Value("${hot-keys.enabled:true}") boolean enabled,
+                         @Value("${hot-keys.kinds:mobileNumber,cardNumber}") Set<String> kinds,
+                         @Value("${hot-keys.depth:4}") int depth,
+                         @Value("${hot-keys.width:2048}") int width,
+                         @Value("${hot-keys.top-k:20}") int topK,
+                         @Value("${hot-keys.window:60s}") Duration window) {
+        this.enabled = enabled;
+        this.kinds = kinds;
+        this.depth = depth;
+        this.width = width;
+        this.topK = topK;
+        this.window = window;
+
+        Gauge.builder("hot.keys.memory", sketches, map -> map.values().stream().mapToLong(HotKeySketch::sizeInBytes).sum())
+                .description("Memory used by the count-min sketches")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public Set<String> kinds() {
+        return kinds;
+    }
+
+    /**
+     * Counts one request for the given key. Keys of a kind which is not tracked, and keys which are not
+     * in the format of their kind, are ignored.
+     *
+     * @param kind the kind of key, e.g. mobileNumber
+     * @param key the value requested
+     */
+    public void record(String kind, String key) {
+        if (!enabled || key == null || !kinds.contains(kind) || !isWellFormed(kind, key)) {
+            return;
+        }
+        sketches.computeIfAbsent(kind, k -> new HotKeySketch(depth, width, topK, window.toNanos())).record(key);
+    }
+
+    private static boolean isWellFormed(String kind, String key) {
+        Pattern format = KEY_FORMATS.get(kind);
+        return format != null && format.matcher(key).matches();
+    }
+
+    /**
+     * @return the heavy hitters of the given kind of key, hottest first
+     */
+    public List<HotKeySketch.HeavyHitter> heavyHitters(String kind) {
+        HotKeySketch sketch = sketches.get(kind);
+        return sketch == null ? List.of() : sketch.heavyHitters();
+    }
+
+    /**
+     * @return per kind of key, the window, the decayed request total and the heavy hitters with their share
+     */
+    public Map<String, Object> report() {
+        Map<String, Object> report = new TreeMap<>();
+        sketches.forEach((kind, sketch) -> report.put(kind, report(sketch)));
+        return report;
+    }
+
+    /**
+     * @return the report of the given kind of key, null if nothing was recorded for it
+     */
+    public Map<String, Object> report(String kind) {
+        HotKeySketch sketch = sketches.get(kind);
+        return sketch == null ? null : report(sketch);
+    }
+
+    private Map<String, Object> report(HotKeySketch sketch) {
+        long total = Math.max(1, sketch.total());
+        Map<String, Object> report = new TreeMap<>();
+        report.put("window", window.toString());
+        report.put("total", sketch.total());
+        report.put("sketchBytes", sketch.sizeInBytes());
+        report.put("heavyHitters", sketch.heavyHitters().stream()
+                .map(hitter -> Map.of("key", hitter.key(), "estimate", hitter.estimate(),
+                        "share", Math.round(10_000.0 * hitter.estimate() / total) / 10_000.0))
+                .toList());
+        return report;
+    }
+}
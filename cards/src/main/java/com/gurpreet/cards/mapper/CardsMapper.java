@@ -3,6 +3,8 @@ package com.gurpreet.cards.mapper;
 import com.gurpreet.cards.dto.CardsDto;
 import com.gurpreet.cards.entity.Cards;
 
+import java.util.Objects;
+
 public class CardsMapper {
 
     /**
@@ -39,4 +41,36 @@ public class CardsMapper {
         return cards;
     }
 
-}
\ No newline at end of file
+    /**
+     * Checks whether applying the given {@link CardsDto} to the {@link Cards} object would change anything.
+     *
+     * @param cardsDto the requested card details
+     * @param cards the current card
+     * @return true if every mapped field already holds the requested value
+     */
+    public static boolean isUnchanged(CardsDto cardsDto, Cards cards) {
+        return Objects.equals(cards.getCardNumber(), cardsDto.getCardNumber())
+                && Objects.equals(cards.getCardType(), cardsDto.getCardType())
+                && Objects.equals(cards.getMobileNumber(), cardsDto.getMobileNumber())
+                && cards.getTotalLimit() == cardsDto.getTotalLimit()
+                && cards.getAvailableAmount() == cardsDto.getAvailableAmount()
+                && cards.getAmountUsed() == cardsDto.getAmountUsed();
+    }
+
+    /**
+     * Copies a {@link CardsDto}, so that callers sharing one fetch each get their own instance.
+     *
+     * @param cardsDto the object to be copied
+     * @return a new object with the same values
+     */
+    public static CardsDto copyOf(CardsDto cardsDto) {
+        CardsDto copy = new CardsDto();
+        copy.setCardNumber(cardsDto.getCardNumber());
+        copy.setCardType(cardsDto.getCardType());
+        copy.setMobileNumber(cardsDto.getMobileNumber());
+        copy.setTotalLimit(cardsDto.getTotalLimit());
+        copy.setAvailableAmount(cardsDto.getAvailableAmount());
+        copy.setAmountUsed(cardsDto.getAmountUsed());
+        return copy;
+    }
+}
@@ -0,0 +1,41 @@
+package com.gurpreet.cards.mapper;
+
+import com.gurpreet.cards.dto.CardsDto;
+import com.gurpreet.cards.grpc.proto.Card;
+
+public class CardsProtoMapper {
+
+    /**
+     * Maps a {@link CardsDto} object to a gRPC {@link Card} message.
+     *
+     * @param cardsDto the object to be mapped
+     * @return the mapped message
+     */
+    public static Card mapToCardMessage(CardsDto cardsDto) {
+        return Card.newBuilder()
+                .setMobileNumber(cardsDto.getMobileNumber())
+                .setCardNumber(cardsDto.getCardNumber())
+                .setCardType(cardsDto.getCardType())
+                .setTotalLimit(cardsDto.getTotalLimit())
+                .setAmountUsed(cardsDto.getAmountUsed())
+                .setAvailableAmount(cardsDto.getAvailableAmount())
+                .build();
+    }
+
+    /**
+     * Maps a gRPC {@link Card} message to a {@link CardsDto} object.
+     *
+     * @param card the message to be mapped
+     * @return the mapped object
+     */
+    public static CardsDto mapToCardsDto(Card card) {
+        CardsDto cardsDto = new CardsDto();
+        cardsDto.setMobileNumber(card.getMobileNumber());
+        cardsDto.setCardNumber(card.getCardNumber());
+        cardsDto.setCardType(card.getCardType());
+        cardsDto.setTotalLimit(card.getTotalLimit());
+        cardsDto.setAmountUsed(card.getAmountUsed());
+        cardsDto.setAvailableAmount(card.getAvailableAmount());
+        return cardsDto;
+    }
+}
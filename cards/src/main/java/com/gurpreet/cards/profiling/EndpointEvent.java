@@ -0,0 +1,41 @@
+package com.gurpreet.cards.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event emitted for every call of a {@link com.gurpreet.cards.controller.CardsController} method,
+ * with what the request thread spent between the start and the completion of the request.
+ */
+@Name(EndpointEvent.NAME)
+@Label("Endpoint Call")
+@Category({"Cards", "Endpoints"})
+@Description("Allocation, CPU time and SQL statements of one controller method call")
+@StackTrace(false)
+class EndpointEvent extends Event {
+
+    static final String NAME = "com.gurpreet.cards.EndpointCall";
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Status")
+    int status;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+
+    @Label("CPU Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long cpuTime;
+
+    @Label("SQL Statements")
+    int sqlStatements;
+}
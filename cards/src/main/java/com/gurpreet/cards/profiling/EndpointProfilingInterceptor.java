@@ -0,0 +1,73 @@
+package com.gurpreet.cards.profiling;
+
+import com.gurpreet.cards.controller.CardsController;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Emits an {@link EndpointEvent} around every {@link CardsController} method.
+ *
+ * Nothing is measured while no JFR recording has the event enabled. Otherwise the allocated bytes, the CPU
+ * time and the SQL statement count of the request thread are read at the start and at the completion of the
+ * request, so the event also covers the serialization of the response. Requests handed over to another
+ * thread (async processing) are not measured.
+ */
+class EndpointProfilingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String EVENT_ATTRIBUTE = EndpointProfilingInterceptor.class.getName() + ".event";
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    EndpointProfilingInterceptor(SqlStatementCounter sqlStatementCounter) {
+        this.sqlStatementCounter = sqlStatementCounter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || handlerMethod.getBeanType() != CardsController.class) {
+            return true;
+        }
+        EndpointEvent event = new EndpointEvent();
+        if (!event.isEnabled()) {
+            return true;
+        }
+        event.endpoint = CardsController.class.getSimpleName() + '.' + handlerMethod.getMethod().getName();
+        event.allocatedBytes = THREADS.getCurrentThreadAllocatedBytes();
+        event.cpuTime = THREADS.getCurrentThreadCpuTime();
+        event.sqlStatements = sqlStatementCounter.current();
+        event.begin();
+        request.setAttribute(EVENT_ATTRIBUTE, event);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        request.removeAttribute(EVENT_ATTRIBUTE);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(EVENT_ATTRIBUTE) instanceof EndpointEvent event)) {
+            return;
+        }
+        request.removeAttribute(EVENT_ATTRIBUTE);
+        event.end();
+        if (event.shouldCommit()) {
+            event.allocatedBytes = THREADS.getCurrentThreadAllocatedBytes() - event.allocatedBytes;
+            event.cpuTime = THREADS.getCurrentThreadCpuTime() - event.cpuTime;
+            event.sqlStatements = sqlStatementCounter.current() - event.sqlStatements;
+            event.status = response.getStatus();
+            event.commit();
+        }
+    }
+}
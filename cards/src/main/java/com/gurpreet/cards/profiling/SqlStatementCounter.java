@@ -0,0 +1,25 @@
+package com.gurpreet.cards.profiling;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements prepared by Hibernate on each thread, the statements are not changed.
+ * Statements issued through JdbcTemplate do not go through Hibernate and are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> counts = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        counts.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * @return the number of statements prepared so far by the current thread
+     */
+    int current() {
+        return counts.get()[0];
+    }
+}
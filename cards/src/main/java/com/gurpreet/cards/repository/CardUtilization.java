@@ -0,0 +1,16 @@
+package com.gurpreet.cards.repository;
+
+/**
+ * The columns of a card needed for its statement, read without loading the entity.
+ *
+ * @param cardId the primary key of the card
+ * @param cardNumber the card number
+ * @param mobileNumber the mobile number of the customer
+ * @param cardType the type of the card
+ * @param totalLimit the credit limit of the card
+ * @param amountUsed the amount spent
+ * @param availableAmount the amount left to be spent
+ */
+public record CardUtilization(Long cardId, String cardNumber, String mobileNumber, String cardType,
+                              int totalLimit, int amountUsed, int availableAmount) {
+}
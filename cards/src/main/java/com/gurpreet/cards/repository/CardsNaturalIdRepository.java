@@ -0,0 +1,37 @@
+package com.gurpreet.cards.repository;
+
+import com.gurpreet.cards.entity.Cards;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lookups by the mobile number natural id, served from the second-level cache when possible.
+ */
+public interface CardsNaturalIdRepository {
+
+    /**
+     * Finds the card of the given mobile number through the natural id cache. Only a cache miss
+     * runs a query.
+     *
+     * @param mobileNumber
+     *            the mobile number of the customer whose card is to be retrieved
+     * @return an Optional containing the card if found, or an empty Optional if
+     *         no card is associated with the given mobile number
+     */
+    @Transactional(readOnly = true)
+    Optional<Cards> findByMobileNumber(String mobileNumber);
+
+    /**
+     * Finds the cards of all the given mobile numbers through the natural id cache, the
+     * mobile numbers missing from the cache are loaded with batched IN queries.
+     *
+     * @param mobileNumbers
+     *            the mobile numbers of the customers whose cards are to be retrieved
+     * @return the cards found, mobile numbers without a card have no element in the list
+     */
+    @Transactional(readOnly = true)
+    List<Cards> findByMobileNumberIn(Collection<String> mobileNumbers);
+}
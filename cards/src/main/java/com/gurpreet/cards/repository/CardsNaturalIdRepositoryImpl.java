@@ -0,0 +1,37 @@
+package com.gurpreet.cards.repository;
+
+import com.gurpreet.cards.constants.CardsConstants;
+import com.gurpreet.cards.entity.Cards;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+public class CardsNaturalIdRepositoryImpl implements CardsNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Cards> findByMobileNumber(String mobileNumber) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Cards.class)
+                .loadOptional(mobileNumber);
+    }
+
+    @Override
+    public List<Cards> findByMobileNumberIn(Collection<String> mobileNumbers) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleNaturalId(Cards.class)
+                .withBatchSize(CardsConstants.FETCH_BATCH_CHUNK_SIZE)
+                .multiLoad(new ArrayList<>(mobileNumbers))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -1,23 +1,21 @@
 package com.gurpreet.cards.repository;
 
 import com.gurpreet.cards.entity.Cards;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CardsRepository extends JpaRepository<Cards, Long> {
-
-    /**
-     * Finds a card by the given mobile number.
-     *
-     * @param mobileNumber
-     *            the mobile number of the customer whose card is to be retrieved
-     * @return an Optional containing the card if found, or an empty Optional if
-     *         no card is associated with the given mobile number
-     */
-    Optional<Cards> findByMobileNumber(String mobileNumber);
+public interface CardsRepository extends JpaRepository<Cards, Long>, CardsNaturalIdRepository {
 
     /**
      * Finds a card by the given card number.
@@ -29,4 +27,36 @@ public interface CardsRepository extends JpaRepository<Cards, Long> {
      */
     Optional<Cards> findByCardNumber(String cardNumber);
 
-}
\ No newline at end of file
+    /**
+     * Streams the mobile numbers of all the rows without loading the entities.
+     * The MySQL driver only streams the rows for the Integer.MIN_VALUE fetch size,
+     * the caller has to run inside a read-only transaction and close the stream.
+     *
+     * @return a stream of all the mobile numbers
+     */
+    @Query("select e.mobileNumber from Cards e")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "" + Integer.MIN_VALUE))
+    Stream<String> streamAllMobileNumbers();
+
+    /**
+     * Finds the utilization of the cards after the given id in id order, without loading the entities.
+     * Paging on the key instead of an offset keeps every chunk as cheap as the first one.
+     *
+     * @param afterCardId the id of the last card of the previous chunk, 0 for the first chunk
+     * @param limit the maximum number of cards to be returned
+     * @return the next chunk of cards, empty once all the cards have been read
+     */
+    @Query("select new com.gurpreet.cards.repository.CardUtilization(c.cardId, c.cardNumber, c.mobileNumber, c.cardType,"
+            + " c.totalLimit, c.amountUsed, c.availableAmount) from Cards c where c.cardId > :afterCardId order by c.cardId")
+    List<CardUtilization> findUtilizationAfter(@Param("afterCardId") Long afterCardId, Limit limit);
+
+    /**
+     * Finds only the last modification time of the card of the given mobile number,
+     * without loading the entity. Rows which were never updated report their creation time.
+     *
+     * @param mobileNumber the mobile number of the customer
+     * @return an Optional containing the last modification time, or an empty Optional if not found
+     */
+    @Query("select coalesce(c.updatedAt, c.createdAt) from Cards c where c.mobileNumber = :mobileNumber")
+    Optional<LocalDateTime> findLastModifiedByMobileNumber(@Param("mobileNumber") String mobileNumber);
+}
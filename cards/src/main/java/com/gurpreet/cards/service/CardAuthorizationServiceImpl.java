@@ -0,0 +1,294 @@
+package com.gurpreet.cards.service;
+
+import com.gurpreet.cards.dto.CardAuthorizationRequestDto;
+import com.gurpreet.cards.dto.CardAuthorizationResponseDto;
+import com.gurpreet.cards.exception.ResourceNotFoundException;
+import com.gurpreet.cards.hotkey.HotKeyTracker;
+import com.gurpreet.cards.service.authorization.AuthorizationJournal;
+import com.gurpreet.cards.service.authorization.CardBalanceBook;
+import com.gurpreet.cards.service.authorization.CardBalanceStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authorizes card spends against the in-memory balances of the {@link CardBalanceBook}.
+ *
+ * An approval is acknowledged once it is appended to the local {@link AuthorizationJournal}; the
+ * cards table is brought up to date by a write-behind which every flush interval drains the pending
+ * deltas of all the cards and writes them in one batched transaction. On start the journal segments
+ * left by a previous run are replayed, skipping the spends already covered by the checkpoints. The bean
+ * is never lazy, the replay must not wait for the first request (startup profile).
+ *
+ * Cards changed by the update and delete APIs of another instance are picked up by every flush from the
+ * invalidations recorded in the database, so a balance is stale for at most one flush interval. The poll
+ * looks back invalidation-overlap before the newest invalidation seen, which covers the transactions
+ * committing after the time they recorded.
+ */
+@Service
+@Lazy(false)
+public class CardAuthorizationServiceImpl implements ICardAuthorizationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardAuthorizationServiceImpl.class);
+
+    private static final int EVICT_ATTEMPTS = 5;
+
+    private final CardBalanceBook cardBalanceBook;
+
+    private final AuthorizationJournal authorizationJournal;
+
+    private final CardBalanceStore cardBalanceStore;
+
+    private final HotKeyTracker hotKeyTracker;
+
+    private final Duration flushInterval;
+
+    private final Duration invalidationOverlap;
+
+    private final Map<String, LocalDateTime> appliedInvalidations = new HashMap<>();
+
+    private final Set<String> staleCards = new HashSet<>();
+
+    private LocalDateTime invalidationWatermark;
+
+    private final Counter approved;
+
+    private final Counter declined;
+
+    private final Timer flushes;
+
+    private ScheduledExecutorService flusher;
+
+    private long retainedSegment = -1;
+
+    public CardAuthorizationServiceImpl(CardBalanceBook cardBalanceBook, AuthorizationJournal authorizationJournal,
+                                        CardBalanceStore cardBalanceStore, HotKeyTracker hotKeyTracker,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${card-authorization.flush-interval:200ms}") Duration flushInterval,
+                                        @Value("${card-authorization.invalidation-overlap:5s}") Duration invalidationOverlap) {
+        this.cardBalanceBook = cardBalanceBook;
+        this.authorizationJournal = authorizationJournal;
+        this.cardBalanceStore = cardBalanceStore;
+        this.hotKeyTracker = hotKeyTracker;
+        this.flushInterval = flushInterval;
+        this.invalidationOverlap = invalidationOverlap;
+
+        this.approved = Counter.builder("card.authorizations").tag("result", "approved")
+                .register(meterRegistry);
+        this.declined = Counter.builder("card.authorizations").tag("result", "declined")
+                .register(meterRegistry);
+        this.flushes = Timer.builder("card.authorizations.flush")
+                .description("Write-behind of the pending card balances")
+                .register(meterRegistry);
+        Gauge.builder("card.authorizations.balances", cardBalanceBook, CardBalanceBook::size)
+                .description("Card balances held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replays the journal of the previous run and starts the write-behind.
+     */
+    @PostConstruct
+    public void start() {
+        invalidationWatermark = LocalDateTime.now();
+        recover();
+        authorizationJournal.open();
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "card-authorization-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(flushInterval.toMillis() * 5, TimeUnit.MILLISECONDS);
+        flushQuietly();
+        authorizationJournal.close();
+    }
+
+    /**
+     * Approves the spend if the in-memory available amount covers it, and journals the approval.
+     *
+     * @param requestDto the card number and the amount to be spent
+     * @return the outcome of the authorization and the available amount after it
+     * @throws ResourceNotFoundException if no card is associated with the given card number
+     */
+    @Override
+    public CardAuthorizationResponseDto authorize(CardAuthorizationRequestDto requestDto) {
+        String cardNumber = requestDto.getCardNumber();
+        hotKeyTracker.record("cardNumber", cardNumber);
+        CardBalanceBook.Authorization authorization = cardBalanceBook.authorize(cardNumber, requestDto.getAmount())
+                .orElseThrow(() -> new ResourceNotFoundException("Card", "CardNumber", cardNumber));
+        if (!authorization.approved()) {
+            declined.increment();
+            return new CardAuthorizationResponseDto(cardNumber, false, authorization.available());
+        }
+        try {
+            authorizationJournal.append(cardNumber, authorization.version(), requestDto.getAmount());
+        } catch (IOException e) {
+            cardBalanceBook.reverse(cardNumber, requestDto.getAmount());
+            throw new UncheckedIOException("Cannot journal the authorization of card " + cardNumber, e);
+        }
+        approved.increment();
+        return new CardAuthorizationResponseDto(cardNumber, true, authorization.available());
+    }
+
+    /**
+     * Drops the in-memory balance of the given card once the current transaction commits, after
+     * writing its pending delta, so that the next authorization reloads the stored balance. The change
+     * is also recorded in the database for the case this is not the instance holding the balances.
+     *
+     * @param cardNumber the card whose balance was changed outside of the authorizations
+     */
+    @Override
+    public void evict(String cardNumber) {
+        cardBalanceStore.invalidate(cardNumber);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            retire(cardNumber);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                retire(cardNumber);
+            }
+        });
+    }
+
+    /**
+     * Runs under the monitor of {@link #flush()}: a card is never retired while its drained delta is being
+     * written, otherwise the next authorization would reload a balance which does not include it yet.
+     */
+    private synchronized void retire(String cardNumber) {
+        for (int attempt = 0; attempt < EVICT_ATTEMPTS; attempt++) {
+            if (cardBalanceBook.retire(cardNumber)) {
+                return;
+            }
+            flushQuietly();
+        }
+        logger.warn("Card {} keeps receiving authorizations, its in-memory balance was not evicted", cardNumber);
+    }
+
+    /**
+     * Writes the pending deltas of all the cards. The segment is rotated first, so every record of the
+     * closed segments belongs to a spend drained here or by an earlier flush and can be deleted once
+     * the write commits. A failed write puts the deltas back for the next flush. A delta which cannot be
+     * put back only exists in the journal, so from its segment on nothing is deleted until the recovery
+     * of the next start has replayed it.
+     */
+    synchronized void flush() throws IOException {
+        long closedSegment = authorizationJournal.rotate();
+        List<CardBalanceBook.Delta> deltas = cardBalanceBook.drain();
+        if (!deltas.isEmpty()) {
+            try {
+                flushes.record(() -> cardBalanceStore.write(deltas));
+            } catch (RuntimeException e) {
+                if (!cardBalanceBook.restore(deltas).isEmpty() && retainedSegment < 0) {
+                    retainedSegment = closedSegment;
+                    logger.error("Card balances could not be restored after a failed write, journal segments from {}"
+                            + " on are kept for the recovery of the next start", closedSegment);
+                }
+                throw e;
+            }
+        }
+        authorizationJournal.deleteUpTo(retainedSegment < 0 ? closedSegment
+                : Math.min(closedSegment, retainedSegment - 1));
+        retireInvalidated();
+    }
+
+    /**
+     * Retires the cards invalidated since the previous poll. It runs after the write, so only the cards
+     * authorized again in the meantime still have something pending, they are retried by the next flush.
+     */
+    private void retireInvalidated() {
+        LocalDateTime since = invalidationWatermark.minus(invalidationOverlap);
+        for (CardBalanceStore.Invalidation invalidation : cardBalanceStore.invalidations(since)) {
+            if (!invalidation.invalidatedAt().equals(
+                    appliedInvalidations.put(invalidation.cardNumber(), invalidation.invalidatedAt()))) {
+                staleCards.add(invalidation.cardNumber());
+            }
+            if (invalidation.invalidatedAt().isAfter(invalidationWatermark)) {
+                invalidationWatermark = invalidation.invalidatedAt();
+            }
+        }
+        LocalDateTime horizon = invalidationWatermark.minus(invalidationOverlap);
+        appliedInvalidations.values().removeIf(invalidatedAt -> invalidatedAt.isBefore(horizon));
+        staleCards.removeIf(cardBalanceBook::retire);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.warn("Write-behind of the card balances failed, retrying with the next flush: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the journaled spends newer than the checkpoint of their card, then deletes the journal.
+     */
+    private void recover() {
+        List<AuthorizationJournal.Entry> entries = authorizationJournal.readAll();
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<String, Long> checkpoints = cardBalanceStore.checkpoints();
+        Map<String, long[]> pending = new LinkedHashMap<>();
+        for (AuthorizationJournal.Entry entry : entries) {
+            if (entry.version() <= checkpoints.getOrDefault(entry.cardNumber(), 0L)) {
+                continue;
+            }
+            long[] amountAndVersion = pending.computeIfAbsent(entry.cardNumber(), key -> new long[2]);
+            amountAndVersion[0] += entry.amount();
+            amountAndVersion[1] = Math.max(amountAndVersion[1], entry.version());
+        }
+        List<CardBalanceBook.Delta> deltas = new ArrayList<>();
+        pending.forEach((cardNumber, amountAndVersion) -> {
+            Optional<CardBalanceStore.StoredBalance> stored = cardBalanceStore.load(cardNumber);
+            if (stored.isEmpty()) {
+                logger.warn("Dropping journaled spends of {} for card {} which no longer exists", amountAndVersion[0], cardNumber);
+                return;
+            }
+            deltas.add(new CardBalanceBook.Delta(cardNumber, stored.get().cardId(), amountAndVersion[0], amountAndVersion[1]));
+        });
+        if (!deltas.isEmpty()) {
+            cardBalanceStore.write(deltas);
+        }
+        try {
+            authorizationJournal.deleteUpTo(Long.MAX_VALUE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("Recovered {} journaled authorizations, {} card balances written", entries.size(), deltas.size());
+    }
+}
@@ -1,14 +1,23 @@
 package com.gurpreet.cards.service;
 
+import com.gurpreet.cards.config.ReadYourWritesTracker;
 import com.gurpreet.cards.constants.CardsConstants;
 import com.gurpreet.cards.dto.CardsDto;
 import com.gurpreet.cards.entity.Cards;
 import com.gurpreet.cards.exception.CardAlreadyExistsException;
 import com.gurpreet.cards.exception.ResourceNotFoundException;
+import com.gurpreet.cards.hotkey.HotKeyTracker;
 import com.gurpreet.cards.mapper.CardsMapper;
 import com.gurpreet.cards.repository.CardsRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 
@@ -17,6 +26,10 @@ import java.util.Random;
 public class CardServiceImpl implements  ICardsService{
 
     private CardsRepository cardsRepository;
+    private ReadYourWritesTracker readYourWritesTracker;
+    private MobileNumberFilter mobileNumberFilter;
+    private ICardAuthorizationService iCardAuthorizationService;
+    private HotKeyTracker hotKeyTracker;
 
     /**
      * Creates a new card for the customer associated with the given mobile number.
@@ -31,11 +44,15 @@ public class CardServiceImpl implements  ICardsService{
      */
     @Override
     public void createCard(String mobileNumber) {
-        Optional<Cards> optionalCards = cardsRepository.findByMobileNumber(mobileNumber);
+        Optional<Cards> optionalCards = mobileNumberFilter.mightContain(mobileNumber)
+                ? cardsRepository.findByMobileNumber(mobileNumber)
+                : Optional.empty();
         if(optionalCards.isPresent()){
             throw new CardAlreadyExistsException("Card already registered with given mobileNumber " + mobileNumber);
         }
         cardsRepository.save(createNewCard(mobileNumber));
+        mobileNumberFilter.add(mobileNumber);
+        readYourWritesTracker.recordWrite(mobileNumber);
     }
     /**
      * Creates a new card for the given mobile number with default settings.
@@ -69,7 +86,12 @@ public class CardServiceImpl implements  ICardsService{
      * @throws ResourceNotFoundException if no card is associated with the given mobile number
      */
     @Override
+    @Transactional(readOnly = true)
     public CardsDto fetchCard(String mobileNumber) {
+        if (!mobileNumberFilter.mightContain(mobileNumber)) {
+            throw new ResourceNotFoundException("Card", "mobileNumber", mobileNumber);
+        }
+        readYourWritesTracker.pinToPrimaryIfRecentlyWritten(mobileNumber);
         Cards cards = cardsRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 ()-> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber)
         );
@@ -81,18 +103,31 @@ public class CardServiceImpl implements  ICardsService{
      *
      * This method attempts to find and update the card associated with the specified card number.
      * If no card is found with the given card number, a ResourceNotFoundException is thrown.
+     * The card stays managed for the whole transaction, so the changes are flushed by dirty checking
+     * (only the changed columns), and a payload equal to the stored card is not written at all.
+     * The in-memory authorization balance of the card is dropped after the commit.
      *
      * @param cardsDto the object containing the updated card details
      * @return true if the card is updated successfully, false otherwise
      * @throws ResourceNotFoundException if no card is associated with the given card number
      */
     @Override
+    @Transactional
     public boolean updateCard(CardsDto cardsDto) {
+        hotKeyTracker.record("cardNumber", cardsDto.getCardNumber());
         Cards cards = cardsRepository.findByCardNumber(cardsDto.getCardNumber()).orElseThrow(
                 () -> new ResourceNotFoundException("Card", "CardNumber", cardsDto.getCardNumber())
         );
+        if (CardsMapper.isUnchanged(cardsDto, cards)) {
+            return true;
+        }
+        String previousMobileNumber = cards.getMobileNumber();
         CardsMapper.mapToCards(cardsDto, cards);
-        cardsRepository.save(cards);
+        iCardAuthorizationService.evict(cards.getCardNumber());
+        mobileNumberFilter.add(cards.getMobileNumber());
+        // a card moved to another mobile number must not be found under the old one on a lagging replica
+        readYourWritesTracker.recordWrite(previousMobileNumber);
+        readYourWritesTracker.recordWrite(cards.getMobileNumber());
         return true;
     }
 
@@ -109,10 +144,58 @@ public class CardServiceImpl implements  ICardsService{
      */
     @Override
     public boolean deleteCard(String mobileNumber) {
+        if (!mobileNumberFilter.mightContain(mobileNumber)) {
+            throw new ResourceNotFoundException("Card", "mobileNumber", mobileNumber);
+        }
         Cards cards = cardsRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 ()-> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber)
         );
         cardsRepository.deleteById(cards.getCardId());
+        iCardAuthorizationService.evict(cards.getCardNumber());
+        readYourWritesTracker.recordWrite(mobileNumber);
         return true;
     }
+
+    /**
+     * Fetches the card details of several customers at once.
+     *
+     * The distinct mobile numbers are resolved with IN queries of at most FETCH_BATCH_CHUNK_SIZE numbers each,
+     * instead of one query per mobile number. Mobile numbers without a card are mapped to null
+     * rather than raising a ResourceNotFoundException.
+     *
+     * @param mobileNumbers the mobile numbers of the customers whose cards are to be retrieved
+     * @return a map keyed by mobile number, in request order, with a null value for the ones not found
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, CardsDto> fetchCards(List<String> mobileNumbers) {
+        List<String> distinctNumbers = new ArrayList<>(new LinkedHashSet<>(mobileNumbers));
+        Map<String, CardsDto> result = new LinkedHashMap<>();
+        distinctNumbers.forEach(mobileNumber -> result.put(mobileNumber, null));
+        distinctNumbers.forEach(mobileNumber -> hotKeyTracker.record("mobileNumber", mobileNumber));
+
+        for (int from = 0; from < distinctNumbers.size(); from += CardsConstants.FETCH_BATCH_CHUNK_SIZE) {
+            List<String> chunk = distinctNumbers.subList(from,
+                    Math.min(from + CardsConstants.FETCH_BATCH_CHUNK_SIZE, distinctNumbers.size()));
+            cardsRepository.findByMobileNumberIn(chunk).forEach(
+                    cards -> result.put(cards.getMobileNumber(), CardsMapper.mapToCardsDto(cards, new CardsDto())));
+        }
+        return result;
+    }
+
+    /**
+     * Fetches only the last modification time of the card details of the given mobile number.
+     *
+     * @param mobileNumber the mobile number of the customer
+     * @return an Optional containing the last modification time, or an empty Optional if not found
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> fetchLastModified(String mobileNumber) {
+        if (!mobileNumberFilter.mightContain(mobileNumber)) {
+            return Optional.empty();
+        }
+        readYourWritesTracker.pinToPrimaryIfRecentlyWritten(mobileNumber);
+        return cardsRepository.findLastModifiedByMobileNumber(mobileNumber);
+    }
 }
@@ -0,0 +1,101 @@
+package com.gurpreet.cards.service;
+
+import com.gurpreet.cards.repository.CardsRepository;
+import com.gurpreet.cards.service.authorization.CardBalanceStore;
+import com.gurpreet.cards.service.statement.CardStatementPipeline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Generates the monthly card statements with a {@link CardStatementPipeline}, one run at a time.
+ */
+@Service
+public class CardStatementServiceImpl implements ICardStatementService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardStatementServiceImpl.class);
+
+    private final CardsRepository cardsRepository;
+
+    private final CardBalanceStore cardBalanceStore;
+
+    private final Path directory;
+
+    private final int chunkSize;
+
+    private final int renderers;
+
+    private final int queueCapacity;
+
+    private final long maxPartBytes;
+
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "card-statements"));
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter renderedStatements;
+
+    private final Timer runs;
+
+    public CardStatementServiceImpl(CardsRepository cardsRepository, CardBalanceStore cardBalanceStore,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${card-statements.directory:${java.io.tmpdir}/cards-statements}") Path directory,
+                                    @Value("${card-statements.chunk-size:1000}") int chunkSize,
+                                    @Value("${card-statements.renderers:2}") int renderers,
+                                    @Value("${card-statements.queue-capacity:4}") int queueCapacity,
+                                    @Value("${card-statements.max-part-bytes:268435456}") long maxPartBytes) {
+        this.cardsRepository = cardsRepository;
+        this.cardBalanceStore = cardBalanceStore;
+        this.directory = directory;
+        this.chunkSize = chunkSize;
+        this.renderers = renderers;
+        this.queueCapacity = queueCapacity;
+        this.maxPartBytes = maxPartBytes;
+
+        this.renderedStatements = Counter.builder("card.statements")
+                .description("Card statements rendered")
+                .register(meterRegistry);
+        this.runs = Timer.builder("card.statements.run")
+                .description("Statement generation of all the cards for one month")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean startStatements(YearMonth period) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        coordinator.execute(() -> {
+            long started = System.nanoTime();
+            try {
+                List<Path> files = runs.recordCallable(() -> new CardStatementPipeline(cardsRepository, cardBalanceStore,
+                        renderedStatements, period, directory, chunkSize, renderers, queueCapacity, maxPartBytes).run());
+                logger.info("Card statements of {} written to {} in {} ms", period, files,
+                        (System.nanoTime() - started) / 1_000_000);
+            } catch (Exception e) {
+                logger.error("Card statements of {} failed", period, e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+    }
+}
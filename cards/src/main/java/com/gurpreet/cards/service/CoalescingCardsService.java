@@ -0,0 +1,65 @@
+package com.gurpreet.cards.service;
+
+import com.gurpreet.cards.dto.CardsDto;
+import com.gurpreet.cards.mapper.CardsMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Coalescing layer in front of {@link CardServiceImpl}.
+ *
+ * During hot-key storms thousands of identical fetches arrive at the same time, they are collapsed
+ * into one in-flight query per mobile number. Writes are passed through unchanged.
+ */
+@Service
+@Primary
+public class CoalescingCardsService implements ICardsService {
+
+    private final CardServiceImpl cardServiceImpl;
+
+    private final SingleFlight<String, CardsDto> fetchCardFlight;
+
+    public CoalescingCardsService(CardServiceImpl cardServiceImpl, MeterRegistry meterRegistry) {
+        this.cardServiceImpl = cardServiceImpl;
+        this.fetchCardFlight = new SingleFlight<>("fetchCard", meterRegistry, CardsMapper::copyOf);
+    }
+
+    @Override
+    public void createCard(String mobileNumber) {
+        cardServiceImpl.createCard(mobileNumber);
+    }
+
+    /**
+     * Concurrent fetches for the same mobile number share a single database lookup.
+     */
+    @Override
+    public CardsDto fetchCard(String mobileNumber) {
+        return fetchCardFlight.execute(mobileNumber, () -> cardServiceImpl.fetchCard(mobileNumber));
+    }
+
+    @Override
+    public boolean updateCard(CardsDto cardsDto) {
+        return cardServiceImpl.updateCard(cardsDto);
+    }
+
+    @Override
+    public boolean deleteCard(String mobileNumber) {
+        return cardServiceImpl.deleteCard(mobileNumber);
+    }
+
+    @Override
+    public Map<String, CardsDto> fetchCards(List<String> mobileNumbers) {
+        return cardServiceImpl.fetchCards(mobileNumbers);
+    }
+
+    @Override
+    public Optional<LocalDateTime> fetchLastModified(String mobileNumber) {
+        return cardServiceImpl.fetchLastModified(mobileNumber);
+    }
+}
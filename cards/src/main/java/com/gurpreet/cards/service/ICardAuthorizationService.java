@@ -0,0 +1,23 @@
+package com.gurpreet.cards.service;
+
+import com.gurpreet.cards.dto.CardAuthorizationRequestDto;
+import com.gurpreet.cards.dto.CardAuthorizationResponseDto;
+
+public interface ICardAuthorizationService {
+
+    /**
+     * Approves the spend if the available amount of the card covers it, and holds the amount.
+     *
+     * @param requestDto the card number and the amount to be spent
+     * @return the outcome of the authorization and the available amount after it
+     */
+    CardAuthorizationResponseDto authorize(CardAuthorizationRequestDto requestDto);
+
+    /**
+     * Drops the in-memory balance of the given card once the current transaction commits (or right away
+     * without one), so that the next authorization reloads it from the database.
+     *
+     * @param cardNumber the card whose balance was changed outside of the authorizations
+     */
+    void evict(String cardNumber);
+}
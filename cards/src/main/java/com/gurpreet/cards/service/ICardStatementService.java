@@ -0,0 +1,14 @@
+package com.gurpreet.cards.service;
+
+import java.time.YearMonth;
+
+public interface ICardStatementService {
+
+    /**
+     * Starts generating the statements of every card for the given month in the background.
+     *
+     * @param period the month of the statements
+     * @return false if a statement generation is already running, true otherwise
+     */
+    boolean startStatements(YearMonth period);
+}
@@ -2,6 +2,11 @@ package com.gurpreet.cards.service;
 
 import com.gurpreet.cards.dto.CardsDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 public interface ICardsService {
 
     /**
@@ -49,4 +54,23 @@ public interface ICardsService {
      */
     boolean deleteCard(String mobileNumber);
 
+    /**
+     * Fetches the card details of several customers at once.
+     *
+     * @param mobileNumbers
+     *            the mobile numbers of the customers whose cards are to be retrieved
+     * @return a map keyed by mobile number, in request order, with a null value for
+     *         every mobile number which has no card
+     */
+    Map<String, CardsDto> fetchCards(List<String> mobileNumbers);
+
+    /**
+     * Fetches only the last modification time of the card details of the given mobile number,
+     * used as the validator of conditional fetch requests.
+     *
+     * @param mobileNumber
+     *            the mobile number of the customer
+     * @return an Optional containing the last modification time, or an empty Optional if not found
+     */
+    Optional<LocalDateTime> fetchLastModified(String mobileNumber);
 }
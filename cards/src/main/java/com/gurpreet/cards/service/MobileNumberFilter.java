@@ -0,0 +1,167 @@
+package com.gurpreet.cards.service;
+
+import com.gurpreet.cards.repository.CardsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter of the mobile numbers known to the service.
+ *
+ * A negative answer is definite, so create can skip its existence query and fetch/delete of an unknown
+ * mobile number can fail without going to the database. A positive answer may be wrong with the
+ * configured false-positive probability, the database is queried in that case.
+ *
+ * The filter is filled with a streaming scan of the table once the application is ready and updated on
+ * every create. Until the scan completes every mobile number is reported as possibly present.
+ * Deleted numbers are never removed, they only raise the false-positive rate until the next restart.
+ * All the writers of the table are expected to go through this service instance; with several instances
+ * sharing the table, mobile-filter.enabled must be false.
+ */
+@Component
+public class MobileNumberFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MobileNumberFilter.class);
+
+    private final CardsRepository cardsRepository;
+
+    private final boolean enabled;
+
+    private final AtomicLongArray bits;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    private final AtomicLong insertions = new AtomicLong();
+
+    private final Counter definiteNegatives;
+
+    private volatile boolean ready;
+
+    public MobileNumberFilter(CardsRepository cardsRepository, MeterRegistry meterRegistry,
+                              @Value("${mobile-filter.enabled:true}") boolean enabled,
+                              @Value("${mobile-filter.expected-insertions:1000000}") long expectedInsertions,
+                              @Value("${mobile-filter.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.cardsRepository = cardsRepository;
+        this.enabled = enabled;
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        AtomicLongArray bits = new AtomicLongArray((int) ((optimalBits + 63) / 64));
+        long bitCount = bits.length() * 64L;
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.bits = bits;
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+
+        this.definiteNegatives = Counter.builder("mobile.filter.negatives")
+                .description("Lookups answered by the filter without a database query")
+                .register(meterRegistry);
+        // the gauges observe the state they report rather than the filter, which is not fully constructed here
+        Gauge.builder("mobile.filter.false.positive.probability", insertions,
+                        count -> expectedFalsePositiveProbability(count.get(), hashCount, bitCount))
+                .register(meterRegistry);
+        Gauge.builder("mobile.filter.insertions", insertions, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("mobile.filter.memory", bits, array -> array.length() * 8L)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Fills the filter with a streaming scan of all the mobile numbers stored in the table.
+     * Runs as the first ApplicationReadyEvent listener, before the hot key warm-up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        try (Stream<String> mobileNumbers = cardsRepository.streamAllMobileNumbers()) {
+            mobileNumbers.forEach(this::add);
+        }
+        ready = true;
+        logger.info("Mobile number filter built with {} entries, {} bytes, expected false-positive probability {}",
+                insertions.get(), bits.length() * 8L, expectedFalsePositiveProbability(insertions.get(), hashCount, bitCount));
+    }
+
+    /**
+     * Records a mobile number which is now stored in the table.
+     *
+     * @param mobileNumber the mobile number to add
+     */
+    public void add(String mobileNumber) {
+        long hash = hash(mobileNumber);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+            long mask = 1L << index;
+            int word = (int) (index >>> 6);
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * @param mobileNumber the mobile number to look up
+     * @return false if the mobile number is definitely not stored, true if it may be stored
+     */
+    public boolean mightContain(String mobileNumber) {
+        if (!enabled || !ready) {
+            return true;
+        }
+        long hash = hash(mobileNumber);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                definiteNegatives.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double expectedFalsePositiveProbability(long insertions, int hashCount, long bitCount) {
+        return Math.pow(1 - Math.exp(-hashCount * (double) insertions / bitCount), hashCount);
+    }
+
+    /**
+     * 64-bit hash of the mobile number, the low and high halves are used for double hashing.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,170 @@
+package com.gurpreet.cards.service.authorization;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Local append-only journal of the approved spends which are not yet written to the database.
+ *
+ * Records are plain "cardNumber,version,amount" lines appended to numbered segment files. The
+ * write-behind rotates the segment before it drains the balances, so once the drained deltas are
+ * committed all the closed segments are covered by the checkpoints and can be deleted. On start
+ * every segment left over is replayed by the recovery.
+ *
+ * By default every record is forced to disk before append returns, so an acknowledged spend survives a
+ * host crash. Turning sync-on-append off only protects against a crash of the JVM.
+ */
+@Component
+public class AuthorizationJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthorizationJournal.class);
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /**
+     * One journaled spend.
+     */
+    public record Entry(String cardNumber, long version, long amount) {
+    }
+
+    private final Path directory;
+
+    private final boolean syncOnAppend;
+
+    private FileChannel channel;
+
+    private long segment;
+
+    private long segmentSize;
+
+    public AuthorizationJournal(
+            @Value("${card-authorization.journal.directory:${user.home}/cards-authorization-journal}") Path directory,
+            @Value("${card-authorization.journal.sync-on-append:true}") boolean syncOnAppend) {
+        this.directory = directory;
+        this.syncOnAppend = syncOnAppend;
+    }
+
+    /**
+     * Reads every record of the segments on disk, oldest first. A torn last line, left by a crash in
+     * the middle of an append, is skipped: that spend was never acknowledged.
+     */
+    public synchronized List<Entry> readAll() {
+        List<Entry> entries = new ArrayList<>();
+        for (Path path : segments()) {
+            try {
+                for (String line : Files.readAllLines(path, StandardCharsets.US_ASCII)) {
+                    String[] fields = line.split(",");
+                    if (fields.length != 3) {
+                        logger.warn("Skipping malformed journal record '{}' in {}", line, path.getFileName());
+                        continue;
+                    }
+                    entries.add(new Entry(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2])));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (NumberFormatException e) {
+                logger.warn("Skipping the rest of {}: {}", path.getFileName(), e.getMessage());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Opens a new segment after the last one on disk.
+     */
+    public synchronized void open() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> existing = segments();
+            segment = existing.isEmpty() ? 0 : segmentNumber(existing.getLast()) + 1;
+            openSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void append(String cardNumber, long version, long amount) throws IOException {
+        ByteBuffer record = ByteBuffer.wrap((cardNumber + ',' + version + ',' + amount + '\n')
+                .getBytes(StandardCharsets.US_ASCII));
+        while (record.hasRemaining()) {
+            segmentSize += channel.write(record);
+        }
+        if (syncOnAppend) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Closes the current segment and opens the next one, unless nothing was appended to it.
+     *
+     * @return the number of the last closed segment, -1 if there is none
+     */
+    public synchronized long rotate() throws IOException {
+        if (segmentSize == 0) {
+            return segment - 1;
+        }
+        channel.force(false);
+        channel.close();
+        long closed = segment++;
+        openSegment();
+        return closed;
+    }
+
+    /**
+     * Deletes the segments up to and including the given one.
+     */
+    public synchronized void deleteUpTo(long lastSegment) throws IOException {
+        for (Path path : segments()) {
+            if (segmentNumber(path) <= lastSegment) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    public synchronized void close() throws IOException {
+        if (channel != null && channel.isOpen()) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private void openSegment() throws IOException {
+        channel = FileChannel.open(directory.resolve(SEGMENT_PREFIX + segment + SEGMENT_SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentSize = channel.size();
+    }
+
+    private List<Path> segments() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted((a, b) -> Long.compare(segmentNumber(a), segmentNumber(b)))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
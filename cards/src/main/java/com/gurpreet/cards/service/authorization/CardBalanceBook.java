@@ -0,0 +1,179 @@
+package com.gurpreet.cards.service.authorization;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory balances of the cards which are being authorized, keyed by card number.
+ *
+ * Every card holds an immutable {@link State} which is replaced with compare-and-set, so authorizations
+ * never block each other: threads working on different cards touch different map bins and entries,
+ * and threads racing on the same card simply retry. Each approved spend moves the amount from the
+ * available balance to the pending delta and bumps the per-card version, in one atomic step; the
+ * write-behind drains the pending deltas together with the version they cover, which is what makes
+ * the journal replay exact.
+ *
+ * Cards are loaded from the database on their first authorization. All the authorizations of a card
+ * are expected to go through this service instance.
+ */
+@Component
+public class CardBalanceBook {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardBalanceBook.class);
+
+    /**
+     * @param available the amount that can still be spent
+     * @param pending the approved amount not yet written to the database
+     * @param version the number of approved spends of the card so far
+     * @param retired whether the entry has been evicted and must be reloaded
+     */
+    record State(long available, long pending, long version, boolean retired) {
+    }
+
+    private record CardBalance(long cardId, AtomicReference<State> state) {
+    }
+
+    /**
+     * The outcome of one authorization.
+     */
+    public record Authorization(boolean approved, long available, long version) {
+    }
+
+    /**
+     * An approved amount drained for the write-behind, covering all the spends up to the version.
+     */
+    public record Delta(String cardNumber, long cardId, long amount, long version) {
+    }
+
+    private final CardBalanceStore cardBalanceStore;
+
+    private final ConcurrentHashMap<String, CardBalance> balances = new ConcurrentHashMap<>();
+
+    public CardBalanceBook(CardBalanceStore cardBalanceStore) {
+        this.cardBalanceStore = cardBalanceStore;
+    }
+
+    /**
+     * Approves the amount if the available balance covers it.
+     *
+     * @param cardNumber the card to be charged
+     * @param amount the amount to be spent, greater than zero
+     * @return the outcome, or an empty Optional if the card does not exist
+     */
+    public Optional<Authorization> authorize(String cardNumber, long amount) {
+        while (true) {
+            CardBalance balance = balances.get(cardNumber);
+            if (balance == null) {
+                Optional<CardBalanceStore.StoredBalance> stored = cardBalanceStore.load(cardNumber);
+                if (stored.isEmpty()) {
+                    return Optional.empty();
+                }
+                CardBalance loaded = new CardBalance(stored.get().cardId(), new AtomicReference<>(
+                        new State(stored.get().available(), 0, stored.get().version(), false)));
+                balance = balances.computeIfAbsent(cardNumber, key -> loaded);
+            }
+            State current = balance.state().get();
+            if (current.retired()) {
+                balances.remove(cardNumber, balance);
+                continue;
+            }
+            if (current.available() < amount) {
+                return Optional.of(new Authorization(false, current.available(), current.version()));
+            }
+            State next = new State(current.available() - amount, current.pending() + amount, current.version() + 1, false);
+            if (balance.state().compareAndSet(current, next)) {
+                return Optional.of(new Authorization(true, next.available(), next.version()));
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Gives back an approved amount which could not be journaled. The reversal is a spend of its own
+     * (with a negative amount), so the versions stay consistent with what has already been drained.
+     */
+    public void reverse(String cardNumber, long amount) {
+        CardBalance balance = balances.get(cardNumber);
+        if (balance == null) {
+            return;
+        }
+        balance.state().updateAndGet(current -> new State(current.available() + amount, current.pending() - amount,
+                current.version() + 1, current.retired()));
+    }
+
+    /**
+     * Takes the pending deltas of all the cards, resetting them to zero.
+     *
+     * @return one delta per card with approved spends since the previous drain
+     */
+    public List<Delta> drain() {
+        List<Delta> deltas = new ArrayList<>();
+        balances.forEach((cardNumber, balance) -> {
+            State current;
+            do {
+                current = balance.state().get();
+                if (current.pending() == 0) {
+                    return;
+                }
+            } while (!balance.state().compareAndSet(current,
+                    new State(current.available(), 0, current.version(), current.retired())));
+            deltas.add(new Delta(cardNumber, balance.cardId(), current.pending(), current.version()));
+        });
+        return deltas;
+    }
+
+    /**
+     * Puts drained deltas back after the write-behind failed, they are retried with the next drain.
+     *
+     * @return the deltas of cards which are no longer held, they are only left in the journal
+     */
+    public List<Delta> restore(List<Delta> deltas) {
+        List<Delta> unrestored = new ArrayList<>();
+        for (Delta delta : deltas) {
+            CardBalance balance = balances.get(delta.cardNumber());
+            if (balance == null) {
+                logger.warn("Card {} was evicted with {} not written, left to the journal recovery",
+                        delta.cardNumber(), delta.amount());
+                unrestored.add(delta);
+                continue;
+            }
+            balance.state().updateAndGet(current -> new State(current.available(), current.pending() + delta.amount(),
+                    current.version(), current.retired()));
+        }
+        return unrestored;
+    }
+
+    /**
+     * Removes the card if it has nothing pending. The caller must make sure no drained delta of the card
+     * is still being written.
+     *
+     * @return false if the card still has a pending delta and must be flushed first
+     */
+    public boolean retire(String cardNumber) {
+        CardBalance balance = balances.get(cardNumber);
+        if (balance == null) {
+            return true;
+        }
+        State current;
+        do {
+            current = balance.state().get();
+            if (current.pending() != 0) {
+                return false;
+            }
+        } while (!balance.state().compareAndSet(current,
+                new State(current.available(), 0, current.version(), true)));
+        balances.remove(cardNumber, balance);
+        return true;
+    }
+
+    public int size() {
+        return balances.size();
+    }
+}
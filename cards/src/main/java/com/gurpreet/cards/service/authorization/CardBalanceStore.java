@@ -0,0 +1,155 @@
+package com.gurpreet.cards.service.authorization;
+
+import com.gurpreet.cards.entity.Cards;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Database side of the card authorizations.
+ *
+ * The write-behind applies the balance deltas relatively (available_amount - delta), so concurrent
+ * updates of the other card columns are not overwritten, and records in the same transaction the
+ * last version written per card in card_authorization_checkpoint. The journal recovery compares the
+ * journaled versions with these checkpoints to replay each spend exactly once.
+ *
+ * The update and delete APIs of every instance record the changed cards in card_balance_invalidation
+ * (with the database clock), which the instance holding the balances polls to drop the stale ones.
+ */
+@Component
+public class CardBalanceStore {
+
+    static final String AUDIT_USER = "CARDS_AUTH";
+
+    private static final String LOAD_SQL = """
+            select c.card_id, c.available_amount, coalesce(k.version, 0)
+            from cards c left join card_authorization_checkpoint k on k.card_number = c.card_number
+            where c.card_number = ?""";
+
+    private static final String UPDATE_BALANCE_SQL = """
+            update cards
+            set available_amount = available_amount - ?, amount_used = amount_used + ?, updated_at = ?, updated_by = ?
+            where card_number = ?""";
+
+    private static final String UPDATE_CHECKPOINT_SQL = """
+            insert into card_authorization_checkpoint (card_number, version) values (?, ?)
+            on duplicate key update version = greatest(version, values(version))""";
+
+    private static final String INVALIDATE_SQL = """
+            insert into card_balance_invalidation (card_number, invalidated_at) values (?, now(6))
+            on duplicate key update invalidated_at = now(6)""";
+
+    private static final String INVALIDATIONS_SQL = """
+            select card_number, invalidated_at from card_balance_invalidation where invalidated_at >= ?""";
+
+    /**
+     * @param cardId the primary key of the card
+     * @param available the available amount stored in the database
+     * @param version the last authorization version written for the card
+     */
+    public record StoredBalance(long cardId, long available, long version) {
+    }
+
+    /**
+     * @param cardNumber the card changed outside of the authorizations
+     * @param invalidatedAt the database time of the change
+     */
+    public record Invalidation(String cardNumber, LocalDateTime invalidatedAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CardBalanceStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public Optional<StoredBalance> load(String cardNumber) {
+        return jdbcTemplate.query(LOAD_SQL,
+                (rs, rowNum) -> new StoredBalance(rs.getLong(1), rs.getLong(2), rs.getLong(3)),
+                cardNumber).stream().findFirst();
+    }
+
+    /**
+     * @return the last version written per card number
+     */
+    public Map<String, Long> checkpoints() {
+        Map<String, Long> checkpoints = new HashMap<>();
+        jdbcTemplate.query("select card_number, version from card_authorization_checkpoint",
+                rs -> {
+                    checkpoints.put(rs.getString(1), rs.getLong(2));
+                });
+        return checkpoints;
+    }
+
+    /**
+     * @param cardNumbers the card numbers to look up
+     * @return the last version written for each of the given cards which was ever authorized
+     */
+    public Map<String, Long> checkpoints(List<String> cardNumbers) {
+        Map<String, Long> checkpoints = new HashMap<>();
+        if (cardNumbers.isEmpty()) {
+            return checkpoints;
+        }
+        String placeholders = String.join(",", Collections.nCopies(cardNumbers.size(), "?"));
+        jdbcTemplate.query("select card_number, version from card_authorization_checkpoint where card_number in ("
+                        + placeholders + ")",
+                rs -> {
+                    checkpoints.put(rs.getString(1), rs.getLong(2));
+                }, cardNumbers.toArray());
+        return checkpoints;
+    }
+
+    /**
+     * Writes the given deltas and their checkpoints in one transaction, with one JDBC batch per statement.
+     */
+    public void write(List<CardBalanceBook.Delta> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, deltas, deltas.size(), (ps, delta) -> {
+                ps.setLong(1, delta.amount());
+                ps.setLong(2, delta.amount());
+                ps.setTimestamp(3, now);
+                ps.setString(4, AUDIT_USER);
+                ps.setString(5, delta.cardNumber());
+            });
+            jdbcTemplate.batchUpdate(UPDATE_CHECKPOINT_SQL, deltas, deltas.size(), (ps, delta) -> {
+                ps.setString(1, delta.cardNumber());
+                ps.setLong(2, delta.version());
+            });
+        });
+        // the rows were changed behind Hibernate's back, drop them from the second-level cache
+        deltas.forEach(delta -> entityManagerFactory.getCache().evict(Cards.class, delta.cardId()));
+    }
+
+    /**
+     * Records that the card was changed outside of the authorizations, in the current transaction if any.
+     */
+    public void invalidate(String cardNumber) {
+        jdbcTemplate.update(INVALIDATE_SQL, cardNumber);
+    }
+
+    /**
+     * @return the cards changed outside of the authorizations at or after the given database time
+     */
+    public List<Invalidation> invalidations(LocalDateTime since) {
+        return jdbcTemplate.query(INVALIDATIONS_SQL,
+                (rs, rowNum) -> new Invalidation(rs.getString(1), rs.getTimestamp(2).toLocalDateTime()),
+                Timestamp.valueOf(since));
+    }
+}
@@ -0,0 +1,13 @@
+package com.gurpreet.cards.service.statement;
+
+import com.gurpreet.cards.repository.CardUtilization;
+
+/**
+ * A card joined with the data of its statement.
+ *
+ * @param card the utilization of the card
+ * @param authorizations the number of spends approved on the card since it was issued (not only in the period),
+ *                       0 if it was never authorized
+ */
+public record CardStatement(CardUtilization card, long authorizations) {
+}
@@ -0,0 +1,178 @@
+package com.gurpreet.cards.service.statement;
+
+import com.gurpreet.cards.repository.CardUtilization;
+import com.gurpreet.cards.repository.CardsRepository;
+import com.gurpreet.cards.service.authorization.CardBalanceStore;
+import io.micrometer.core.instrument.Counter;
+import org.springframework.data.domain.Limit;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One run of the statement generation, as four stages connected by bounded queues:
+ *
+ * read (keyset chunks of cards) -&gt; join (lifetime authorization counts of the chunk) -&gt; render (N threads)
+ * -&gt; write (gzip files through a FileChannel).
+ *
+ * A stage blocks on a full queue, so a slow writer throttles the renderers, which throttle the join and
+ * the read. At most about (3 * queue-capacity + renderers + 3) chunks are held at any time, whatever the
+ * number of cards. The end of the input travels through the queues as a marker; if any stage fails the
+ * others are interrupted and the parts written so far are deleted.
+ */
+public class CardStatementPipeline {
+
+    private static final List<CardUtilization> END_OF_CARDS = new ArrayList<>();
+    private static final List<CardStatement> END_OF_STATEMENTS = new ArrayList<>();
+    private static final byte[] END_OF_OUTPUT = new byte[0];
+
+    private final CardsRepository cardsRepository;
+
+    private final CardBalanceStore cardBalanceStore;
+
+    private final Counter renderedStatements;
+
+    private final YearMonth period;
+
+    private final int chunkSize;
+
+    private final int renderers;
+
+    private final BlockingQueue<List<CardUtilization>> cards;
+
+    private final BlockingQueue<List<CardStatement>> statements;
+
+    private final BlockingQueue<byte[]> output;
+
+    private final AtomicInteger runningRenderers;
+
+    private final StatementFileWriter writer;
+
+    private volatile List<Path> writtenFiles;
+
+    public CardStatementPipeline(CardsRepository cardsRepository, CardBalanceStore cardBalanceStore,
+                                 Counter renderedStatements, YearMonth period, Path directory, int chunkSize,
+                                 int renderers, int queueCapacity, long maxPartBytes) throws IOException {
+        this.cardsRepository = cardsRepository;
+        this.cardBalanceStore = cardBalanceStore;
+        this.renderedStatements = renderedStatements;
+        this.period = period;
+        this.chunkSize = chunkSize;
+        this.renderers = renderers;
+        this.cards = new ArrayBlockingQueue<>(queueCapacity);
+        this.statements = new ArrayBlockingQueue<>(queueCapacity);
+        this.output = new ArrayBlockingQueue<>(queueCapacity);
+        this.runningRenderers = new AtomicInteger(renderers);
+        this.writer = new StatementFileWriter(directory, period, maxPartBytes);
+    }
+
+    /**
+     * Runs all the stages and waits for them.
+     *
+     * @return the statement files written
+     */
+    public List<Path> run() throws IOException, InterruptedException {
+        ExecutorService stages = Executors.newFixedThreadPool(renderers + 3,
+                Thread.ofPlatform().name("card-statements-" + period + "-", 0).factory());
+        CompletionService<Void> completion = new ExecutorCompletionService<>(stages);
+        try {
+            completion.submit(stage(this::read));
+            completion.submit(stage(this::join));
+            for (int i = 0; i < renderers; i++) {
+                completion.submit(stage(this::render));
+            }
+            completion.submit(stage(this::write));
+            // waits in completion order, so the first failure stops the stages blocked on its queues
+            for (int i = 0; i < renderers + 3; i++) {
+                completion.take().get();
+            }
+            return writtenFiles;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Statement generation of " + period + " failed", e.getCause());
+        } finally {
+            stages.shutdownNow();
+            writer.close();
+        }
+    }
+
+    private void read() throws InterruptedException {
+        long afterCardId = 0;
+        while (true) {
+            List<CardUtilization> chunk = cardsRepository.findUtilizationAfter(afterCardId, Limit.of(chunkSize));
+            if (chunk.isEmpty()) {
+                cards.put(END_OF_CARDS);
+                return;
+            }
+            afterCardId = chunk.getLast().cardId();
+            cards.put(chunk);
+        }
+    }
+
+    private void join() throws InterruptedException {
+        while (true) {
+            List<CardUtilization> chunk = cards.take();
+            if (chunk == END_OF_CARDS) {
+                statements.put(END_OF_STATEMENTS);
+                return;
+            }
+            Map<String, Long> authorizations = cardBalanceStore.checkpoints(
+                    chunk.stream().map(CardUtilization::cardNumber).toList());
+            List<CardStatement> joined = new ArrayList<>(chunk.size());
+            for (CardUtilization card : chunk) {
+                joined.add(new CardStatement(card, authorizations.getOrDefault(card.cardNumber(), 0L)));
+            }
+            statements.put(joined);
+        }
+    }
+
+    private void render() throws InterruptedException {
+        while (true) {
+            List<CardStatement> chunk = statements.take();
+            if (chunk == END_OF_STATEMENTS) {
+                // hand the marker on to the other renderers, the last one to stop ends the output
+                statements.put(END_OF_STATEMENTS);
+                if (runningRenderers.decrementAndGet() == 0) {
+                    output.put(END_OF_OUTPUT);
+                }
+                return;
+            }
+            output.put(StatementRenderer.render(period, chunk));
+            renderedStatements.increment(chunk.size());
+        }
+    }
+
+    private void write() throws IOException, InterruptedException {
+        while (true) {
+            byte[] rendered = output.take();
+            if (rendered == END_OF_OUTPUT) {
+                writtenFiles = writer.finish();
+                return;
+            }
+            writer.write(rendered);
+        }
+    }
+
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    private static Callable<Void> stage(Stage stage) {
+        return () -> {
+            stage.run();
+            return null;
+        };
+    }
+}
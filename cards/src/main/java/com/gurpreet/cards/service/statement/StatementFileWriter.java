@@ -0,0 +1,133 @@
+package com.gurpreet.cards.service.statement;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes rendered statements to gzip compressed files through a FileChannel.
+ *
+ * The output is split in parts of at most maxPartBytes uncompressed bytes. The parts of a run are written
+ * to a "&lt;period&gt;.tmp" staging directory, which replaces the "&lt;period&gt;" directory once all of them
+ * are complete. A reader therefore sees either the previous run or the new one as a whole, never a partial run
+ * nor a mix of both, and a failed run leaves nothing behind.
+ * Not thread-safe: it is owned by the single writer stage of the pipeline.
+ */
+public class StatementFileWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path published;
+
+    private final Path staging;
+
+    private final YearMonth period;
+
+    private final long maxPartBytes;
+
+    private final List<Path> completedParts = new ArrayList<>();
+
+    private FileChannel channel;
+
+    private OutputStream output;
+
+    private Path partPath;
+
+    private int part;
+
+    private long partBytes;
+
+    public StatementFileWriter(Path directory, YearMonth period, long maxPartBytes) throws IOException {
+        this.published = Files.createDirectories(directory).resolve(period.toString());
+        this.staging = directory.resolve(period + ".tmp");
+        this.period = period;
+        this.maxPartBytes = maxPartBytes;
+        // left over by a run which was killed
+        deleteRecursively(staging);
+        Files.createDirectories(staging);
+    }
+
+    public void write(byte[] statements) throws IOException {
+        if (output == null || partBytes + statements.length > maxPartBytes && partBytes > 0) {
+            closePart();
+            openPart();
+        }
+        output.write(statements);
+        partBytes += statements.length;
+    }
+
+    /**
+     * Completes the current part and publishes the run in place of the previous one of the period.
+     *
+     * @return the paths of all the parts written
+     */
+    public List<Path> finish() throws IOException {
+        closePart();
+        Path previous = published.resolveSibling(period + ".old");
+        deleteRecursively(previous);
+        if (Files.exists(published)) {
+            Files.move(published, previous, StandardCopyOption.ATOMIC_MOVE);
+        }
+        Files.move(staging, published, StandardCopyOption.ATOMIC_MOVE);
+        deleteRecursively(previous);
+        return completedParts.stream().map(completed -> published.resolve(completed.getFileName())).toList();
+    }
+
+    /**
+     * Drops the parts of an unfinished run, used when the pipeline fails.
+     */
+    @Override
+    public void close() throws IOException {
+        if (output != null) {
+            channel.close();
+            output = null;
+        }
+        deleteRecursively(staging);
+    }
+
+    private void openPart() throws IOException {
+        part++;
+        partPath = staging.resolve(fileName() + ".tmp");
+        channel = FileChannel.open(partPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        output = new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+        partBytes = 0;
+    }
+
+    private void closePart() throws IOException {
+        if (output == null) {
+            return;
+        }
+        output.close();
+        output = null;
+        Path completed = staging.resolve(fileName());
+        Files.move(partPath, completed, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        completedParts.add(completed);
+    }
+
+    private String fileName() {
+        return String.format("statements-%s-part-%04d.txt.gz", period, part);
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path file : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
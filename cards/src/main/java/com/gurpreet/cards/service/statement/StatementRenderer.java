@@ -0,0 +1,50 @@
+package com.gurpreet.cards.service.statement;
+
+import com.gurpreet.cards.repository.CardUtilization;
+
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Renders card statements as plain text, one block per card separated by a blank line.
+ */
+public final class StatementRenderer {
+
+    private StatementRenderer() {
+        // restrict instantiation
+    }
+
+    /**
+     * Renders all the statements of a chunk into one buffer, so the writer stage handles one array per chunk.
+     *
+     * @param period the month of the statements
+     * @param statements the statements of the chunk
+     * @return the UTF-8 encoded statements
+     */
+    public static byte[] render(YearMonth period, List<CardStatement> statements) {
+        StringBuilder text = new StringBuilder(statements.size() * 256);
+        for (CardStatement statement : statements) {
+            CardUtilization card = statement.card();
+            int utilization = card.totalLimit() == 0 ? 0 : (int) (100L * card.amountUsed() / card.totalLimit());
+            text.append("STATEMENT ").append(period).append('\n')
+                    .append("Card number: ").append(mask(card.cardNumber())).append('\n')
+                    .append("Card type: ").append(card.cardType()).append('\n')
+                    .append("Mobile number: ").append(card.mobileNumber()).append('\n')
+                    .append("Total limit: ").append(card.totalLimit()).append('\n')
+                    .append("Amount used: ").append(card.amountUsed()).append('\n')
+                    .append("Available amount: ").append(card.availableAmount()).append('\n')
+                    .append("Utilization: ").append(utilization).append("%\n")
+                    .append("Authorized spends (lifetime): ").append(statement.authorizations()).append("\n\n");
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the card number with all but the last 4 digits masked
+     */
+    static String mask(String cardNumber) {
+        int visible = Math.min(4, cardNumber.length());
+        return "*".repeat(cardNumber.length() - visible) + cardNumber.substring(cardNumber.length() - visible);
+    }
+}
@@ -6,9 +6,46 @@ CREATE TABLE IF NOT EXISTS `cards` (
     `total_limit` int NOT NULL,
     `amount_used` int NOT NULL,
     `available_amount` int NOT NULL,
-    `created_at` date NOT NULL,
+    `created_at` datetime(6) NOT NULL,
     `created_by` varchar(20) NOT NULL,
-    `updated_at` date DEFAULT NULL,
+    `updated_at` datetime(6) DEFAULT NULL,
     `updated_by` varchar(20) DEFAULT NULL,
     PRIMARY KEY (`card_id`)
-    );
\ No newline at end of file
+    );
+
+-- the audit columns carry the validators of the fetch APIs (ETag/Last-Modified), they need sub-second precision
+-- one-time migration of the tables created before: only altered while a column is still a date or less precise
+SET @widen_cards = (SELECT IF(COUNT(*) > 0,
+    'ALTER TABLE `cards` MODIFY `created_at` datetime(6) NOT NULL, MODIFY `updated_at` datetime(6) DEFAULT NULL',
+    'DO 0')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'cards'
+    AND COLUMN_NAME IN ('created_at', 'updated_at')
+    AND (DATA_TYPE <> 'datetime' OR DATETIME_PRECISION < 6));
+PREPARE widen_cards FROM @widen_cards;
+EXECUTE widen_cards;
+DEALLOCATE PREPARE widen_cards;
+
+-- last authorization version written per card by the write-behind, compared with the journal on recovery
+CREATE TABLE IF NOT EXISTS `card_authorization_checkpoint` (
+    `card_number` varchar(100) NOT NULL,
+    `version` bigint NOT NULL,
+    PRIMARY KEY (`card_number`)
+    );
+
+-- cards changed by the update and delete APIs of any instance, polled by the instance holding the balances
+CREATE TABLE IF NOT EXISTS `card_balance_invalidation` (
+    `card_number` varchar(100) NOT NULL,
+    `invalidated_at` datetime(6) NOT NULL,
+    PRIMARY KEY (`card_number`),
+    KEY `idx_card_balance_invalidation_at` (`invalidated_at`)
+    );
+
+-- heavy hitters saved by every instance, replayed at startup to warm the caches before readiness
+CREATE TABLE IF NOT EXISTS `hot_key_snapshot` (
+    `kind` varchar(30) NOT NULL,
+    `key_value` varchar(100) NOT NULL,
+    `estimate` bigint NOT NULL,
+    `saved_at` datetime(6) NOT NULL,
+    PRIMARY KEY (`kind`, `key_value`)
+    );
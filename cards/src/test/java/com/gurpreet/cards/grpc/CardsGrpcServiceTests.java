@@ -0,0 +1,121 @@
+package com.gurpreet.cards.grpc;
+
+import com.gurpreet.cards.dto.CardsDto;
+import com.gurpreet.cards.exception.CardAlreadyExistsException;
+import com.gurpreet.cards.grpc.proto.Card;
+import com.gurpreet.cards.grpc.proto.CardsServiceGrpc;
+import com.gurpreet.cards.grpc.proto.MobileNumberRequest;
+import com.gurpreet.cards.grpc.proto.MobileNumbersRequest;
+import com.gurpreet.cards.service.ICardsService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CardsGrpcServiceTests {
+
+    private final ICardsService iCardsService = mock(ICardsService.class);
+
+    private Server server;
+
+    private ManagedChannel channel;
+
+    private CardsServiceGrpc.CardsServiceBlockingStub stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(new CardsGrpcService(iCardsService,
+                        Validation.buildDefaultValidatorFactory().getValidator()))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+        stub = CardsServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void fetchCardReturnsCard() {
+        when(iCardsService.fetchCard("8929014488")).thenReturn(card("8929014488"));
+
+        Card card = stub.fetchCard(MobileNumberRequest.newBuilder().setMobileNumber("8929014488").build());
+
+        assertThat(card.getCardNumber()).isEqualTo("008929014488");
+        assertThat(card.getAvailableAmount()).isEqualTo(90000);
+    }
+
+    @Test
+    void createCardMapsAlreadyExists() {
+        doThrow(new CardAlreadyExistsException("Card already registered with given mobileNumber 8929014488"))
+                .when(iCardsService).createCard("8929014488");
+
+        assertThatThrownBy(() -> stub.createCard(MobileNumberRequest.newBuilder().setMobileNumber("8929014488").build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.ALREADY_EXISTS));
+    }
+
+    @Test
+    void updateCardRejectsInvalidCard() {
+        Card invalid = Card.newBuilder().setMobileNumber("8929014488").setCardNumber("123").setCardType("Credit Card").build();
+
+        assertThatThrownBy(() -> stub.updateCard(invalid))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+        verify(iCardsService, never()).updateCard(any());
+    }
+
+    @Test
+    void fetchCardsStreamsKnownCardsInOrder() {
+        Map<String, CardsDto> result = new LinkedHashMap<>();
+        result.put("1111111111", card("1111111111"));
+        result.put("2222222222", null);
+        result.put("3333333333", card("3333333333"));
+        when(iCardsService.fetchCards(List.of("1111111111", "2222222222", "3333333333"))).thenReturn(result);
+
+        List<String> mobileNumbers = new ArrayList<>();
+        stub.fetchCards(MobileNumbersRequest.newBuilder()
+                        .addMobileNumbers("1111111111").addMobileNumbers("2222222222").addMobileNumbers("3333333333")
+                        .build())
+                .forEachRemaining(card -> mobileNumbers.add(card.getMobileNumber()));
+
+        assertThat(mobileNumbers).containsExactly("1111111111", "3333333333");
+    }
+
+    private static CardsDto card(String mobileNumber) {
+        CardsDto cardsDto = new CardsDto();
+        cardsDto.setMobileNumber(mobileNumber);
+        cardsDto.setCardNumber("00" + mobileNumber);
+        cardsDto.setCardType("Credit Card");
+        cardsDto.setTotalLimit(100000);
+        cardsDto.setAmountUsed(10000);
+        cardsDto.setAvailableAmount(90000);
+        return cardsDto;
+    }
+}
@@ -0,0 +1,36 @@
+package com.gurpreet.cards.hotkey;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotKeyTrackerTests {
+
+    private final HotKeyTracker hotKeyTracker = new HotKeyTracker(new SimpleMeterRegistry(), true,
+            Set.of("mobileNumber", "cardNumber", "customerId"), 4, 1024, 10, Duration.ofMinutes(1));
+
+    @Test
+    void onlyWellFormedKeysAreCounted() {
+        hotKeyTracker.record("cardNumber", "100012345678");
+        hotKeyTracker.record("cardNumber", "100012");
+        hotKeyTracker.record("cardNumber", "1000123456780");
+        hotKeyTracker.record("cardNumber", "10001234567x");
+        hotKeyTracker.record("cardNumber", "x".repeat(1000));
+        hotKeyTracker.record("cardNumber", "");
+
+        assertThat(hotKeyTracker.heavyHitters("cardNumber"))
+                .containsExactly(new HotKeySketch.HeavyHitter("100012345678", 1));
+    }
+
+    @Test
+    void keysOfAKindWithoutAFormatAreNotCounted() {
+        hotKeyTracker.record("customerId", "42");
+
+        assertThat(hotKeyTracker.heavyHitters("customerId")).isEmpty();
+        assertThat(hotKeyTracker.report()).isEmpty();
+    }
+}
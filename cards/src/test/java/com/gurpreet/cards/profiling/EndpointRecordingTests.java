@@ -0,0 +1,108 @@
+package com.gurpreet.cards.profiling;
+
+import com.gurpreet.cards.controller.CardsController;
+import com.gurpreet.cards.dto.CardsDto;
+import com.gurpreet.cards.service.ICardAuthorizationService;
+import com.gurpreet.cards.service.ICardStatementService;
+import com.gurpreet.cards.service.ICardsService;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EndpointRecordingTests {
+
+    private static final String MOBILE_NUMBER = "9876543210";
+
+    private static final String ENDPOINT = "CardsController.fetchCardDetails";
+
+    @TempDir
+    Path directory;
+
+    private final SqlStatementCounter sqlStatementCounter = new SqlStatementCounter();
+
+    private final ICardsService service = mock(ICardsService.class);
+
+    private EndpointRecording endpointRecording;
+
+    private EndpointRecordingEndpoint endpoint;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        endpointRecording = new EndpointRecording(directory, Duration.ofMinutes(5), DataSize.ofMegabytes(10));
+        endpoint = new EndpointRecordingEndpoint(endpointRecording);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                        new CardsController(service, mock(ICardAuthorizationService.class), mock(ICardStatementService.class)))
+                .addInterceptors(new EndpointProfilingInterceptor(sqlStatementCounter))
+                .build();
+        when(service.fetchLastModified(MOBILE_NUMBER)).thenReturn(Optional.empty());
+        when(service.fetchCard(MOBILE_NUMBER)).thenAnswer(invocation -> {
+            sqlStatementCounter.inspect("select * from cards where mobile_number = ?");
+            return new CardsDto();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpointRecording.close();
+    }
+
+    @Test
+    void summarizesTheControllerCallsMadeWhileRecording() throws Exception {
+        // not recorded, no recording has the event enabled yet
+        mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER)).andExpect(status().isOk());
+
+        assertThat(endpoint.control("start")).containsEntry("recording", true);
+        mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER)).andExpect(status().isOk());
+
+        Map<?, ?> fetch = awaitEndpoint(ENDPOINT);
+        assertThat(fetch.get("calls")).isEqualTo(1L);
+        assertThat(fetch.get("errors")).isEqualTo(0L);
+        assertThat(fetch.get("sqlStatements")).isEqualTo(1L);
+        assertThat((Long) fetch.get("allocatedBytes")).isPositive();
+
+        Map<String, Object> stopped = endpoint.control("stop");
+        assertThat(stopped).containsEntry("recording", false);
+        assertThat(Path.of((String) stopped.get("file"))).exists().hasParent(directory);
+        assertThat(stopped.get("endpoints")).asInstanceOf(InstanceOfAssertFactories.MAP).containsOnlyKeys(ENDPOINT);
+    }
+
+    @Test
+    void unknownActionIsRejected() {
+        assertThatThrownBy(() -> endpoint.control("pause")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(endpoint.summary()).containsEntry("recording", false);
+    }
+
+    /**
+     * Waits for the recording stream to deliver the events of the given endpoint, it flushes about once a second.
+     */
+    private Map<?, ?> awaitEndpoint(String name) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            Map<?, ?> endpoints = (Map<?, ?>) endpoint.summary().get("endpoints");
+            if (endpoints.containsKey(name)) {
+                return (Map<?, ?>) endpoints.get(name);
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("No event of " + name + " was recorded");
+    }
+}
@@ -0,0 +1,137 @@
+package com.gurpreet.cards.service;
+
+import com.gurpreet.cards.dto.CardAuthorizationRequestDto;
+import com.gurpreet.cards.hotkey.HotKeyTracker;
+import com.gurpreet.cards.service.authorization.AuthorizationJournal;
+import com.gurpreet.cards.service.authorization.CardBalanceBook;
+import com.gurpreet.cards.service.authorization.CardBalanceStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CardAuthorizationServiceImplTests {
+
+    private static final String CARD = "100646930341";
+
+    private final CardBalanceStore cardBalanceStore = mock(CardBalanceStore.class);
+
+    @TempDir
+    Path journalDirectory;
+
+    @Test
+    void recoveryWritesOnlyTheSpendsNewerThanTheCheckpoint() throws Exception {
+        AuthorizationJournal previousRun = new AuthorizationJournal(journalDirectory, false);
+        previousRun.open();
+        previousRun.append(CARD, 11, 100);
+        previousRun.append(CARD, 12, 40);
+        previousRun.append(CARD, 13, 5);
+        previousRun.close();
+        when(cardBalanceStore.checkpoints()).thenReturn(Map.of(CARD, 11L));
+        when(cardBalanceStore.load(CARD)).thenReturn(Optional.of(new CardBalanceStore.StoredBalance(7, 900, 11)));
+
+        CardAuthorizationServiceImpl service = service();
+        service.start();
+        service.stop();
+
+        verify(cardBalanceStore).write(List.of(new CardBalanceBook.Delta(CARD, 7, 45, 13)));
+        assertThat(new AuthorizationJournal(journalDirectory, false).readAll()).isEmpty();
+    }
+
+    @Test
+    void recoverySkipsAJournalFullyCoveredByTheCheckpoint() throws Exception {
+        AuthorizationJournal previousRun = new AuthorizationJournal(journalDirectory, false);
+        previousRun.open();
+        previousRun.append(CARD, 11, 100);
+        previousRun.close();
+        when(cardBalanceStore.checkpoints()).thenReturn(Map.of(CARD, 11L));
+
+        CardAuthorizationServiceImpl service = service();
+        service.start();
+        service.stop();
+
+        verify(cardBalanceStore, never()).write(any());
+    }
+
+    @Test
+    void failedFlushKeepsTheJournalAndRetriesTheDelta() throws Exception {
+        when(cardBalanceStore.checkpoints()).thenReturn(Map.of());
+        when(cardBalanceStore.load(CARD)).thenReturn(Optional.of(new CardBalanceStore.StoredBalance(7, 900, 0)));
+        CardAuthorizationServiceImpl service = service();
+        service.start();
+        try {
+            CardAuthorizationRequestDto requestDto = new CardAuthorizationRequestDto();
+            requestDto.setCardNumber(CARD);
+            requestDto.setAmount(100);
+            service.authorize(requestDto);
+            doThrow(new IllegalStateException("database down")).doNothing().when(cardBalanceStore).write(any());
+
+            assertThatThrownBy(service::flush).isInstanceOf(IllegalStateException.class);
+            assertThat(new AuthorizationJournal(journalDirectory, false).readAll())
+                    .containsExactly(new AuthorizationJournal.Entry(CARD, 1, 100));
+
+            service.flush();
+            verify(cardBalanceStore, times(2)).write(List.of(new CardBalanceBook.Delta(CARD, 7, 100, 1)));
+            assertThat(new AuthorizationJournal(journalDirectory, false).readAll()).isEmpty();
+        } finally {
+            service.stop();
+        }
+    }
+
+    @Test
+    void updateOnAnotherInstanceIsAuthorizedAgainstTheReloadedBalance() throws Exception {
+        when(cardBalanceStore.checkpoints()).thenReturn(Map.of());
+        when(cardBalanceStore.load(CARD))
+                .thenReturn(Optional.of(new CardBalanceStore.StoredBalance(7, 900, 0)))
+                .thenReturn(Optional.of(new CardBalanceStore.StoredBalance(7, 4900, 1)));
+        CardAuthorizationServiceImpl service = service();
+        service.start();
+        try {
+            assertThat(service.authorize(authorization(100)).getAvailableAmount()).isEqualTo(800);
+
+            // another instance raised the available amount and recorded the invalidation
+            when(cardBalanceStore.invalidations(any()))
+                    .thenReturn(List.of(new CardBalanceStore.Invalidation(CARD, LocalDateTime.now())));
+            service.flush();
+
+            assertThat(service.authorize(authorization(100)).getAvailableAmount()).isEqualTo(4800);
+            verify(cardBalanceStore, times(2)).load(CARD);
+
+            // the same invalidation seen again by the overlapping poll does not retire the card twice
+            service.flush();
+            assertThat(service.authorize(authorization(100)).getAvailableAmount()).isEqualTo(4700);
+            verify(cardBalanceStore, times(2)).load(CARD);
+        } finally {
+            service.stop();
+        }
+    }
+
+    private static CardAuthorizationRequestDto authorization(int amount) {
+        CardAuthorizationRequestDto requestDto = new CardAuthorizationRequestDto();
+        requestDto.setCardNumber(CARD);
+        requestDto.setAmount(amount);
+        return requestDto;
+    }
+
+    private CardAuthorizationServiceImpl service() {
+        return new CardAuthorizationServiceImpl(new CardBalanceBook(cardBalanceStore),
+                new AuthorizationJournal(journalDirectory, false), cardBalanceStore, mock(HotKeyTracker.class),
+                new SimpleMeterRegistry(), Duration.ofHours(1), Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,126 @@
+package com.gurpreet.cards.service;
+
+import com.gurpreet.cards.dto.CardsDto;
+import com.gurpreet.cards.mapper.CardsMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTests {
+
+    private static final String MOBILE_NUMBER = "4354437687";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SingleFlight<String, CardsDto> singleFlight =
+            new SingleFlight<>("fetch", meterRegistry, CardsMapper::copyOf);
+
+    @Test
+    void followersShareOneLoadAndGetTheirOwnCopy() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<CardsDto> leader = executor.submit(() -> singleFlight.execute(MOBILE_NUMBER, blockingLoad(loads, release)));
+            awaitInFlight(loads);
+            Future<CardsDto> follower = executor.submit(() -> singleFlight.execute(MOBILE_NUMBER, () -> {
+                throw new AssertionError("the follower must not load");
+            }));
+            // the leader is only released once the follower has joined its call
+            awaitFollowers(1);
+            release.countDown();
+
+            CardsDto leaderResult = leader.get(5, TimeUnit.SECONDS);
+            CardsDto followerResult = follower.get(5, TimeUnit.SECONDS);
+            assertThat(loads).hasValue(1);
+            assertThat(followerResult).isNotSameAs(leaderResult).isEqualTo(leaderResult);
+            followerResult.setMobileNumber("0000000000");
+            assertThat(leaderResult.getMobileNumber()).isEqualTo(MOBILE_NUMBER);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void anErrorOfTheLoaderReachesTheFollowers() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<CardsDto> leader = executor.submit(() -> singleFlight.execute(MOBILE_NUMBER, () -> {
+                loads.incrementAndGet();
+                await(release);
+                throw new StackOverflowError();
+            }));
+            awaitInFlight(loads);
+            Future<CardsDto> follower = executor.submit(() -> singleFlight.execute(MOBILE_NUMBER, () -> null));
+            // the leader is only released once the follower has joined its call
+            awaitFollowers(1);
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void nothingIsKeptOnceTheCallCompleted() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute(MOBILE_NUMBER, () -> dto(loads));
+        singleFlight.execute(MOBILE_NUMBER, () -> dto(loads));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private static Supplier<CardsDto> blockingLoad(AtomicInteger loads, CountDownLatch release) {
+        return () -> {
+            CardsDto dto = dto(loads);
+            await(release);
+            return dto;
+        };
+    }
+
+    private static CardsDto dto(AtomicInteger loads) {
+        loads.incrementAndGet();
+        CardsDto dto = new CardsDto();
+        dto.setMobileNumber(MOBILE_NUMBER);
+        return dto;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitInFlight(AtomicInteger loads) throws InterruptedException {
+        while (loads.get() == 0) {
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Waits until the given number of callers have found the call in flight, which they count before joining it.
+     */
+    private void awaitFollowers(int followers) throws InterruptedException {
+        while (meterRegistry.get("fetch.coalescing.calls").tag("role", "follower").counter().count() < followers) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.gurpreet.cards.service.authorization;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CardBalanceBookTests {
+
+    private static final String CARD = "100646930341";
+
+    private final CardBalanceStore cardBalanceStore = mock(CardBalanceStore.class);
+
+    private CardBalanceBook cardBalanceBook;
+
+    @BeforeEach
+    void setUp() {
+        when(cardBalanceStore.load(CARD)).thenReturn(Optional.of(new CardBalanceStore.StoredBalance(7, 1000, 10)));
+        cardBalanceBook = new CardBalanceBook(cardBalanceStore);
+    }
+
+    @Test
+    void authorizeApprovesWithinTheAvailableAmountAndDeclinesAbove() {
+        CardBalanceBook.Authorization approved = cardBalanceBook.authorize(CARD, 600).orElseThrow();
+        CardBalanceBook.Authorization declined = cardBalanceBook.authorize(CARD, 600).orElseThrow();
+
+        assertThat(approved.approved()).isTrue();
+        assertThat(approved.available()).isEqualTo(400);
+        assertThat(approved.version()).isEqualTo(11);
+        assertThat(declined.approved()).isFalse();
+        assertThat(declined.available()).isEqualTo(400);
+        verify(cardBalanceStore, times(1)).load(CARD);
+    }
+
+    @Test
+    void authorizeReturnsEmptyForUnknownCard() {
+        when(cardBalanceStore.load("1")).thenReturn(Optional.empty());
+
+        assertThat(cardBalanceBook.authorize("1", 10)).isEmpty();
+        assertThat(cardBalanceBook.size()).isZero();
+    }
+
+    @Test
+    void concurrentAuthorizationsNeverSpendMoreThanAvailable() throws Exception {
+        int threads = 8;
+        int spendsPerThread = 500;
+        AtomicInteger approved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < spendsPerThread; j++) {
+                        if (cardBalanceBook.authorize(CARD, 1).orElseThrow().approved()) {
+                            approved.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<CardBalanceBook.Delta> deltas = cardBalanceBook.drain();
+        assertThat(approved.get()).isEqualTo(1000);
+        assertThat(deltas).containsExactly(new CardBalanceBook.Delta(CARD, 7, 1000, 1010));
+    }
+
+    @Test
+    void drainTakesThePendingAmountOnce() {
+        cardBalanceBook.authorize(CARD, 100);
+        cardBalanceBook.authorize(CARD, 50);
+
+        assertThat(cardBalanceBook.drain()).containsExactly(new CardBalanceBook.Delta(CARD, 7, 150, 12));
+        assertThat(cardBalanceBook.drain()).isEmpty();
+    }
+
+    @Test
+    void restorePutsTheDeltaBackForTheNextDrain() {
+        cardBalanceBook.authorize(CARD, 100);
+        List<CardBalanceBook.Delta> deltas = cardBalanceBook.drain();
+        cardBalanceBook.authorize(CARD, 20);
+
+        assertThat(cardBalanceBook.restore(deltas)).isEmpty();
+        assertThat(cardBalanceBook.drain()).containsExactly(new CardBalanceBook.Delta(CARD, 7, 120, 12));
+    }
+
+    @Test
+    void restoreReportsDeltasOfCardsNoLongerHeld() {
+        CardBalanceBook.Delta delta = new CardBalanceBook.Delta("200000000000", 8, 30, 3);
+
+        assertThat(cardBalanceBook.restore(List.of(delta))).containsExactly(delta);
+    }
+
+    @Test
+    void retireRefusesWhileSomethingIsPendingAndReloadsAfterwards() {
+        cardBalanceBook.authorize(CARD, 100);
+
+        assertThat(cardBalanceBook.retire(CARD)).isFalse();
+        cardBalanceBook.drain();
+        assertThat(cardBalanceBook.retire(CARD)).isTrue();
+        assertThat(cardBalanceBook.size()).isZero();
+
+        when(cardBalanceStore.load(CARD)).thenReturn(Optional.of(new CardBalanceStore.StoredBalance(7, 900, 11)));
+        CardBalanceBook.Authorization authorization = cardBalanceBook.authorize(CARD, 100).orElseThrow();
+        assertThat(authorization.available()).isEqualTo(800);
+        assertThat(authorization.version()).isEqualTo(12);
+    }
+}
@@ -0,0 +1,79 @@
+package com.gurpreet.cards.service.statement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementFileWriterTests {
+
+    private static final YearMonth PERIOD = YearMonth.of(2026, 9);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void publishesThePartsOfARunOnlyOnceFinished() throws IOException {
+        try (StatementFileWriter writer = new StatementFileWriter(directory, PERIOD, 10)) {
+            writer.write(bytes("first part"));
+            writer.write(bytes("second part"));
+            assertThat(directory.resolve("2026-09")).doesNotExist();
+
+            List<Path> parts = writer.finish();
+
+            assertThat(parts).containsExactly(
+                    directory.resolve("2026-09").resolve("statements-2026-09-part-0001.txt.gz"),
+                    directory.resolve("2026-09").resolve("statements-2026-09-part-0002.txt.gz"));
+            assertThat(parts).allMatch(Files::exists);
+        }
+        assertThat(files()).containsExactly("2026-09");
+    }
+
+    @Test
+    void failedRunLeavesNothingBehind() throws IOException {
+        try (StatementFileWriter writer = new StatementFileWriter(directory, PERIOD, 10)) {
+            writer.write(bytes("first part"));
+            writer.write(bytes("second part"));
+        }
+
+        assertThat(files()).isEmpty();
+    }
+
+    @Test
+    void newRunReplacesAllThePartsOfThePreviousOne() throws IOException {
+        try (StatementFileWriter writer = new StatementFileWriter(directory, PERIOD, 10)) {
+            writer.write(bytes("first part"));
+            writer.write(bytes("second part"));
+            writer.write(bytes("third part"));
+            writer.finish();
+        }
+        try (StatementFileWriter writer = new StatementFileWriter(directory, PERIOD, 10)) {
+            writer.write(bytes("only part"));
+            writer.finish();
+        }
+
+        assertThat(files()).containsExactly("2026-09");
+        try (Stream<Path> parts = Files.list(directory.resolve("2026-09"))) {
+            assertThat(parts.map(part -> part.getFileName().toString()))
+                    .containsExactly("statements-2026-09-part-0001.txt.gz");
+        }
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).toList();
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,183 @@
+package com.gurpreet.configserver.encryption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.encryption.EnvironmentEncryptor;
+import org.springframework.cloud.config.server.encryption.TextEncryptorLocator;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Replacement for the default CipherEnvironmentEncryptor which keeps the plain text of every
+ * {cipher} value it has already decrypted.
+ *
+ * Values are cached per key version (the {key:...} prefix of the cipher value, or "default"),
+ * so serving the same environment again costs a map lookup per property instead of a
+ * symmetric decryption. All the cache misses of one environment are collected first and
+ * decrypted in a single pass, each distinct cipher text only once.
+ *
+ * When the encrypt.* properties are refreshed the key has been rotated, so the cache is dropped
+ * and the values are lazily decrypted again with the new key on the next fetch.
+ */
+@Component
+public class CachingEnvironmentEncryptor implements EnvironmentEncryptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingEnvironmentEncryptor.class);
+
+    private static final String CIPHER_PREFIX = "{cipher}";
+    private static final String DEFAULT_KEY_VERSION = "default";
+    private static final String INVALID_VALUE = "<n/a>";
+
+    private final TextEncryptorLocator encryptorLocator;
+
+    private final int maxEntries;
+
+    private final boolean prefixInvalidProperties;
+
+    private final Map<String, String> decryptedValues = new ConcurrentHashMap<>();
+
+    public CachingEnvironmentEncryptor(TextEncryptorLocator encryptorLocator,
+                                       @Value("${encrypt.cache.max-entries:10000}") int maxEntries,
+                                       @Value("${spring.cloud.config.server.encrypt.prefixInvalidProperties:${spring.cloud.config.server.encrypt.prefix-invalid-properties:true}}")
+                                       boolean prefixInvalidProperties) {
+        this.encryptorLocator = encryptorLocator;
+        this.maxEntries = maxEntries;
+        this.prefixInvalidProperties = prefixInvalidProperties;
+    }
+
+    /**
+     * Decrypts all the {cipher} values of the given environment.
+     *
+     * Values which fail to decrypt are reported the same way the default encryptor reports them: as
+     * "invalid.&lt;name&gt;" with the value "&lt;n/a&gt;", or with spring.cloud.config.server.encrypt.prefix-invalid-properties
+     * set to false, under their own name with the cipher text stripped of its {cipher} prefix.
+     *
+     * @param environment the environment loaded from the repository
+     * @return a copy of the environment with plain text values
+     */
+    @Override
+    public Environment decrypt(Environment environment) {
+        // the values of this call are resolved into a local map, the shared cache may be cleared concurrently
+        Map<String, String> resolved = new HashMap<>();
+        Map<String, String> misses = new HashMap<>();
+        for (PropertySource source : environment.getPropertySources()) {
+            for (Object value : source.getSource().values()) {
+                if (isCipher(value)) {
+                    String cipherValue = value.toString().substring(CIPHER_PREFIX.length());
+                    String cacheKey = cacheKey(cipherValue);
+                    String plainText = decryptedValues.get(cacheKey);
+                    if (plainText != null) {
+                        resolved.put(cacheKey, plainText);
+                    } else {
+                        misses.put(cacheKey, cipherValue);
+                    }
+                }
+            }
+        }
+        decryptAll(misses, resolved);
+
+        Environment result = new Environment(environment.getName(), environment.getProfiles(),
+                environment.getLabel(), environment.getVersion(), environment.getState());
+        for (PropertySource source : environment.getPropertySources()) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : source.getSource().entrySet()) {
+                Object value = entry.getValue();
+                if (!isCipher(value)) {
+                    map.put(entry.getKey(), value);
+                    continue;
+                }
+                String cipherValue = value.toString().substring(CIPHER_PREFIX.length());
+                String plainText = resolved.get(cacheKey(cipherValue));
+                if (plainText != null) {
+                    map.put(entry.getKey(), plainText);
+                } else if (prefixInvalidProperties) {
+                    map.put("invalid." + entry.getKey(), INVALID_VALUE);
+                } else {
+                    map.put(entry.getKey(), cipherValue);
+                }
+            }
+            result.add(new PropertySource(source.getName(), map));
+        }
+        return result;
+    }
+
+    /**
+     * Drops every cached value when the encryption key configuration changes.
+     *
+     * @param event the refresh event carrying the changed property names
+     */
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().anyMatch(key -> key.startsWith("encrypt."))) {
+            logger.info("Encryption key changed, evicting {} cached decrypted values", decryptedValues.size());
+            decryptedValues.clear();
+        }
+    }
+
+    /**
+     * Decrypts the given cache misses, each distinct cipher text only once, and stores the results both in
+     * the values resolved for the current call and in the shared cache.
+     */
+    private void decryptAll(Map<String, String> misses, Map<String, String> resolved) {
+        if (misses.isEmpty()) {
+            return;
+        }
+        if (decryptedValues.size() + misses.size() > maxEntries) {
+            decryptedValues.clear();
+        }
+        misses.forEach((cacheKey, cipherValue) -> {
+            try {
+                Map<String, String> keys = new HashMap<>();
+                String cipherText = stripPrefixes(cipherValue, keys);
+                String plainText = encryptorLocator.locate(keys).decrypt(cipherText);
+                resolved.put(cacheKey, plainText);
+                decryptedValues.put(cacheKey, plainText);
+            } catch (Exception e) {
+                logger.warn("Cannot decrypt value for key version {}: {}", keyVersion(cipherValue), e.getMessage());
+            }
+        });
+    }
+
+    private static boolean isCipher(Object value) {
+        return value != null && value.toString().startsWith(CIPHER_PREFIX);
+    }
+
+    private static String cacheKey(String cipherValue) {
+        return keyVersion(cipherValue) + ':' + cipherValue;
+    }
+
+    /**
+     * @return the name given in a leading {key:...} prefix, or "default" when the value has none
+     */
+    private static String keyVersion(String cipherValue) {
+        Map<String, String> keys = new HashMap<>();
+        stripPrefixes(cipherValue, keys);
+        return keys.getOrDefault("key", DEFAULT_KEY_VERSION);
+    }
+
+    /**
+     * Removes the leading {name:value} prefixes of a cipher value and collects them into the keys map.
+     */
+    private static String stripPrefixes(String cipherValue, Map<String, String> keys) {
+        String value = cipherValue;
+        while (value.startsWith("{") && value.indexOf('}') > 0) {
+            String prefix = value.substring(1, value.indexOf('}'));
+            int separator = prefix.indexOf(':');
+            if (separator < 0) {
+                break;
+            }
+            keys.put(prefix.substring(0, separator), prefix.substring(separator + 1));
+            value = value.substring(value.indexOf('}') + 1);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,133 @@
+package com.gurpreet.configserver.encryption;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.encryption.TextEncryptorLocator;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingEnvironmentEncryptorTests {
+
+    /**
+     * Records every decryption; the plain text is the key version followed by the reversed cipher text,
+     * and cipher texts starting with "bad" cannot be decrypted.
+     */
+    private final List<String> decrypted = new ArrayList<>();
+
+    private final TextEncryptorLocator locator = keys -> new TextEncryptor() {
+        @Override
+        public String encrypt(String text) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String decrypt(String encryptedText) {
+            if (encryptedText.startsWith("bad")) {
+                throw new IllegalStateException("Cannot decrypt");
+            }
+            String keyVersion = keys.getOrDefault("key", "default");
+            decrypted.add(keyVersion + ':' + encryptedText);
+            return keyVersion + '-' + new StringBuilder(encryptedText).reverse();
+        }
+    };
+
+    private CachingEnvironmentEncryptor encryptor;
+
+    @BeforeEach
+    void setUp() {
+        encryptor = new CachingEnvironmentEncryptor(locator, 10_000, true);
+    }
+
+    @Test
+    void decryptedValuesAreServedFromTheCache() {
+        Environment environment = environment(Map.of(
+                "db.password", "{cipher}abc",
+                "mq.password", "{cipher}abc",
+                "server.port", "8080"));
+
+        Map<Object, Object> first = source(encryptor.decrypt(environment));
+        Map<Object, Object> second = source(encryptor.decrypt(environment));
+
+        assertThat(first).containsEntry("db.password", "default-cba")
+                .containsEntry("mq.password", "default-cba")
+                .containsEntry("server.port", "8080");
+        assertThat(second).isEqualTo(first);
+        assertThat(decrypted).containsExactly("default:abc");
+    }
+
+    @Test
+    void sameCipherTextIsCachedPerKeyVersion() {
+        Map<Object, Object> source = source(encryptor.decrypt(environment(Map.of(
+                "old.password", "{cipher}{key:v1}abc",
+                "new.password", "{cipher}{key:v2}abc"))));
+
+        assertThat(source).containsEntry("old.password", "v1-cba").containsEntry("new.password", "v2-cba");
+        assertThat(decrypted).containsExactlyInAnyOrder("v1:abc", "v2:abc");
+    }
+
+    @Test
+    void cacheIsEvictedWhenTheEncryptionKeyChanges() {
+        Environment environment = environment(Map.of("db.password", "{cipher}abc"));
+        encryptor.decrypt(environment);
+
+        encryptor.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("server.port")));
+        encryptor.decrypt(environment);
+        assertThat(decrypted).hasSize(1);
+
+        encryptor.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("encrypt.key")));
+        encryptor.decrypt(environment);
+        assertThat(decrypted).containsExactly("default:abc", "default:abc");
+    }
+
+    @Test
+    void cacheIsClearedInsteadOfGrowingPastItsBound() {
+        encryptor = new CachingEnvironmentEncryptor(locator, 2, true);
+        Environment first = environment(Map.of("a", "{cipher}aaa", "b", "{cipher}bbb"));
+
+        encryptor.decrypt(first);
+        encryptor.decrypt(environment(Map.of("c", "{cipher}ccc")));
+        encryptor.decrypt(first);
+
+        // caching "ccc" would have exceeded the bound, so "aaa" and "bbb" were dropped and decrypted again
+        assertThat(decrypted).hasSize(5).containsOnlyOnce("default:ccc");
+        assertThat(decrypted.subList(3, 5)).containsExactlyInAnyOrder("default:aaa", "default:bbb");
+    }
+
+    @Test
+    void undecryptableValueIsPublishedAsInvalid() {
+        Map<Object, Object> source = source(encryptor.decrypt(environment(Map.of("db.password", "{cipher}bad"))));
+
+        assertThat(source).containsOnly(Map.entry("invalid.db.password", "<n/a>"));
+    }
+
+    @Test
+    void undecryptableValueKeepsItsNameWithoutThePrefixFlag() {
+        encryptor = new CachingEnvironmentEncryptor(locator, 10_000, false);
+
+        Map<Object, Object> source = source(encryptor.decrypt(environment(Map.of("db.password", "{cipher}{key:v1}bad"))));
+
+        assertThat(source).containsOnly(Map.entry("db.password", "{key:v1}bad"));
+    }
+
+    private static Environment environment(Map<String, String> properties) {
+        Environment environment = new Environment("accounts", "default");
+        environment.add(new PropertySource("accounts.yml", new LinkedHashMap<>(properties)));
+        return environment;
+    }
+
+    private static Map<Object, Object> source(Environment environment) {
+        @SuppressWarnings("unchecked")
+        Map<Object, Object> source = (Map<Object, Object>) environment.getPropertySources().get(0).getSource();
+        return source;
+    }
+}
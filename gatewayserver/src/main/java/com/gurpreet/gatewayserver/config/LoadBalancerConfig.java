@@ -0,0 +1,13 @@
+package com.gurpreet.gatewayserver.config;
+
+import com.gurpreet.gatewayserver.loadbalancer.LeastLoadedLoadBalancerConfiguration;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Uses the least loaded instance selection for every lb:// route of the gateway.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LeastLoadedLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
@@ -0,0 +1,43 @@
+package com.gurpreet.gatewayserver.config;
+
+import com.gurpreet.gatewayserver.ratelimit.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Rate limiting beans referenced by the RequestRateLimiter filters of the routes.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter(ConfigurationService configurationService,
+            @Value("${gateway.rate-limit.replenish-rate:50}") int replenishRate,
+            @Value("${gateway.rate-limit.burst-capacity:100}") int burstCapacity,
+            @Value("${gateway.rate-limit.max-clients:100000}") long maxClients,
+            @Value("${gateway.rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        TokenBucketRateLimiter.Config defaultConfig = new TokenBucketRateLimiter.Config();
+        defaultConfig.setReplenishRate(replenishRate);
+        defaultConfig.setBurstCapacity(burstCapacity);
+        return new TokenBucketRateLimiter(configurationService, defaultConfig, maxClients, idleTimeout);
+    }
+
+    /**
+     * Identifies the client by its remote address. A header sent by the caller is not trusted as the key,
+     * otherwise every new value would get a fresh bucket.
+     */
+    @Bean
+    public KeyResolver clientKeyResolver() {
+        return exchange -> Mono.just(Optional.ofNullable(exchange.getRequest().getRemoteAddress())
+                .map(InetSocketAddress::getHostString)
+                .orElse("anonymous"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.gurpreet.gatewayserver.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the outstanding requests and recent failures of every upstream instance.
+ *
+ * The outstanding requests are counted by the {@link OutstandingRequestsFilter}, which sees every terminal
+ * signal of an exchange. The gateway reports the completion of every load-balanced exchange through the
+ * {@link LoadBalancerLifecycle} callbacks. An instance which fails (connection error or 5xx)
+ * consecutive-failures times in a row is ejected for the ejection duration; it is then
+ * given traffic again and ejected once more if it keeps failing. This complements the periodic
+ * health checks, which only notice a broken instance at their next interval.
+ */
+@Component
+public class InstanceStatsRegistry implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstanceStatsRegistry.class);
+
+    private final int consecutiveFailures;
+
+    private final long ejectionNanos;
+
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public InstanceStatsRegistry(@Value("${gateway.loadbalancer.ejection.consecutive-failures:5}") int consecutiveFailures,
+                                 @Value("${gateway.loadbalancer.ejection.duration:30s}") Duration ejectionDuration) {
+        this.consecutiveFailures = consecutiveFailures;
+        this.ejectionNanos = ejectionDuration.toNanos();
+    }
+
+    // raw types are part of the LoadBalancerLifecycle signature, a parameterized override would not compile
+    @Override
+    @SuppressWarnings("rawtypes")
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (completionContext.status() == CompletionContext.Status.DISCARD || lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        ServiceInstance instance = lbResponse.getServer();
+        InstanceStats instanceStats = statsOf(instance);
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED
+                || (completionContext.getClientResponse() instanceof ResponseData responseData
+                && responseData.getHttpStatus() != null && responseData.getHttpStatus().is5xxServerError());
+        if (!failed) {
+            instanceStats.failures.set(0);
+        } else if (instanceStats.failures.incrementAndGet() >= consecutiveFailures) {
+            instanceStats.failures.set(0);
+            instanceStats.ejectedUntilNanos = System.nanoTime() + ejectionNanos;
+            logger.warn("Ejecting {} {} after {} consecutive failures", instance.getServiceId(), key(instance), consecutiveFailures);
+        }
+    }
+
+    /**
+     * @return the given instances which are not currently ejected
+     */
+    public List<ServiceInstance> available(List<ServiceInstance> instances) {
+        long now = System.nanoTime();
+        return instances.stream()
+                .filter(instance -> statsOf(instance).ejectedUntilNanos - now <= 0)
+                .toList();
+    }
+
+    /**
+     * Counts one more outstanding request on the instance.
+     *
+     * @return releases the request, only the first call has an effect
+     */
+    public Runnable acquire(ServiceInstance instance) {
+        AtomicInteger outstanding = statsOf(instance).outstanding;
+        outstanding.incrementAndGet();
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                outstanding.decrementAndGet();
+            }
+        };
+    }
+
+    public int outstanding(ServiceInstance instance) {
+        return statsOf(instance).outstanding.get();
+    }
+
+    private InstanceStats statsOf(ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), key -> new InstanceStats());
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + '@' + instance.getHost() + ':' + instance.getPort();
+    }
+
+    private static final class InstanceStats {
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private volatile long ejectedUntilNanos = System.nanoTime();
+    }
+}
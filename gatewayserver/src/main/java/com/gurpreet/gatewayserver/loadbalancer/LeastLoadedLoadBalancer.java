@@ -0,0 +1,99 @@
+package com.gurpreet.gatewayserver.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the upstream instance with the fewest outstanding requests of this gateway.
+ *
+ * With {@link Strategy#POWER_OF_TWO_CHOICES} two random instances are compared, which is almost as
+ * good as a full scan and avoids every gateway instance herding onto the same least loaded upstream.
+ * {@link Strategy#LEAST_OUTSTANDING} scans all the instances. Ejected instances are skipped unless
+ * every instance is ejected, in which case all of them are used rather than failing every request.
+ */
+public class LeastLoadedLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    public enum Strategy {
+        POWER_OF_TWO_CHOICES,
+        LEAST_OUTSTANDING
+    }
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+
+    private final InstanceStatsRegistry instanceStatsRegistry;
+
+    private final Strategy strategy;
+
+    public LeastLoadedLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                   InstanceStatsRegistry instanceStatsRegistry, Strategy strategy) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.instanceStatsRegistry = instanceStatsRegistry;
+        this.strategy = strategy;
+    }
+
+    // the raw Request is part of the ReactorLoadBalancer signature, as in RoundRobinLoadBalancer
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        List<ServiceInstance> candidates = instanceStatsRegistry.available(instances);
+        if (candidates.isEmpty()) {
+            candidates = instances;
+        }
+        if (candidates.size() == 1) {
+            return new DefaultResponse(candidates.get(0));
+        }
+        return new DefaultResponse(strategy == Strategy.POWER_OF_TWO_CHOICES
+                ? powerOfTwoChoices(candidates)
+                : leastOutstanding(candidates));
+    }
+
+    private ServiceInstance powerOfTwoChoices(List<ServiceInstance> candidates) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return instanceStatsRegistry.outstanding(b) < instanceStatsRegistry.outstanding(a) ? b : a;
+    }
+
+    /**
+     * Full scan starting at a random offset, so ties are spread instead of always hitting the first instance.
+     */
+    private ServiceInstance leastOutstanding(List<ServiceInstance> candidates) {
+        int offset = ThreadLocalRandom.current().nextInt(candidates.size());
+        ServiceInstance best = null;
+        int bestOutstanding = Integer.MAX_VALUE;
+        for (int i = 0; i < candidates.size(); i++) {
+            ServiceInstance instance = candidates.get((offset + i) % candidates.size());
+            int outstanding = instanceStatsRegistry.outstanding(instance);
+            if (outstanding < bestOutstanding) {
+                best = instance;
+                bestOutstanding = outstanding;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,40 @@
+package com.gurpreet.gatewayserver.loadbalancer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service load balancer configuration, registered through @LoadBalancerClients in
+ * LoadBalancerConfig. It is deliberately not annotated with @Configuration: the beans live in the
+ * child context of each service and must not be picked up by component scanning.
+ *
+ * The instances come from the discovery client (the instance lists served by the configserver)
+ * and are filtered by the periodic health checks before the least loaded one is chosen.
+ */
+public class LeastLoadedLoadBalancerConfiguration {
+
+    @Bean
+    public ServiceInstanceListSupplier serviceInstanceListSupplier(ConfigurableApplicationContext context) {
+        return ServiceInstanceListSupplier.builder()
+                .withDiscoveryClient()
+                .withHealthChecks()
+                .build(context);
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(Environment environment,
+            LoadBalancerClientFactory loadBalancerClientFactory, InstanceStatsRegistry instanceStatsRegistry,
+            @Value("${gateway.loadbalancer.strategy:power-of-two-choices}") String strategy) {
+        String name = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LeastLoadedLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(name, ServiceInstanceListSupplier.class),
+                instanceStatsRegistry,
+                LeastLoadedLoadBalancer.Strategy.valueOf(strategy.toUpperCase().replace('-', '_')));
+    }
+}
@@ -0,0 +1,101 @@
+package com.gurpreet.gatewayserver.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * In-memory token bucket per route and client key, used by the RequestRateLimiter filter.
+ *
+ * Each client starts with a full bucket of burstCapacity tokens which is refilled at replenishRate
+ * tokens per second, computed lazily from the time elapsed since the previous request. The buckets
+ * of idle clients are evicted, so the number of tracked clients stays bounded. The limits are per
+ * gateway instance; the route arguments are bound from "token-bucket-rate-limiter.*".
+ */
+public class TokenBucketRateLimiter extends AbstractRateLimiter<TokenBucketRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "token-bucket-rate-limiter";
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+
+    private final Config defaultConfig;
+
+    private final Cache<String, Bucket> buckets;
+
+    public TokenBucketRateLimiter(ConfigurationService configurationService, Config defaultConfig,
+                                  long maxClients, Duration idleTimeout) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.defaultConfig = defaultConfig;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        Bucket bucket = buckets.get(routeId + ':' + id, key -> new Bucket(config.getBurstCapacity(), System.nanoTime()));
+        long remaining = bucket.tryConsume(config, System.nanoTime());
+        Map<String, String> headers = Map.of(
+                REMAINING_HEADER, String.valueOf(Math.max(remaining, 0)),
+                REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+                BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()),
+                REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()));
+        return Mono.just(new Response(remaining >= 0, headers));
+    }
+
+    @Data
+    public static class Config {
+
+        /**
+         * Tokens added to the bucket per second.
+         */
+        private int replenishRate = 50;
+
+        /**
+         * Maximum number of tokens, i.e. the largest burst a client may send at once.
+         */
+        private int burstCapacity = 100;
+
+        /**
+         * Tokens taken by one request.
+         */
+        private int requestedTokens = 1;
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+
+        private long lastRefillNanos;
+
+        private Bucket(double tokens, long nowNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = nowNanos;
+        }
+
+        /**
+         * @return the tokens left after taking the requested ones, or -1 when the request is denied
+         */
+        private synchronized long tryConsume(Config config, long nowNanos) {
+            double refill = (nowNanos - lastRefillNanos) * config.getReplenishRate() / 1_000_000_000d;
+            tokens = Math.min(config.getBurstCapacity(), tokens + refill);
+            lastRefillNanos = nowNanos;
+            if (tokens < config.getRequestedTokens()) {
+                return -1;
+            }
+            tokens -= config.getRequestedTokens();
+            return (long) tokens;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.gurpreet.gatewayserver.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.net.InetSocketAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitConfigTests {
+
+    private final KeyResolver keyResolver = new RateLimitConfig().clientKeyResolver();
+
+    @Test
+    void keysOnTheRemoteAddressWhateverHeaderTheCallerSends() {
+        assertThat(resolve("first")).isEqualTo("10.0.0.7");
+        assertThat(resolve("second")).isEqualTo("10.0.0.7");
+    }
+
+    @Test
+    void fallsBackToOneSharedKeyWithoutRemoteAddress() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/cards/api/fetch"));
+
+        assertThat(keyResolver.resolve(exchange).block()).isEqualTo("anonymous");
+    }
+
+    private String resolve(String clientId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/cards/api/fetch")
+                .header("X-Client-Id", clientId)
+                .remoteAddress(new InetSocketAddress("10.0.0.7", 50000)));
+        return keyResolver.resolve(exchange).block();
+    }
+}
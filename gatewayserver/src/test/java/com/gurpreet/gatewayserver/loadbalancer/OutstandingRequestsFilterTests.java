@@ -0,0 +1,71 @@
+package com.gurpreet.gatewayserver.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OutstandingRequestsFilterTests {
+
+    private final ServiceInstance instance = new DefaultServiceInstance("cards-1", "cards", "cards", 9000, false);
+
+    private final InstanceStatsRegistry instanceStatsRegistry = new InstanceStatsRegistry(5, Duration.ofSeconds(30));
+
+    private final OutstandingRequestsFilter filter = new OutstandingRequestsFilter(instanceStatsRegistry);
+
+    @Test
+    void countsTheExchangeUntilItCompletes() {
+        MockServerWebExchange exchange = exchange();
+
+        filter.filter(exchange, ignored -> {
+            assertThat(instanceStatsRegistry.outstanding(instance)).isEqualTo(1);
+            return Mono.empty();
+        }).block();
+
+        assertThat(instanceStatsRegistry.outstanding(instance)).isZero();
+    }
+
+    @Test
+    void releasesAFailedExchange() {
+        Mono<Void> filtered = filter.filter(exchange(), ignored -> Mono.error(new IllegalStateException("reset")));
+
+        assertThatThrownBy(filtered::block).isInstanceOf(IllegalStateException.class);
+        assertThat(instanceStatsRegistry.outstanding(instance)).isZero();
+    }
+
+    @Test
+    void releasesACancelledExchange() {
+        Disposable subscription = filter.filter(exchange(), ignored -> Mono.never()).subscribe();
+        assertThat(instanceStatsRegistry.outstanding(instance)).isEqualTo(1);
+
+        subscription.dispose();
+
+        assertThat(instanceStatsRegistry.outstanding(instance)).isZero();
+    }
+
+    @Test
+    void releaseOnlyCountsOnce() {
+        Runnable release = instanceStatsRegistry.acquire(instance);
+
+        release.run();
+        release.run();
+
+        assertThat(instanceStatsRegistry.outstanding(instance)).isZero();
+    }
+
+    private MockServerWebExchange exchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/cards/api/fetch"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR, new DefaultResponse(instance));
+        return exchange;
+    }
+}
@@ -0,0 +1,20 @@
+-- Seeds loansdb with one million loans for the batch benchmarks (interest accrual, schedule recompute).
+-- mysql -h 127.0.0.1 -P 3307 -uroot -proot loansdb < bench/seed-loans.sql
+SET SESSION cte_max_recursion_depth = 1000000;
+
+INSERT INTO `loans` (`mobile_number`, `loan_number`, `loan_type`, `total_loan`, `amount_paid`, `outstanding_amount`,
+                     `created_at`, `created_by`)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1
+    UNION ALL
+    SELECT n + 1 FROM seq WHERE n < 1000000
+)
+SELECT LPAD(9000000000 + n, 10, '0'),
+       LPAD(800000000000 + n, 12, '0'),
+       'Home Loan',
+       100000,
+       n % 50000,
+       100000 - n % 50000,
+       NOW(6),
+       'BENCH'
+FROM seq;
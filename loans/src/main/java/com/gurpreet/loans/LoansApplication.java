@@ -1,5 +1,6 @@
 package com.gurpreet.loans;
 
+import com.gurpreet.loans.config.LoansRuntimeHints;
 import com.gurpreet.loans.dto.LoansContactInfoDto;
 import io.swagger.v3.oas.annotations.ExternalDocumentation;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
@@ -8,11 +9,12 @@ import io.swagger.v3.oas.annotations.info.Contact;
 import io.swagger.v3.oas.annotations.info.Info;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
-import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
-@EnableJpaAuditing(auditorAwareRef = "auditAwareImpl")
+@ImportRuntimeHints(LoansRuntimeHints.class)
 @EnableConfigurationProperties(value = LoansContactInfoDto.class)
 @OpenAPIDefinition(
         info = @Info(
@@ -36,6 +38,9 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 )
 public class LoansApplication {
     public static void main(String[] args) {
-        SpringApplication.run(LoansApplication.class, args);
+        SpringApplication application = new SpringApplication(LoansApplication.class);
+        // keeps the startup steps for the /actuator/startup report
+        application.setApplicationStartup(new BufferingApplicationStartup(2048));
+        application.run(args);
     }
 }
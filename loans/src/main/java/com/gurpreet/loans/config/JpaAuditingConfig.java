@@ -0,0 +1,14 @@
+package com.gurpreet.loans.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+/**
+ * Auditing of the created/updated columns for the blocking (JPA) stack.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableJpaAuditing(auditorAwareRef = "auditAwareImpl")
+public class JpaAuditingConfig {
+}
@@ -0,0 +1,61 @@
+package com.gurpreet.loans.config;
+
+import com.gurpreet.loans.dto.ErrorResponseDto;
+import com.gurpreet.loans.dto.InstallmentDto;
+import com.gurpreet.loans.dto.LoanScheduleDto;
+import com.gurpreet.loans.dto.LoansContactInfoDto;
+import com.gurpreet.loans.dto.LoansDto;
+import com.gurpreet.loans.dto.ResponseDto;
+import com.gurpreet.loans.entity.BaseEntity;
+import com.gurpreet.loans.entity.Loans;
+import com.gurpreet.loans.repository.LoanBalance;
+import com.gurpreet.loans.repository.LoansNaturalIdRepositoryImpl;
+import com.gurpreet.loans.repository.LoansRepository;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints used by the fast-start (Spring AOT) build of the loans service.
+ *
+ * Lombok generates the accessors of the entities and DTOs at compile time, Hibernate and Jackson
+ * then reach them reflectively, so they are registered with all their members.
+ */
+public class LoansRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> ENTITIES = List.of(
+            Loans.class,
+            BaseEntity.class
+    );
+
+    private static final List<Class<?>> DTOS = List.of(
+            LoansDto.class,
+            LoanScheduleDto.class,
+            InstallmentDto.class,
+            ResponseDto.class,
+            ErrorResponseDto.class,
+            LoansContactInfoDto.class
+    );
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            LoansRepository.class,
+            LoanBalance.class,
+            LoansNaturalIdRepositoryImpl.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        ENTITIES.forEach(type -> hints.reflection().registerType(type, MemberCategory.values()));
+        DTOS.forEach(type -> hints.reflection().registerType(type, MemberCategory.values()));
+        REPOSITORIES.forEach(type -> hints.reflection().registerType(type,
+                MemberCategory.INTROSPECT_PUBLIC_METHODS, MemberCategory.INVOKE_PUBLIC_METHODS));
+
+        // springdoc serves the OpenAPI document and the bundled swagger-ui assets
+        hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+        hints.resources().registerPattern("META-INF/swagger-ui.version");
+        hints.resources().registerPattern("schema.sql");
+        hints.resources().registerPattern("ehcache.xml");
+    }
+}
@@ -0,0 +1,22 @@
+package com.gurpreet.loans.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.ReactiveAuditorAware;
+import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+import reactor.core.publisher.Mono;
+
+/**
+ * Auditing of the created/updated columns for the reactive (R2DBC) stack, see application-reactive.yml.
+ */
+@Configuration
+@Profile("reactive")
+@EnableR2dbcAuditing(auditorAwareRef = "reactiveAuditAware")
+public class ReactiveStackConfig {
+
+    @Bean
+    public ReactiveAuditorAware<String> reactiveAuditAware() {
+        return () -> Mono.just("LOANS_MS");
+    }
+}
@@ -0,0 +1,14 @@
+package com.gurpreet.loans.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled batch jobs of the loans service (the nightly interest accrual).
+ */
+@Configuration
+@Profile("!reactive")
+@EnableScheduling
+public class SchedulingConfig {
+}
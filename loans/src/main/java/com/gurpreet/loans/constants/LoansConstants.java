@@ -15,6 +15,15 @@ public final class LoansConstants {
     public static final String STATUS_417 = "417";
     public static final String MESSAGE_417_UPDATE = "Update Operation failed. Please try again or contact Dev Team";
     public static final String MESSAGE_417_DELETE = "Delete Operation failed. Please try again or contact Dev Team";
+    public static final int MAX_FETCH_BATCH_SIZE = 1000;
+    public static final int FETCH_BATCH_CHUNK_SIZE = 200;
+    public static final String STATUS_202 = "202";
+    public static final String MESSAGE_202_RECOMPUTE = "Loan schedule recompute started";
+    public static final String STATUS_409 = "409";
+    public static final String MESSAGE_409_RECOMPUTE = "Loan schedule recompute already running";
+    public static final String MESSAGE_202_ACCRUAL = "Interest accrual started";
+    public static final String MESSAGE_409_ACCRUAL = "Interest accrual already running";
+    public static final String MESSAGE_503 = "Service is busy. Please retry after some time";
     //public static final String STATUS_500 = "500";
     //public static final String MESSAGE_500 = "An Error occured. Please try again or contact Dev Team";
 }
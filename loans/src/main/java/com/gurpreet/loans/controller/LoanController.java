@@ -2,9 +2,12 @@ package com.gurpreet.loans.controller;
 
 import com.gurpreet.loans.constants.LoansConstants;
 import com.gurpreet.loans.dto.ErrorResponseDto;
+import com.gurpreet.loans.dto.LoanScheduleDto;
 import com.gurpreet.loans.dto.LoansContactInfoDto;
 import com.gurpreet.loans.dto.LoansDto;
 import com.gurpreet.loans.dto.ResponseDto;
+import com.gurpreet.loans.service.IInterestAccrualService;
+import com.gurpreet.loans.service.ILoanScheduleService;
 import com.gurpreet.loans.service.ILoansService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,16 +15,29 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 @Tag(
@@ -29,14 +45,22 @@ import io.swagger.v3.oas.annotations.tags.Tag;
         description = "CRUD REST APIs in Bank to CREATE, UPDATE, FETCH AND DELETE Loan details"
 )
 @RestController
-@RequestMapping(path ="/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+@Profile("!reactive")
+@RequestMapping(path ="/api", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
 @Validated
 public class LoanController {
 
     private ILoansService iLoansService;
 
-    public LoanController(ILoansService iLoansService){
+    private ILoanScheduleService iLoanScheduleService;
+
+    private IInterestAccrualService iInterestAccrualService;
+
+    public LoanController(ILoansService iLoansService, ILoanScheduleService iLoanScheduleService,
+                          IInterestAccrualService iInterestAccrualService){
         this.iLoansService = iLoansService;
+        this.iLoanScheduleService = iLoanScheduleService;
+        this.iInterestAccrualService = iInterestAccrualService;
     }
 
     @Value("${build.version}")
@@ -103,12 +127,51 @@ public class LoanController {
     @GetMapping("/fetch")
     public ResponseEntity<LoansDto> fetchLoanDetails(@RequestParam
                                                         @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
-                                                         String mobileNumber){
+                                                         String mobileNumber,
+                                                         WebRequest webRequest){
+        Optional<LocalDateTime> lastModified = iLoansService.fetchLastModified(mobileNumber);
+        if (lastModified.isPresent()) {
+            long lastModifiedMillis = lastModified.get().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            // answers If-None-Match/If-Modified-Since with 304 without loading the loan details
+            if (webRequest.checkNotModified(eTag(lastModified.get()), lastModifiedMillis)) {
+                return null;
+            }
+        }
 
         LoansDto loansDto = iLoansService.fetchLoan(mobileNumber);
         return ResponseEntity.status(HttpStatus.OK).body(loansDto);
     }
 
+    /**
+     * Fetches the loan details of up to MAX_FETCH_BATCH_SIZE customers in one call.
+     *
+     * @param mobileNumbers the mobile numbers of the customers whose loans are to be retrieved
+     * @return a map keyed by mobile number, with a null value for every mobile number which has no loan
+     */
+    @Operation(
+            summary = "Fetch Loan Details in batch REST API",
+            description = "REST API to fetch Loan details of several customers based on a list of mobile numbers"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping("/fetch-batch")
+    public ResponseEntity<Map<String, LoansDto>> fetchLoansDetails(@RequestBody
+                                                                 @Size(max = LoansConstants.MAX_FETCH_BATCH_SIZE, message = "At most " + LoansConstants.MAX_FETCH_BATCH_SIZE + " mobile numbers can be fetched at once")
+                                                                 List<@NotNull(message = "Mobile number can not be null") @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits") String> mobileNumbers) {
+        return ResponseEntity.status(HttpStatus.OK).body(iLoansService.fetchLoans(mobileNumbers));
+    }
+
     @Operation(
             summary = "Update Loan Details REST API",
             description = "REST API to update loan details based on a loan number"
@@ -185,6 +248,105 @@ public class LoanController {
         }
     }
 
+    /**
+     * Computes the repayment schedule of the outstanding amount of the loan of the given mobile number,
+     * with the current interest rate and tenure.
+     *
+     * @param mobileNumber the mobile number of the customer
+     * @param installments false to only return the EMI and the total interest
+     * @return the EMI, the total interest and the monthly installments of the loan
+     */
+    @Operation(
+            summary = "Fetch Loan Schedule REST API",
+            description = "REST API to fetch the EMI repayment schedule of a Loan based on a mobile Number"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @GetMapping("/schedule")
+    public ResponseEntity<LoanScheduleDto> fetchLoanSchedule(@RequestParam
+                                                             @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
+                                                             String mobileNumber,
+                                                             @RequestParam(defaultValue = "true") boolean installments){
+        return ResponseEntity.status(HttpStatus.OK).body(iLoanScheduleService.fetchSchedule(mobileNumber, installments));
+    }
+
+    /**
+     * Starts recomputing the schedule summary of every loan in the background.
+     *
+     * @return 202 once the recompute is started, 409 if one is already running
+     */
+    @Operation(
+            summary = "Recompute Loan Schedules REST API",
+            description = "REST API to recompute the EMI schedules of the whole loan portfolio"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "HTTP Status ACCEPTED"
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "HTTP Status CONFLICT"
+            )
+    })
+    @PostMapping("/schedule/recompute")
+    public ResponseEntity<ResponseDto> recomputeLoanSchedules(){
+        if (iLoanScheduleService.recomputePortfolio()) {
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .body(new ResponseDto(LoansConstants.STATUS_202, LoansConstants.MESSAGE_202_RECOMPUTE));
+        }
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ResponseDto(LoansConstants.STATUS_409, LoansConstants.MESSAGE_409_RECOMPUTE));
+    }
+
+    /**
+     * Starts the interest accrual of the given month, or resumes it if an earlier run stopped half way.
+     *
+     * @param period the month to be accrued (yyyy-MM), the previous month when not given
+     * @return 202 once the accrual is started, 409 if one is already running
+     */
+    @Operation(
+            summary = "Interest Accrual REST API",
+            description = "REST API to accrue one month of interest on every Loan"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "HTTP Status ACCEPTED"
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "HTTP Status CONFLICT"
+            )
+    })
+    @PostMapping("/interest-accrual")
+    public ResponseEntity<ResponseDto> accrueInterest(@RequestParam(required = false)
+                                                      @Pattern(regexp = "[0-9]{4}-[0-9]{2}", message = "Period must be yyyy-MM")
+                                                      String period){
+        YearMonth accrualPeriod = period == null ? YearMonth.now().minusMonths(1) : YearMonth.parse(period);
+        if (iInterestAccrualService.startAccrual(accrualPeriod)) {
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .body(new ResponseDto(LoansConstants.STATUS_202, LoansConstants.MESSAGE_202_ACCRUAL));
+        }
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ResponseDto(LoansConstants.STATUS_409, LoansConstants.MESSAGE_409_ACCRUAL));
+    }
+
     /**
      * REST API to get the build version of the application.
      *
@@ -279,4 +441,11 @@ public class LoanController {
                 status(HttpStatus.OK).
                 body(loansContactInfoDto);
     }
-}
\ No newline at end of file
+
+    /**
+     * @return the strong ETag derived from the last modification time, in microseconds
+     */
+    private static String eTag(LocalDateTime lastModified) {
+        return "\"" + Long.toHexString(ChronoUnit.MICROS.between(LocalDate.EPOCH.atStartOfDay(), lastModified)) + "\"";
+    }
+}
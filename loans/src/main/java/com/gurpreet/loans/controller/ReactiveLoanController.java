@@ -0,0 +1,138 @@
+package com.gurpreet.loans.controller;
+
+import com.gurpreet.loans.constants.LoansConstants;
+import com.gurpreet.loans.dto.LoansContactInfoDto;
+import com.gurpreet.loans.dto.LoansDto;
+import com.gurpreet.loans.dto.ResponseDto;
+import com.gurpreet.loans.service.IReactiveLoansService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link LoanController}, active with the "reactive" profile.
+ *
+ * It serves the same paths, payloads and status codes, the errors are mapped by ReactiveGlobalExceptionHandler.
+ * The repayment schedule (/schedule, /schedule/recompute) and the interest accrual (/interest-accrual) endpoints
+ * are not supported: they run on the JDBC-only schedule and accrual stores, which are switched off with this profile.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping(path ="/api", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+@Validated
+public class ReactiveLoanController {
+
+    private final IReactiveLoansService iReactiveLoansService;
+
+    public ReactiveLoanController(IReactiveLoansService iReactiveLoansService){
+        this.iReactiveLoansService = iReactiveLoansService;
+    }
+
+    @Value("${build.version}")
+    private String buildVersion;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private LoansContactInfoDto loansContactInfoDto;
+
+    @PostMapping("/create")
+    public Mono<ResponseEntity<ResponseDto>> createLoan(@RequestParam
+                                                        @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
+                                                        String mobileNumber){
+        return iReactiveLoansService.createLoan(mobileNumber)
+                .thenReturn(ResponseEntity
+                        .status(HttpStatus.OK)
+                        .body(new ResponseDto(LoansConstants.STATUS_201, LoansConstants.MESSAGE_201)));
+    }
+
+    @GetMapping("/fetch")
+    public Mono<ResponseEntity<LoansDto>> fetchLoanDetails(@RequestParam
+                                                           @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
+                                                           String mobileNumber,
+                                                           ServerWebExchange exchange){
+        // answers If-None-Match/If-Modified-Since with 304 without loading the loan details
+        Mono<ResponseEntity<LoansDto>> notModified = iReactiveLoansService.fetchLastModified(mobileNumber)
+                .filter(lastModified -> exchange.checkNotModified(eTag(lastModified),
+                        lastModified.atZone(ZoneId.systemDefault()).toInstant()))
+                .map(lastModified -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).<LoansDto>build());
+        return notModified.switchIfEmpty(Mono.defer(() -> iReactiveLoansService.fetchLoan(mobileNumber)
+                .map(loansDto -> ResponseEntity.status(HttpStatus.OK).body(loansDto))));
+    }
+
+    @PostMapping("/fetch-batch")
+    public Mono<ResponseEntity<Map<String, LoansDto>>> fetchLoansDetails(@RequestBody
+                                                                         @Size(max = LoansConstants.MAX_FETCH_BATCH_SIZE, message = "At most " + LoansConstants.MAX_FETCH_BATCH_SIZE + " mobile numbers can be fetched at once")
+                                                                         List<@NotNull(message = "Mobile number can not be null") @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits") String> mobileNumbers) {
+        return iReactiveLoansService.fetchLoans(mobileNumbers)
+                .map(loans -> ResponseEntity.status(HttpStatus.OK).body(loans));
+    }
+
+    @PutMapping("/update")
+    public Mono<ResponseEntity<ResponseDto>> updateLoanDetails(@Valid @RequestBody LoansDto loansDto){
+        return iReactiveLoansService.updateLoan(loansDto)
+                .map(isUpdated -> isUpdated
+                        ? ResponseEntity
+                                .status(HttpStatus.OK)
+                                .body(new ResponseDto(LoansConstants.STATUS_200, LoansConstants.MESSAGE_200))
+                        : ResponseEntity
+                                .status(HttpStatus.EXPECTATION_FAILED)
+                                .body(new ResponseDto(LoansConstants.STATUS_417, LoansConstants.MESSAGE_417_UPDATE)));
+    }
+
+    @DeleteMapping("/delete")
+    public Mono<ResponseEntity<ResponseDto>> deleteLoanDetails(@RequestParam
+                                                               @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
+                                                               String mobileNumber){
+        return iReactiveLoansService.deleteLoan(mobileNumber)
+                .map(isDeleted -> isDeleted
+                        ? ResponseEntity
+                                .status(HttpStatus.OK)
+                                .body(new ResponseDto(LoansConstants.STATUS_200, LoansConstants.MESSAGE_200))
+                        : ResponseEntity
+                                .status(HttpStatus.EXPECTATION_FAILED)
+                                .body(new ResponseDto(LoansConstants.STATUS_417, LoansConstants.MESSAGE_417_DELETE)));
+    }
+
+    @GetMapping("/build-info")
+    public Mono<ResponseEntity<String>> getBuildInfo(){
+        return Mono.just(ResponseEntity.status(HttpStatus.OK).body(buildVersion));
+    }
+
+    @GetMapping("/java-version")
+    public Mono<ResponseEntity<String>> getJavaVersion(){
+        return Mono.just(ResponseEntity.status(HttpStatus.OK).body(environment.getProperty("JAVA_HOME")));
+    }
+
+    @GetMapping("/contact-info")
+    public Mono<ResponseEntity<LoansContactInfoDto>> getContactInfo(){
+        return Mono.just(ResponseEntity.status(HttpStatus.OK).body(loansContactInfoDto));
+    }
+
+    /**
+     * Same strong validator as the one of LoanController: the last modification time in microseconds, hex encoded.
+     */
+    private static String eTag(LocalDateTime lastModified) {
+        return "\"" + Long.toHexString(ChronoUnit.MICROS.between(LocalDate.EPOCH.atStartOfDay(), lastModified)) + "\"";
+    }
+}
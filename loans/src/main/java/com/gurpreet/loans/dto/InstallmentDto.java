@@ -0,0 +1,36 @@
+package com.gurpreet.loans.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Schema(
+        name = "Installment",
+        description = "Schema to hold one monthly installment of a loan schedule"
+)
+@Data
+@AllArgsConstructor
+public class InstallmentDto {
+
+    @Schema(
+            description = "Number of the installment, starting at 1", example = "1"
+    )
+    private int number;
+
+    @Schema(
+            description = "Interest part of the installment", example = "701.25"
+    )
+    private BigDecimal interest;
+
+    @Schema(
+            description = "Principal part of the installment", example = "157.94"
+    )
+    private BigDecimal principal;
+
+    @Schema(
+            description = "Outstanding amount after the installment", example = "98842.06"
+    )
+    private BigDecimal balance;
+}
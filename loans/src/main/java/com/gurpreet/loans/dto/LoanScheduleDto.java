@@ -0,0 +1,45 @@
+package com.gurpreet.loans.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(
+        name = "LoanSchedule",
+        description = "Schema to hold the repayment schedule of the outstanding amount of a loan"
+)
+@Data
+public class LoanScheduleDto {
+
+    @Schema(
+            description = "Loan number of the customer", example = "123456789012"
+    )
+    private String loanNumber;
+
+    @Schema(
+            description = "Yearly interest rate in percent", example = "8.5"
+    )
+    private BigDecimal annualRatePercent;
+
+    @Schema(
+            description = "Number of monthly installments", example = "240"
+    )
+    private int tenureMonths;
+
+    @Schema(
+            description = "Equated monthly installment", example = "859.19"
+    )
+    private BigDecimal emi;
+
+    @Schema(
+            description = "Interest paid over the whole schedule", example = "107205.60"
+    )
+    private BigDecimal totalInterest;
+
+    @Schema(
+            description = "The monthly installments, left out when only the summary is requested"
+    )
+    private List<InstallmentDto> installments;
+}
@@ -1,19 +1,39 @@
 package com.gurpreet.loans.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import lombok.*;
-
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+/**
+ * The mobile number is the natural id: it is how the loans are looked up, so both the entity and the
+ * natural id resolution are kept in the second-level cache (regions are bounded in ehcache.xml).
+ * The mobile number can change on update, hence the mutable natural id.
+ *
+ * Updates only write the changed columns (@DynamicUpdate). Unlike cards and accounts the class is not
+ * bytecode enhanced, the reactive profile maps it with R2DBC which would pick up the injected fields.
+ */
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "loans")
+@NaturalIdCache(region = "loans-natural-id")
 @Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
 public class Loans extends BaseEntity {
 
     @Id
+    @org.springframework.data.annotation.Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long loanId;
 
+    @NaturalId(mutable = true)
     private String mobileNumber;
 
     private String loanNumber;
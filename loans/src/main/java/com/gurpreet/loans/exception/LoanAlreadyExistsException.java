@@ -3,11 +3,15 @@ package com.gurpreet.loans.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+/**
+ * Thrown when a loan is already registered with the given mobile number.
+ * This is an expected outcome, so the exception does not capture a stack trace.
+ */
 @ResponseStatus(value = HttpStatus.BAD_REQUEST)
 public class LoanAlreadyExistsException extends RuntimeException{
 
     public LoanAlreadyExistsException(String message)
     {
-        super(message);
+        super(message, null, false, false);
     }
 }
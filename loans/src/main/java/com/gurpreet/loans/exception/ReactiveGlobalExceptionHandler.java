@@ -0,0 +1,130 @@
+package com.gurpreet.loans.exception;
+
+import com.gurpreet.loans.constants.LoansConstants;
+import com.gurpreet.loans.dto.ErrorResponseDto;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * WebFlux counterpart of {@link GlobalExceptionHandler}, active with the "reactive" profile.
+ * The exceptions are mapped to the same status codes and ErrorResponseDto bodies.
+ */
+@ControllerAdvice
+@Profile("reactive")
+public class ReactiveGlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @Value("${connection-pool.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    /**
+     * Handles the validation errors of a request body, returned as a map of field names to messages
+     * with a BAD_REQUEST status.
+     */
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(
+            WebExchangeBindException ex, HttpHeaders headers, HttpStatusCode status, ServerWebExchange exchange) {
+        Map<String, String> validationErrors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            validationErrors.put(fieldName, error.getDefaultMessage());
+        });
+        return Mono.just(new ResponseEntity<>(validationErrors, HttpStatus.BAD_REQUEST));
+    }
+
+    /**
+     * Handles the validation errors of the parameters of the @Validated controller, returned as a map of
+     * property paths to messages with a BAD_REQUEST status.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Map<String, String>> handleConstraintViolationException(
+            ConstraintViolationException exception) {
+        Map<String, String> validationErrors = new HashMap<>();
+        exception.getConstraintViolations().forEach(violation ->
+                validationErrors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return new ResponseEntity<>(validationErrors, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponseDto> handleGlobalException(Exception exception, ServerWebExchange exchange) {
+        return errorResponse(exchange, HttpStatus.INTERNAL_SERVER_ERROR, exception);
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponseDto> handleResourceNotFoundException(ResourceNotFoundException exception,
+                                                                            ServerWebExchange exchange) {
+        return errorResponse(exchange, HttpStatus.NOT_FOUND, exception);
+    }
+
+    @ExceptionHandler(LoanAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponseDto> handleLoanAlreadyExistsException(LoanAlreadyExistsException exception,
+                                                                             ServerWebExchange exchange) {
+        return errorResponse(exchange, HttpStatus.BAD_REQUEST, exception);
+    }
+
+    /**
+     * Handles a connection which could not be acquired from the R2DBC pool within spring.r2dbc.pool.max-acquire-time,
+     * reported with a SERVICE_UNAVAILABLE status and a Retry-After header like the servlet handler does.
+     * Any other failure is reported with an INTERNAL_SERVER_ERROR status.
+     */
+    @ExceptionHandler({DataAccessResourceFailureException.class, R2dbcTimeoutException.class})
+    public ResponseEntity<ErrorResponseDto> handleConnectionPoolExhausted(Exception exception,
+                                                                          ServerWebExchange exchange) {
+        if (!isPoolTimeout(exception)) {
+            return handleGlobalException(exception, exchange);
+        }
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto(
+                "uri=" + exchange.getRequest().getPath().value(),
+                HttpStatus.SERVICE_UNAVAILABLE,
+                LoansConstants.MESSAGE_503,
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(errorResponseDto);
+    }
+
+    /**
+     * @return true if the cause chain contains the acquire timeout raised by the connection pool
+     */
+    private static boolean isPoolTimeout(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof R2dbcTimeoutException && cause.getCause() instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the ErrorResponseDto with the same "uri=..." api path as WebRequest.getDescription(false).
+     */
+    private static ResponseEntity<ErrorResponseDto> errorResponse(ServerWebExchange exchange, HttpStatus status,
+                                                                  Exception exception) {
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto(
+                "uri=" + exchange.getRequest().getPath().value(),
+                status,
+                exception.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponseDto, status);
+    }
+}
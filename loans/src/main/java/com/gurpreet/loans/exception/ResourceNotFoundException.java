@@ -3,10 +3,16 @@ package com.gurpreet.loans.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+/**
+ * Thrown when the requested resource does not exist.
+ *
+ * This is an expected outcome on the fetch paths (typos, scanners), so the exception does not capture
+ * a stack trace and the message is built by plain concatenation instead of String.format.
+ */
 @ResponseStatus(value = HttpStatus.NOT_FOUND)
 public class ResourceNotFoundException extends RuntimeException{
 
     public ResourceNotFoundException(String resourceName, String fieldName, String fieldValue){
-        super(String.format("%s not found with the given input data %s: %s", resourceName, fieldName, fieldValue));
+        super(resourceName + " not found with the given input data " + fieldName + ": " + fieldValue, null, false, false);
     }
 }
\ No newline at end of file
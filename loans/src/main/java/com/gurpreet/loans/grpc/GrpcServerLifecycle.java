@@ -0,0 +1,92 @@
+package com.gurpreet.loans.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.protobuf.services.HealthStatusManager;
+import io.grpc.protobuf.services.ProtoReflectionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the internal gRPC server on its own port inside the same process as the REST endpoints.
+ *
+ * Every {@link BindableService} bean is registered, so the gRPC services share the service beans
+ * (and their caches, coalescing and connection pool) with the controllers. Calls block on JDBC,
+ * so they are executed on virtual threads instead of the Netty event loop.
+ */
+@Component
+@ConditionalOnProperty(name = "grpc.server.enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrpcServerLifecycle.class);
+
+    private final List<BindableService> services;
+
+    private final int port;
+
+    private final long shutdownGraceSeconds;
+
+    private final HealthStatusManager healthStatusManager = new HealthStatusManager();
+
+    private ExecutorService executor;
+
+    private Server server;
+
+    public GrpcServerLifecycle(List<BindableService> services,
+                               @Value("${grpc.server.port:9090}") int port,
+                               @Value("${grpc.server.shutdown-grace-seconds:10}") long shutdownGraceSeconds) {
+        this.services = services;
+        this.port = port;
+        this.shutdownGraceSeconds = shutdownGraceSeconds;
+    }
+
+    @Override
+    public synchronized void start() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        ServerBuilder<?> builder = ServerBuilder.forPort(port)
+                .executor(executor)
+                .addService(healthStatusManager.getHealthService())
+                .addService(ProtoReflectionService.newInstance());
+        services.forEach(builder::addService);
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            executor.shutdown();
+            throw new UncheckedIOException("Cannot start gRPC server on port " + port, e);
+        }
+        logger.info("gRPC server started on port {} with {} services", server.getPort(), services.size());
+    }
+
+    @Override
+    public synchronized void stop() {
+        healthStatusManager.enterTerminalState();
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(shutdownGraceSeconds, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdown();
+        server = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+}
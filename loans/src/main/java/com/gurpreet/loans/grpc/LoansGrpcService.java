@@ -0,0 +1,170 @@
+package com.gurpreet.loans.grpc;
+
+import com.gurpreet.loans.constants.LoansConstants;
+import com.gurpreet.loans.dto.LoansDto;
+import com.gurpreet.loans.exception.LoanAlreadyExistsException;
+import com.gurpreet.loans.exception.ResourceNotFoundException;
+import com.gurpreet.loans.grpc.proto.Loan;
+import com.gurpreet.loans.grpc.proto.LoansServiceGrpc;
+import com.gurpreet.loans.grpc.proto.MobileNumberRequest;
+import com.gurpreet.loans.grpc.proto.MobileNumbersRequest;
+import com.gurpreet.loans.grpc.proto.StatusResponse;
+import com.gurpreet.loans.mapper.LoansProtoMapper;
+import com.gurpreet.loans.service.ILoansService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC binding of {@link ILoansService}, the internal counterpart of the LoanController.
+ *
+ * Requests are validated with the same bean validation constraints as the REST payloads and the
+ * domain exceptions are translated to gRPC status codes the way GlobalExceptionHandler translates
+ * them to HTTP statuses. The reactive profile has no blocking service to bind, so it is left out there.
+ */
+@Component
+@Profile("!reactive")
+public class LoansGrpcService extends LoansServiceGrpc.LoansServiceImplBase {
+
+    private static final Pattern MOBILE_NUMBER = Pattern.compile("(^$|[0-9]{10})");
+
+    private final ILoansService iLoansService;
+
+    private final Validator validator;
+
+    public LoansGrpcService(ILoansService iLoansService, Validator validator) {
+        this.iLoansService = iLoansService;
+        this.validator = validator;
+    }
+
+    @Override
+    public void createLoan(MobileNumberRequest request, StreamObserver<StatusResponse> responseObserver) {
+        unary(responseObserver, () -> {
+            iLoansService.createLoan(validatedMobileNumber(request.getMobileNumber()));
+            return statusResponse(LoansConstants.STATUS_201, LoansConstants.MESSAGE_201);
+        });
+    }
+
+    @Override
+    public void fetchLoan(MobileNumberRequest request, StreamObserver<Loan> responseObserver) {
+        unary(responseObserver, () -> LoansProtoMapper.mapToLoanMessage(
+                iLoansService.fetchLoan(validatedMobileNumber(request.getMobileNumber()))));
+    }
+
+    @Override
+    public void updateLoan(Loan request, StreamObserver<StatusResponse> responseObserver) {
+        unary(responseObserver, () -> iLoansService.updateLoan(validated(LoansProtoMapper.mapToLoansDto(request)))
+                ? statusResponse(LoansConstants.STATUS_200, LoansConstants.MESSAGE_200)
+                : statusResponse(LoansConstants.STATUS_417, LoansConstants.MESSAGE_417_UPDATE));
+    }
+
+    @Override
+    public void deleteLoan(MobileNumberRequest request, StreamObserver<StatusResponse> responseObserver) {
+        unary(responseObserver, () -> iLoansService.deleteLoan(validatedMobileNumber(request.getMobileNumber()))
+                ? statusResponse(LoansConstants.STATUS_200, LoansConstants.MESSAGE_200)
+                : statusResponse(LoansConstants.STATUS_417, LoansConstants.MESSAGE_417_DELETE));
+    }
+
+    /**
+     * Streams one Loan message per known mobile number, in request order. The numbers are looked up
+     * in chunks through the batch fetch, so the stream is not limited to the REST batch size; unknown
+     * numbers are skipped and the stream stops early when the caller cancels it.
+     */
+    @Override
+    public void fetchLoans(MobileNumbersRequest request, StreamObserver<Loan> responseObserver) {
+        ServerCallStreamObserver<Loan> serverObserver = (ServerCallStreamObserver<Loan>) responseObserver;
+        try {
+            List<String> mobileNumbers = request.getMobileNumbersList();
+            mobileNumbers.forEach(LoansGrpcService::validatedMobileNumber);
+            for (int from = 0; from < mobileNumbers.size(); from += LoansConstants.FETCH_BATCH_CHUNK_SIZE) {
+                if (serverObserver.isCancelled()) {
+                    return;
+                }
+                List<String> chunk = mobileNumbers.subList(from,
+                        Math.min(from + LoansConstants.FETCH_BATCH_CHUNK_SIZE, mobileNumbers.size()));
+                iLoansService.fetchLoans(chunk).values().stream()
+                        .filter(loansDto -> loansDto != null)
+                        .forEach(loansDto -> serverObserver.onNext(LoansProtoMapper.mapToLoanMessage(loansDto)));
+            }
+            serverObserver.onCompleted();
+        } catch (RuntimeException e) {
+            serverObserver.onError(toStatus(e).asRuntimeException());
+        }
+    }
+
+    private static <T> void unary(StreamObserver<T> responseObserver, Supplier<T> call) {
+        T response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    private LoansDto validated(LoansDto loansDto) {
+        Set<ConstraintViolation<LoansDto>> violations = validator.validate(loansDto);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return loansDto;
+    }
+
+    private static String validatedMobileNumber(String mobileNumber) {
+        if (!MOBILE_NUMBER.matcher(mobileNumber).matches()) {
+            throw new IllegalArgumentException("Mobile number must be 10 digits");
+        }
+        return mobileNumber;
+    }
+
+    private static StatusResponse statusResponse(String statusCode, String statusMsg) {
+        return StatusResponse.newBuilder().setStatusCode(statusCode).setStatusMsg(statusMsg).build();
+    }
+
+    private static Status toStatus(RuntimeException e) {
+        if (e instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+        }
+        if (e instanceof ResourceNotFoundException) {
+            return Status.NOT_FOUND.withDescription(e.getMessage());
+        }
+        if (e instanceof LoanAlreadyExistsException) {
+            return Status.ALREADY_EXISTS.withDescription(e.getMessage());
+        }
+        if ((e instanceof CannotCreateTransactionException || e instanceof DataAccessResourceFailureException)
+                && isPoolTimeout(e)) {
+            return Status.UNAVAILABLE.withDescription(LoansConstants.MESSAGE_503).withCause(e);
+        }
+        return Status.INTERNAL.withDescription(e.getMessage()).withCause(e);
+    }
+
+    /**
+     * @return true if the cause chain contains the timeout raised by the connection pool
+     */
+    private static boolean isPoolTimeout(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
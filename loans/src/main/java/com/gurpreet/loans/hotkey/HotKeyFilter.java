@@ -0,0 +1,41 @@
+package com.gurpreet.loans.hotkey;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Records the tracked keys passed as request parameters (fetch, create, delete), the values which are not
+ * well-formed keys are dropped by the tracker. Keys sent in a request body are recorded by the services themselves.
+ * Servlet stack only, the reactive profile is not tracked.
+ */
+@Component
+@Profile("!reactive")
+public class HotKeyFilter extends OncePerRequestFilter {
+
+    private final HotKeyTracker hotKeyTracker;
+
+    public HotKeyFilter(HotKeyTracker hotKeyTracker) {
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        for (String kind : hotKeyTracker.kinds()) {
+            hotKeyTracker.record(kind, request.getParameter(kind));
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+}
@@ -0,0 +1,70 @@
+package com.gurpreet.loans.mapper;
+
+import com.gurpreet.loans.dto.InstallmentDto;
+import com.gurpreet.loans.dto.LoanScheduleDto;
+import com.gurpreet.loans.entity.Loans;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LoanScheduleMapper {
+
+    /**
+     * Maps a schedule computed in paise to a LoanScheduleDto object with amounts in the loan currency.
+     *
+     * @param loans the loan the schedule belongs to
+     * @param annualRatePercent the yearly interest rate the schedule was computed with
+     * @param tenureMonths the number of monthly installments the schedule was computed with
+     * @param emi the equated monthly installment
+     * @param interest the interest part of each installment
+     * @param repaid the principal part of each installment
+     * @param balance the balance left after each installment
+     * @param installments the number of installments filled in the arrays
+     * @param loanScheduleDto the LoanScheduleDto object to map to
+     * @return the mapped object
+     */
+    public static LoanScheduleDto mapToLoanScheduleDto(Loans loans, double annualRatePercent, int tenureMonths, long emi,
+                                                       long[] interest, long[] repaid, long[] balance, int installments,
+                                                       LoanScheduleDto loanScheduleDto) {
+        List<InstallmentDto> installmentDtos = new ArrayList<>(installments);
+        long totalInterest = 0;
+        for (int i = 0; i < installments; i++) {
+            totalInterest += interest[i];
+            installmentDtos.add(new InstallmentDto(i + 1, toAmount(interest[i]), toAmount(repaid[i]), toAmount(balance[i])));
+        }
+        loanScheduleDto.setLoanNumber(loans.getLoanNumber());
+        loanScheduleDto.setAnnualRatePercent(BigDecimal.valueOf(annualRatePercent));
+        loanScheduleDto.setTenureMonths(tenureMonths);
+        loanScheduleDto.setEmi(toAmount(emi));
+        loanScheduleDto.setTotalInterest(toAmount(totalInterest));
+        loanScheduleDto.setInstallments(installmentDtos);
+        return loanScheduleDto;
+    }
+
+    /**
+     * Maps a schedule summary computed in paise to a LoanScheduleDto object without the installments.
+     *
+     * @param loans the loan the schedule belongs to
+     * @param annualRatePercent the yearly interest rate the schedule was computed with
+     * @param tenureMonths the number of monthly installments the schedule was computed with
+     * @param emi the equated monthly installment
+     * @param totalInterest the interest paid over the whole schedule
+     * @param loanScheduleDto the LoanScheduleDto object to map to
+     * @return the mapped object
+     */
+    public static LoanScheduleDto mapToLoanScheduleSummaryDto(Loans loans, double annualRatePercent, int tenureMonths,
+                                                              long emi, long totalInterest,
+                                                              LoanScheduleDto loanScheduleDto) {
+        loanScheduleDto.setLoanNumber(loans.getLoanNumber());
+        loanScheduleDto.setAnnualRatePercent(BigDecimal.valueOf(annualRatePercent));
+        loanScheduleDto.setTenureMonths(tenureMonths);
+        loanScheduleDto.setEmi(toAmount(emi));
+        loanScheduleDto.setTotalInterest(toAmount(totalInterest));
+        return loanScheduleDto;
+    }
+
+    private static BigDecimal toAmount(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+}
@@ -3,6 +3,8 @@ package com.gurpreet.loans.mapper;
 import com.gurpreet.loans.dto.LoansDto;
 import com.gurpreet.loans.entity.Loans;
 
+import java.util.Objects;
+
 public class LoansMapper {
 
     /**
@@ -42,4 +44,39 @@ public class LoansMapper {
         loans.setOutstandingAmount(loansDto.getOutstandingAmount());
         return loans;
     }
+
+    /**
+     * Checks whether applying the given LoansDto to the Loans object would change anything.
+     *
+     * @param loansDto
+     *            the requested loan details
+     * @param loans
+     *            the current loan
+     * @return true if every mapped field already holds the requested value
+     */
+    public static boolean isUnchanged(LoansDto loansDto, Loans loans){
+        return Objects.equals(loans.getLoanNumber(), loansDto.getLoanNumber())
+                && Objects.equals(loans.getLoanType(), loansDto.getLoanType())
+                && Objects.equals(loans.getMobileNumber(), loansDto.getMobileNumber())
+                && loans.getTotalLoan() == loansDto.getTotalLoan()
+                && loans.getAmountPaid() == loansDto.getAmountPaid()
+                && loans.getOutstandingAmount() == loansDto.getOutstandingAmount();
+    }
+
+    /**
+     * Copies a {@link LoansDto}, so that callers sharing one fetch each get their own instance.
+     *
+     * @param loansDto the object to be copied
+     * @return a new object with the same values
+     */
+    public static LoansDto copyOf(LoansDto loansDto){
+        LoansDto copy = new LoansDto();
+        copy.setLoanNumber(loansDto.getLoanNumber());
+        copy.setLoanType(loansDto.getLoanType());
+        copy.setMobileNumber(loansDto.getMobileNumber());
+        copy.setTotalLoan(loansDto.getTotalLoan());
+        copy.setAmountPaid(loansDto.getAmountPaid());
+        copy.setOutstandingAmount(loansDto.getOutstandingAmount());
+        return copy;
+    }
 }
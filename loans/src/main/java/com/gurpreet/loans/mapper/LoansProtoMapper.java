@@ -0,0 +1,41 @@
+package com.gurpreet.loans.mapper;
+
+import com.gurpreet.loans.dto.LoansDto;
+import com.gurpreet.loans.grpc.proto.Loan;
+
+public class LoansProtoMapper {
+
+    /**
+     * Maps a {@link LoansDto} object to a gRPC {@link Loan} message.
+     *
+     * @param loansDto the object to be mapped
+     * @return the mapped message
+     */
+    public static Loan mapToLoanMessage(LoansDto loansDto) {
+        return Loan.newBuilder()
+                .setMobileNumber(loansDto.getMobileNumber())
+                .setLoanNumber(loansDto.getLoanNumber())
+                .setLoanType(loansDto.getLoanType())
+                .setTotalLoan(loansDto.getTotalLoan())
+                .setAmountPaid(loansDto.getAmountPaid())
+                .setOutstandingAmount(loansDto.getOutstandingAmount())
+                .build();
+    }
+
+    /**
+     * Maps a gRPC {@link Loan} message to a {@link LoansDto} object.
+     *
+     * @param loan the message to be mapped
+     * @return the mapped object
+     */
+    public static LoansDto mapToLoansDto(Loan loan) {
+        LoansDto loansDto = new LoansDto();
+        loansDto.setMobileNumber(loan.getMobileNumber());
+        loansDto.setLoanNumber(loan.getLoanNumber());
+        loansDto.setLoanType(loan.getLoanType());
+        loansDto.setTotalLoan(loan.getTotalLoan());
+        loansDto.setAmountPaid(loan.getAmountPaid());
+        loansDto.setOutstandingAmount(loan.getOutstandingAmount());
+        return loansDto;
+    }
+}
@@ -0,0 +1,33 @@
+package com.gurpreet.loans.profiling;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the {@link EndpointProfilingInterceptor} on the REST API and the {@link SqlStatementCounter}
+ * as the Hibernate statement inspector. The reactive stack is not profiled.
+ */
+@Configuration
+@Profile("!reactive")
+public class EndpointProfilingConfig implements WebMvcConfigurer {
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new EndpointProfilingInterceptor(sqlStatementCounter())).addPathPatterns("/api/**");
+    }
+}
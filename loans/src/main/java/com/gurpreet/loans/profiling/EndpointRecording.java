@@ -0,0 +1,172 @@
+package com.gurpreet.loans.profiling;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process JFR recording of the {@link EndpointEvent}s.
+ *
+ * The recording is a {@link RecordingStream}: the events are aggregated per endpoint as they are flushed
+ * (about once a second), so the summary is available while the recording runs. Its size on disk is bounded
+ * by max-age and max-size, and only the endpoint events are enabled, so it can run in production. When it is
+ * stopped, the recording is dumped to a .jfr file for JDK Mission Control or the jfr tool.
+ */
+@Component
+public class EndpointRecording {
+
+    private static final Logger logger = LoggerFactory.getLogger(EndpointRecording.class);
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final class EndpointStats {
+        final LongAdder calls = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder durationNanos = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+        final LongAccumulator maxAllocatedBytes = new LongAccumulator(Math::max, 0);
+        final LongAdder cpuNanos = new LongAdder();
+        final LongAdder sqlStatements = new LongAdder();
+    }
+
+    private final Path directory;
+
+    private final Duration maxAge;
+
+    private final DataSize maxSize;
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+
+    private Instant startedAt;
+
+    public EndpointRecording(@Value("${endpoint-recording.directory:${java.io.tmpdir}/loans-jfr}") Path directory,
+                             @Value("${endpoint-recording.max-age:1h}") Duration maxAge,
+                             @Value("${endpoint-recording.max-size:100MB}") DataSize maxSize) {
+        this.directory = directory;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Starts a new recording, the summary of the previous one is discarded. Does nothing if one is running.
+     *
+     * @return the summary of the recording
+     */
+    public synchronized Map<String, Object> start() {
+        if (stream == null) {
+            stats.clear();
+            RecordingStream recording = new RecordingStream();
+            recording.enable(EndpointEvent.NAME);
+            recording.setMaxAge(maxAge);
+            recording.setMaxSize(maxSize.toBytes());
+            recording.onEvent(EndpointEvent.NAME, this::add);
+            recording.startAsync();
+            stream = recording;
+            startedAt = Instant.now();
+            logger.info("Endpoint recording started");
+        }
+        return summary();
+    }
+
+    /**
+     * Stops the running recording and dumps it to a file of the recording directory.
+     *
+     * @return the summary of the recording, with the path of the file written
+     */
+    public synchronized Map<String, Object> stop() {
+        if (stream == null) {
+            return summary();
+        }
+        Path file = directory.resolve("endpoints-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+        try {
+            Files.createDirectories(directory);
+            stream.dump(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot dump the endpoint recording to " + file, e);
+        } finally {
+            stream.close();
+            stream = null;
+        }
+        logger.info("Endpoint recording stopped, dumped to {}", file);
+        Map<String, Object> summary = summary();
+        summary.put("file", file.toString());
+        return summary;
+    }
+
+    /**
+     * @return whether a recording runs, since when, and per endpoint the calls and what they spent in total and
+     * per call, the endpoints allocating the most first
+     */
+    public synchronized Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("recording", stream != null);
+        summary.put("startedAt", startedAt);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, EndpointStats> entry) ->
+                        entry.getValue().allocatedBytes.sum()).reversed())
+                .forEach(entry -> endpoints.put(entry.getKey(), summary(entry.getValue())));
+        summary.put("endpoints", endpoints);
+        return summary;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    private void add(RecordedEvent event) {
+        EndpointStats endpointStats = stats.computeIfAbsent(event.getString("endpoint"), k -> new EndpointStats());
+        long allocated = event.getLong("allocatedBytes");
+        endpointStats.calls.increment();
+        if (event.getInt("status") >= 400) {
+            endpointStats.errors.increment();
+        }
+        endpointStats.durationNanos.add(event.getDuration().toNanos());
+        endpointStats.allocatedBytes.add(allocated);
+        endpointStats.maxAllocatedBytes.accumulate(allocated);
+        endpointStats.cpuNanos.add(event.getLong("cpuTime"));
+        endpointStats.sqlStatements.add(event.getInt("sqlStatements"));
+    }
+
+    private static Map<String, Object> summary(EndpointStats endpointStats) {
+        long calls = Math.max(1, endpointStats.calls.sum());
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("calls", endpointStats.calls.sum());
+        summary.put("errors", endpointStats.errors.sum());
+        summary.put("allocatedBytes", endpointStats.allocatedBytes.sum());
+        summary.put("allocatedBytesPerCall", endpointStats.allocatedBytes.sum() / calls);
+        summary.put("maxAllocatedBytes", endpointStats.maxAllocatedBytes.get());
+        summary.put("cpuMillis", endpointStats.cpuNanos.sum() / 1_000_000.0);
+        summary.put("cpuMillisPerCall", endpointStats.cpuNanos.sum() / 1_000_000.0 / calls);
+        summary.put("durationMillisPerCall", endpointStats.durationNanos.sum() / 1_000_000.0 / calls);
+        summary.put("sqlStatements", endpointStats.sqlStatements.sum());
+        summary.put("sqlStatementsPerCall", (double) endpointStats.sqlStatements.sum() / calls);
+        return summary;
+    }
+}
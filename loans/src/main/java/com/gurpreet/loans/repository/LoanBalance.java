@@ -0,0 +1,10 @@
+package com.gurpreet.loans.repository;
+
+/**
+ * The columns of a loan needed to compute its schedule, read without loading the entity.
+ *
+ * @param loanId the primary key of the loan
+ * @param outstandingAmount the amount left to be repaid
+ */
+public record LoanBalance(Long loanId, int outstandingAmount) {
+}
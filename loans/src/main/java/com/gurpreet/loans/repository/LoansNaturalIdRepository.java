@@ -0,0 +1,37 @@
+package com.gurpreet.loans.repository;
+
+import com.gurpreet.loans.entity.Loans;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lookups by the mobile number natural id, served from the second-level cache when possible.
+ */
+public interface LoansNaturalIdRepository {
+
+    /**
+     * Finds the loan of the given mobile number through the natural id cache. Only a cache miss
+     * runs a query.
+     *
+     * @param mobileNumber
+     *            the mobile number of the customer whose loan is to be retrieved
+     * @return an Optional containing the loan if found, or an empty Optional if
+     *         no loan is associated with the given mobile number
+     */
+    @Transactional(readOnly = true)
+    Optional<Loans> findByMobileNumber(String mobileNumber);
+
+    /**
+     * Finds the loans of all the given mobile numbers through the natural id cache, the
+     * mobile numbers missing from the cache are loaded with batched IN queries.
+     *
+     * @param mobileNumbers
+     *            the mobile numbers of the customers whose loans are to be retrieved
+     * @return the loans found, mobile numbers without a loan have no element in the list
+     */
+    @Transactional(readOnly = true)
+    List<Loans> findByMobileNumberIn(Collection<String> mobileNumbers);
+}
@@ -0,0 +1,37 @@
+package com.gurpreet.loans.repository;
+
+import com.gurpreet.loans.constants.LoansConstants;
+import com.gurpreet.loans.entity.Loans;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+public class LoansNaturalIdRepositoryImpl implements LoansNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Loans> findByMobileNumber(String mobileNumber) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Loans.class)
+                .loadOptional(mobileNumber);
+    }
+
+    @Override
+    public List<Loans> findByMobileNumberIn(Collection<String> mobileNumbers) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleNaturalId(Loans.class)
+                .withBatchSize(LoansConstants.FETCH_BATCH_CHUNK_SIZE)
+                .multiLoad(new ArrayList<>(mobileNumbers))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -1,23 +1,19 @@
 package com.gurpreet.loans.repository;
 
 import com.gurpreet.loans.entity.Loans;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface LoansRepository extends JpaRepository<Loans, Long> {
-
-    /**
-     * Finds a loan by the given mobile number.
-     *
-     * @param mobileNumber
-     *            the mobile number of the customer for whom the loan is to be
-     *            retrieved
-     * @return an Optional containing the loan if found, or an empty Optional if
-     *         no loan is associated with the given mobile number
-     */
-    Optional<Loans> findByMobileNumber(String mobileNumber);
+public interface LoansRepository extends JpaRepository<Loans, Long>, LoansNaturalIdRepository {
 
     /**
      * Finds a loan by the given loan number.
@@ -28,4 +24,47 @@ public interface LoansRepository extends JpaRepository<Loans, Long> {
      *         no loan is associated with the given loan number
      */
     Optional<Loans> findByLoanNumber(String loanNumber);
+
+    /**
+     * Streams the mobile numbers of all the rows without loading the entities.
+     * The MySQL driver only streams the rows for the Integer.MIN_VALUE fetch size,
+     * the caller has to run inside a read-only transaction and close the stream.
+     *
+     * @return a stream of all the mobile numbers
+     */
+    @Query("select e.mobileNumber from Loans e")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "" + Integer.MIN_VALUE))
+    Stream<String> streamAllMobileNumbers();
+
+    /**
+     * Streams the id and outstanding amount of all the loans in id order, without loading the entities.
+     * Like {@link #streamAllMobileNumbers()} the caller has to run inside a read-only transaction and
+     * close the stream.
+     *
+     * @return a stream of the balances of all the loans
+     */
+    @Query("select new com.gurpreet.loans.repository.LoanBalance(l.loanId, l.outstandingAmount) from Loans l order by l.loanId")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "" + Integer.MIN_VALUE))
+    Stream<LoanBalance> streamAllBalances();
+
+    /**
+     * Finds the id and outstanding amount of the loans of the given id range, in id order.
+     *
+     * @param firstLoanId the first loan id of the range
+     * @param lastLoanId the last loan id of the range
+     * @return the balances of the loans of the range
+     */
+    @Query("select new com.gurpreet.loans.repository.LoanBalance(l.loanId, l.outstandingAmount) from Loans l "
+            + "where l.loanId between :firstLoanId and :lastLoanId order by l.loanId")
+    List<LoanBalance> findBalancesBetween(@Param("firstLoanId") Long firstLoanId, @Param("lastLoanId") Long lastLoanId);
+
+    /**
+     * Finds only the last modification time of the loan of the given mobile number,
+     * without loading the entity. Rows which were never updated report their creation time.
+     *
+     * @param mobileNumber the mobile number of the customer
+     * @return an Optional containing the last modification time, or an empty Optional if not found
+     */
+    @Query("select coalesce(l.updatedAt, l.createdAt) from Loans l where l.mobileNumber = :mobileNumber")
+    Optional<LocalDateTime> findLastModifiedByMobileNumber(@Param("mobileNumber") String mobileNumber);
 }
@@ -0,0 +1,54 @@
+package com.gurpreet.loans.repository;
+
+import com.gurpreet.loans.entity.Loans;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface ReactiveLoansRepository extends R2dbcRepository<Loans, Long> {
+
+    /**
+     * Finds a loan by the given mobile number.
+     *
+     * @param mobileNumber
+     *            the mobile number of the customer for whom the loan is to be
+     *            retrieved
+     * @return a Mono emitting the loan if found, or an empty Mono if
+     *         no loan is associated with the given mobile number
+     */
+    Mono<Loans> findByMobileNumber(String mobileNumber);
+
+    /**
+     * Finds a loan by the given loan number.
+     *
+     * @param loanNumber
+     *            the loan number of the loan to be retrieved
+     * @return a Mono emitting the loan if found, or an empty Mono if
+     *         no loan is associated with the given loan number
+     */
+    Mono<Loans> findByLoanNumber(String loanNumber);
+
+    /**
+     * Finds the loans of the given mobile numbers with a single IN query.
+     *
+     * @param mobileNumbers the mobile numbers of the customers
+     * @return a Flux of the loans found, in no particular order
+     */
+    Flux<Loans> findByMobileNumberIn(Collection<String> mobileNumbers);
+
+    /**
+     * Finds only the last modification time of the loan of the given mobile number,
+     * without loading the entity. Rows which were never updated report their creation time.
+     *
+     * @param mobileNumber the mobile number of the customer
+     * @return a Mono emitting the last modification time, or an empty Mono if not found
+     */
+    @Query("select coalesce(updated_at, created_at) from loans where mobile_number = :mobileNumber")
+    Mono<LocalDateTime> findLastModifiedByMobileNumber(String mobileNumber);
+}
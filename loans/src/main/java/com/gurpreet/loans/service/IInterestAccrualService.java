@@ -0,0 +1,15 @@
+package com.gurpreet.loans.service;
+
+import java.time.YearMonth;
+
+public interface IInterestAccrualService {
+
+    /**
+     * Starts accruing one month of interest on every loan in the background, or resumes the run of the
+     * period if an earlier one stopped half way. A period already completed is not accrued again.
+     *
+     * @param period the month to be accrued
+     * @return false if an accrual is already running, true otherwise
+     */
+    boolean startAccrual(YearMonth period);
+}
@@ -0,0 +1,39 @@
+package com.gurpreet.loans.service;
+
+import com.gurpreet.loans.dto.LoanScheduleDto;
+
+public interface ILoanScheduleService {
+
+    /**
+     * Computes the repayment schedule of the outstanding amount of the loan of the given mobile number,
+     * with the current interest rate and tenure.
+     *
+     * @param mobileNumber the mobile number of the customer
+     * @param withInstallments false to only return the summary, read from the stored schedule when it is current
+     * @return the EMI, the total interest and, if requested, the monthly installments of the loan
+     */
+    LoanScheduleDto fetchSchedule(String mobileNumber, boolean withInstallments);
+
+    /**
+     * Starts recomputing the schedule summary of every loan in the background.
+     *
+     * @return false if a recompute is already running, true otherwise
+     */
+    boolean recomputePortfolio();
+
+    /**
+     * Recomputes the stored schedule summary of the loans of the given id range, after their outstanding
+     * amounts changed. Inside a transaction it runs once the transaction committed.
+     *
+     * @param firstLoanId the first loan id of the range
+     * @param lastLoanId the last loan id of the range
+     */
+    void refreshSchedules(long firstLoanId, long lastLoanId);
+
+    /**
+     * Removes the stored schedule summary of a deleted loan.
+     *
+     * @param loanId the id of the deleted loan
+     */
+    void removeSchedule(long loanId);
+}
@@ -2,6 +2,11 @@ package com.gurpreet.loans.service;
 
 import com.gurpreet.loans.dto.LoansDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 public interface ILoansService {
 
     /**
@@ -40,4 +45,24 @@ public interface ILoansService {
      * @return true if the loan is deleted successfully, false otherwise.
      */
     boolean deleteLoan(String mobileNumber);
+
+    /**
+     * Fetches the loan details of several customers at once.
+     *
+     * @param mobileNumbers
+     *            the mobile numbers of the customers whose loans are to be retrieved
+     * @return a map keyed by mobile number, in request order, with a null value for
+     *         every mobile number which has no loan
+     */
+    Map<String, LoansDto> fetchLoans(List<String> mobileNumbers);
+
+    /**
+     * Fetches only the last modification time of the loan details of the given mobile number,
+     * used as the validator of conditional fetch requests.
+     *
+     * @param mobileNumber
+     *            the mobile number of the customer
+     * @return an Optional containing the last modification time, or an empty Optional if not found
+     */
+    Optional<LocalDateTime> fetchLastModified(String mobileNumber);
 }
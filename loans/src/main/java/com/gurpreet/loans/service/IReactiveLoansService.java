@@ -0,0 +1,65 @@
+package com.gurpreet.loans.service;
+
+import com.gurpreet.loans.dto.LoansDto;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface IReactiveLoansService {
+
+    /**
+     * Creates a new loan for the given mobile number.
+     *
+     * @param mobileNumber
+     * The mobile number of the customer for whom the loan is to be created.
+     * @return a Mono completing when the loan is saved, or failing with LoanAlreadyExistsException
+     */
+    Mono<Void> createLoan(String mobileNumber);
+
+    /**
+     * Fetches the loan details for the given mobile number.
+     *
+     * @param mobileNumber
+     *            the mobile number of the customer for whom the loan is to be
+     *            fetched
+     * @return a Mono emitting the loan details, or failing with ResourceNotFoundException
+     */
+    Mono<LoansDto> fetchLoan(String mobileNumber);
+
+    /**
+     * Updates the loan details for the loan number of the given LoansDto.
+     *
+     * @param loansDto
+     *            the LoansDto object containing the loan details to be updated.
+     * @return a Mono emitting true if the loan is updated successfully, false otherwise.
+     */
+    Mono<Boolean> updateLoan(LoansDto loansDto);
+
+    /**
+     * Deletes the loan associated with the given mobile number.
+     *
+     * @param mobileNumber
+     * The mobile number of the customer whose loan is to be deleted.
+     * @return a Mono emitting true if the loan is deleted successfully, false otherwise.
+     */
+    Mono<Boolean> deleteLoan(String mobileNumber);
+
+    /**
+     * Fetches the loan details of several customers at once.
+     *
+     * @param mobileNumbers the mobile numbers of the customers whose loans are to be fetched
+     * @return a Mono emitting a map keyed by mobile number, in request order, with a null value for the ones not found
+     */
+    Mono<Map<String, LoansDto>> fetchLoans(List<String> mobileNumbers);
+
+    /**
+     * Fetches only the last modification time of the loan details of the given mobile number,
+     * used as the validator of the conditional fetch.
+     *
+     * @param mobileNumber the mobile number of the customer
+     * @return a Mono emitting the last modification time, or an empty Mono if not found
+     */
+    Mono<LocalDateTime> fetchLastModified(String mobileNumber);
+}
@@ -0,0 +1,87 @@
+package com.gurpreet.loans.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent calls for the same key into a single execution.
+ *
+ * The first caller for a key runs the loader, every caller arriving while it is still running
+ * waits for and shares its result (or its exception). Nothing is cached once the call completes.
+ * Each follower receives its own copy of the result, so a caller changing it does not affect the others.
+ *
+ * The calls are counted in fetch.coalescing.calls, tagged with role=leader for the executed ones
+ * and role=follower for the coalesced ones.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the result
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+
+    private final Counter followers;
+
+    private final UnaryOperator<V> copier;
+
+    public SingleFlight(String operation, MeterRegistry meterRegistry, UnaryOperator<V> copier) {
+        this.copier = copier;
+        this.leaders = Counter.builder("fetch.coalescing.calls")
+                .tag("operation", operation).tag("role", "leader")
+                .register(meterRegistry);
+        this.followers = Counter.builder("fetch.coalescing.calls")
+                .tag("operation", operation).tag("role", "follower")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the loader for the key, or joins the execution already in flight for it.
+     *
+     * @param key the key identifying identical calls
+     * @param loader the call to execute
+     * @return the result of the shared execution
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            followers.increment();
+            V shared = join(existing);
+            return shared == null ? null : copier.apply(shared);
+        }
+        leaders.increment();
+        try {
+            V result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // errors too, otherwise the followers would wait forever
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
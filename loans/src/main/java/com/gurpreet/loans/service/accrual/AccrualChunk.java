@@ -0,0 +1,19 @@
+package com.gurpreet.loans.service.accrual;
+
+/**
+ * A keyset-ordered chunk of loans read by the interest accrual, as parallel primitive arrays.
+ *
+ * @param loanIds the primary keys of the loans, ascending
+ * @param outstandingAmounts the outstanding amounts of the loans
+ * @param size the number of loans in the chunk
+ */
+public record AccrualChunk(long[] loanIds, int[] outstandingAmounts, int size) {
+
+    public long firstLoanId() {
+        return loanIds[0];
+    }
+
+    public long lastLoanId() {
+        return loanIds[size - 1];
+    }
+}
@@ -0,0 +1,60 @@
+package com.gurpreet.loans.service.accrual;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * The highest loan id below which every chunk of an accrual run has been committed.
+ *
+ * Chunks are issued in key order but complete in any order on the workers, so the watermark only moves
+ * over the contiguous prefix of completed chunks. A restarted run resumes after the watermark; the
+ * chunks above it which had already committed are skipped by the accrual ledger.
+ */
+public class AccrualWatermark {
+
+    private static final class Range {
+        private final long lastLoanId;
+        private boolean completed;
+
+        private Range(long lastLoanId) {
+            this.lastLoanId = lastLoanId;
+        }
+    }
+
+    private final Deque<Range> pending = new ArrayDeque<>();
+
+    private long watermark;
+
+    public AccrualWatermark(long watermark) {
+        this.watermark = watermark;
+    }
+
+    /**
+     * Registers a chunk handed to a worker, chunks must be issued in ascending key order.
+     */
+    public synchronized void issue(long lastLoanId) {
+        pending.addLast(new Range(lastLoanId));
+    }
+
+    /**
+     * Marks the chunk ending at the given loan id as committed.
+     *
+     * @return the watermark after advancing it over the completed prefix
+     */
+    public synchronized long complete(long lastLoanId) {
+        for (Range range : pending) {
+            if (range.lastLoanId == lastLoanId) {
+                range.completed = true;
+                break;
+            }
+        }
+        while (!pending.isEmpty() && pending.peekFirst().completed) {
+            watermark = pending.pollFirst().lastLoanId;
+        }
+        return watermark;
+    }
+
+    public synchronized long get() {
+        return watermark;
+    }
+}
@@ -0,0 +1,160 @@
+package com.gurpreet.loans.service.accrual;
+
+import com.gurpreet.loans.entity.Loans;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Database side of the interest accrual.
+ *
+ * Every accrued loan gets a row in the loan_interest_accrual ledger, keyed by period and loan id. A chunk
+ * inserts its ledger rows with INSERT IGNORE and then adds the not yet applied ones to the outstanding
+ * amounts with one set-based UPDATE, in the same transaction. Replaying a chunk after a crash therefore
+ * changes nothing, which is what makes the run restartable from a coarse watermark.
+ *
+ * The reads go straight to the primary: they run outside of a read-only transaction.
+ */
+@Component
+@Profile("!reactive")
+public class InterestAccrualStore {
+
+    static final String AUDIT_USER = "LOANS_ACCRUAL";
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+
+    private static final String NEXT_CHUNK_SQL = """
+            select loan_id, outstanding_amount from loans where loan_id > ? order by loan_id limit ?""";
+
+    private static final String INSERT_LEDGER_SQL = """
+            insert ignore into loan_interest_accrual (period, loan_id, interest, applied, accrued_at)
+            values (?, ?, ?, false, ?)""";
+
+    private static final String APPLY_LEDGER_SQL = """
+            update loans l join loan_interest_accrual a on a.loan_id = l.loan_id
+            set l.outstanding_amount = l.outstanding_amount + a.interest, l.updated_at = ?, l.updated_by = ?, a.applied = true
+            where a.period = ? and a.applied = false and a.loan_id between ? and ?""";
+
+    /**
+     * The state of the accrual run of one period.
+     *
+     * @param period the accrued month
+     * @param status RUNNING until every loan is accrued, then COMPLETED
+     * @param annualRatePercent the rate the run was started with, kept when it is resumed
+     * @param watermarkLoanId the loan id below which every chunk has been committed
+     */
+    public record AccrualRun(YearMonth period, String status, double annualRatePercent, long watermarkLoanId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public InterestAccrualStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public Optional<AccrualRun> findRun(YearMonth period) {
+        return jdbcTemplate.query(
+                "select status, annual_rate_percent, watermark_loan_id from interest_accrual_run where period = ?",
+                (rs, rowNum) -> new AccrualRun(period, rs.getString(1), rs.getDouble(2), rs.getLong(3)),
+                period.toString()).stream().findFirst();
+    }
+
+    /**
+     * @return the periods whose run stopped before completing, oldest first
+     */
+    public List<YearMonth> findRunningPeriods() {
+        return jdbcTemplate.queryForList("select period from interest_accrual_run where status = ? order by period",
+                String.class, RUNNING).stream().map(YearMonth::parse).toList();
+    }
+
+    public AccrualRun startRun(YearMonth period, double annualRatePercent) {
+        jdbcTemplate.update("""
+                        insert into interest_accrual_run (period, status, annual_rate_percent, watermark_loan_id, accrued_loans, started_at)
+                        values (?, ?, ?, 0, 0, ?)""",
+                period.toString(), RUNNING, BigDecimal.valueOf(annualRatePercent), Timestamp.valueOf(LocalDateTime.now()));
+        return new AccrualRun(period, RUNNING, annualRatePercent, 0);
+    }
+
+    public void saveWatermark(YearMonth period, long watermarkLoanId) {
+        jdbcTemplate.update(
+                "update interest_accrual_run set watermark_loan_id = greatest(watermark_loan_id, ?) where period = ?",
+                watermarkLoanId, period.toString());
+    }
+
+    public void completeRun(YearMonth period) {
+        jdbcTemplate.update("""
+                        update interest_accrual_run
+                        set status = ?, finished_at = ?,
+                        accrued_loans = (select count(*) from loan_interest_accrual where period = ?)
+                        where period = ?""",
+                COMPLETED, Timestamp.valueOf(LocalDateTime.now()), period.toString(), period.toString());
+    }
+
+    /**
+     * Reads the next chunk of loans after the given id, in key order.
+     *
+     * @return the chunk, with a size of zero once all the loans have been read
+     */
+    public AccrualChunk nextChunk(long afterLoanId, int chunkSize) {
+        long[] loanIds = new long[chunkSize];
+        int[] outstandingAmounts = new int[chunkSize];
+        int[] size = new int[1];
+        jdbcTemplate.query(NEXT_CHUNK_SQL, rs -> {
+            loanIds[size[0]] = rs.getLong(1);
+            outstandingAmounts[size[0]] = rs.getInt(2);
+            size[0]++;
+        }, afterLoanId, chunkSize);
+        return new AccrualChunk(loanIds, outstandingAmounts, size[0]);
+    }
+
+    /**
+     * Accrues one month of interest on every loan of the chunk, in one transaction.
+     *
+     * @param monthlyRate the monthly interest rate as a fraction
+     */
+    public void accrue(YearMonth period, AccrualChunk chunk, double monthlyRate) {
+        String periodKey = period.toString();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_LEDGER_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setString(1, periodKey);
+                    ps.setLong(2, chunk.loanIds()[i]);
+                    ps.setInt(3, (int) Math.round(chunk.outstandingAmounts()[i] * monthlyRate));
+                    ps.setTimestamp(4, now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            });
+            jdbcTemplate.update(APPLY_LEDGER_SQL, now, AUDIT_USER, periodKey, chunk.firstLoanId(), chunk.lastLoanId());
+        });
+        // the rows were changed behind Hibernate's back, drop them from the second-level cache
+        for (int i = 0; i < chunk.size(); i++) {
+            entityManagerFactory.getCache().evict(Loans.class, chunk.loanIds()[i]);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.gurpreet.loans.service.amortization;
+
+/**
+ * EMI arithmetic on primitive values.
+ *
+ * Amounts are in paise (1/100 of the loan currency unit) as longs, the rate is the monthly rate as a
+ * double. The EMI is rounded up to the paisa and the interest of each installment is rounded half-up,
+ * the last installment pays off whatever balance is left so the schedule always closes at zero.
+ * Nothing here allocates: the portfolio recompute runs these methods millions of times.
+ */
+public final class Amortization {
+
+    /** Index of the EMI in the summary array. */
+    public static final int EMI = 0;
+    /** Index of the total interest in the summary array. */
+    public static final int TOTAL_INTEREST = 1;
+    /** Index of the number of installments in the summary array. */
+    public static final int INSTALLMENTS = 2;
+    /** Length of the summary array. */
+    public static final int SUMMARY_SIZE = 3;
+
+    private Amortization() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param annualRatePercent the yearly interest rate, e.g. 8.5
+     * @return the monthly interest rate as a fraction
+     */
+    public static double monthlyRate(double annualRatePercent) {
+        return annualRatePercent / 1200.0;
+    }
+
+    /**
+     * @param principal the amount to be repaid, in paise
+     * @param monthlyRate the monthly interest rate as a fraction
+     * @param months the number of monthly installments
+     * @return the equated monthly installment in paise, rounded up
+     */
+    public static long emi(long principal, double monthlyRate, int months) {
+        if (principal <= 0) {
+            return 0;
+        }
+        if (monthlyRate == 0) {
+            return (principal + months - 1) / months;
+        }
+        double growth = Math.pow(1 + monthlyRate, months);
+        return (long) Math.ceil(principal * monthlyRate * growth / (growth - 1));
+    }
+
+    /**
+     * Computes the EMI, the total interest and the number of installments without keeping the schedule.
+     *
+     * @param summary receives the results at {@link #EMI}, {@link #TOTAL_INTEREST} and {@link #INSTALLMENTS}
+     */
+    public static void summarize(long principal, double monthlyRate, int months, long[] summary) {
+        long emi = emi(principal, monthlyRate, months);
+        long balance = principal;
+        long totalInterest = 0;
+        int installments = 0;
+        while (balance > 0 && installments < months) {
+            long interest = Math.round(balance * monthlyRate);
+            long repaid = installments == months - 1 ? balance : Math.min(emi - interest, balance);
+            totalInterest += interest;
+            balance -= repaid;
+            installments++;
+        }
+        summary[EMI] = emi;
+        summary[TOTAL_INTEREST] = totalInterest;
+        summary[INSTALLMENTS] = installments;
+    }
+
+    /**
+     * Fills the installments of the schedule into the given arrays, which must hold at least months values.
+     *
+     * @param interest receives the interest part of each installment
+     * @param repaid receives the principal part of each installment
+     * @param balance receives the balance left after each installment
+     * @return the number of installments
+     */
+    public static int schedule(long principal, double monthlyRate, int months,
+                               long[] interest, long[] repaid, long[] balance) {
+        long emi = emi(principal, monthlyRate, months);
+        long left = principal;
+        int installment = 0;
+        while (left > 0 && installment < months) {
+            interest[installment] = Math.round(left * monthlyRate);
+            repaid[installment] = installment == months - 1 ? left : Math.min(emi - interest[installment], left);
+            left -= repaid[installment];
+            balance[installment] = left;
+            installment++;
+        }
+        return installment;
+    }
+}
@@ -0,0 +1,42 @@
+package com.gurpreet.loans.service.amortization;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * The interest rate and tenure the schedules are computed with.
+ *
+ * They are read from the environment on every use rather than bound once, so a rate refreshed from the
+ * config server applies to the next schedule right away. Terms which cannot produce a schedule (no
+ * installment, more than MAX_TENURE_MONTHS, a negative rate) are rejected.
+ *
+ * @param annualRatePercent the yearly interest rate, e.g. 8.5
+ * @param tenureMonths the number of monthly installments
+ */
+public record AmortizationTerms(double annualRatePercent, int tenureMonths) {
+
+    public static final String ANNUAL_RATE_PERCENT = "loan-amortization.annual-rate-percent";
+    public static final String TENURE_MONTHS = "loan-amortization.tenure-months";
+
+    /** 50 years, bounds the arrays of a schedule. */
+    public static final int MAX_TENURE_MONTHS = 600;
+
+    public AmortizationTerms {
+        if (tenureMonths < 1 || tenureMonths > MAX_TENURE_MONTHS) {
+            throw new IllegalArgumentException(TENURE_MONTHS + " must be between 1 and " + MAX_TENURE_MONTHS
+                    + ", got " + tenureMonths);
+        }
+        if (!(annualRatePercent >= 0) || Double.isInfinite(annualRatePercent)) {
+            throw new IllegalArgumentException(ANNUAL_RATE_PERCENT + " must be zero or positive, got "
+                    + annualRatePercent);
+        }
+    }
+
+    public static AmortizationTerms from(Environment environment) {
+        return new AmortizationTerms(environment.getProperty(ANNUAL_RATE_PERCENT, Double.class, 8.5),
+                environment.getProperty(TENURE_MONTHS, Integer.class, 240));
+    }
+
+    public double monthlyRate() {
+        return Amortization.monthlyRate(annualRatePercent);
+    }
+}
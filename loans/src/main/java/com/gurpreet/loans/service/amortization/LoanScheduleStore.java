@@ -0,0 +1,99 @@
+package com.gurpreet.loans.service.amortization;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Stores the schedule summaries in loan_schedule, the portfolio recompute writes one JDBC batch per chunk.
+ *
+ * computed_at is the time the balances were read, not the time of the write, and a row is only replaced by
+ * a summary read at the same time or later: a recompute chunk read before a loan update and written after
+ * the refresh of that loan leaves the refreshed row in place.
+ */
+@Component
+@Profile("!reactive")
+public class LoanScheduleStore {
+
+    private static final String UPSERT_SQL = """
+            insert into loan_schedule (loan_id, annual_rate_percent, tenure_months, emi, total_interest, installments, computed_at)
+            values (?, ?, ?, ?, ?, ?, ?)
+            on duplicate key update
+            annual_rate_percent = if(values(computed_at) >= computed_at, values(annual_rate_percent), annual_rate_percent),
+            tenure_months = if(values(computed_at) >= computed_at, values(tenure_months), tenure_months),
+            emi = if(values(computed_at) >= computed_at, values(emi), emi),
+            total_interest = if(values(computed_at) >= computed_at, values(total_interest), total_interest),
+            installments = if(values(computed_at) >= computed_at, values(installments), installments),
+            computed_at = greatest(computed_at, values(computed_at))""";
+
+    private static final String FIND_SQL = """
+            select annual_rate_percent, tenure_months, emi, total_interest, installments, computed_at
+            from loan_schedule where loan_id = ?""";
+
+    /**
+     * The stored schedule summary of one loan, amounts in paise.
+     *
+     * @param annualRatePercent the yearly interest rate it was computed with
+     * @param tenureMonths the number of monthly installments it was computed with
+     * @param emi the equated monthly installment
+     * @param totalInterest the interest paid over the whole schedule
+     * @param installments the number of installments
+     * @param computedAt when the balance it was computed from was read
+     */
+    public record StoredSchedule(double annualRatePercent, int tenureMonths, long emi, long totalInterest,
+                                 int installments, LocalDateTime computedAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LoanScheduleStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<StoredSchedule> find(long loanId) {
+        return jdbcTemplate.query(FIND_SQL,
+                (rs, rowNum) -> new StoredSchedule(rs.getDouble(1), rs.getInt(2), rs.getLong(3), rs.getLong(4),
+                        rs.getInt(5), rs.getTimestamp(6).toLocalDateTime()),
+                loanId).stream().findFirst();
+    }
+
+    /**
+     * Writes the summaries of the chunk, keeping the rows computed from balances read after readAt.
+     * computed_at is assigned last, the other columns compare with its stored value.
+     *
+     * @param readAt the time the balances of the chunk were read, before the query started
+     */
+    public void write(ScheduleChunk chunk, double annualRatePercent, int tenureMonths, LocalDateTime readAt) {
+        BigDecimal rate = BigDecimal.valueOf(annualRatePercent);
+        Timestamp computedAt = Timestamp.valueOf(readAt);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, chunk.loanIds()[i]);
+                ps.setBigDecimal(2, rate);
+                ps.setInt(3, tenureMonths);
+                ps.setLong(4, chunk.emis()[i]);
+                ps.setLong(5, chunk.totalInterests()[i]);
+                ps.setInt(6, chunk.installments()[i]);
+                ps.setTimestamp(7, computedAt);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return chunk.size();
+            }
+        });
+    }
+
+    public void delete(long loanId) {
+        jdbcTemplate.update("delete from loan_schedule where loan_id = ?", loanId);
+    }
+}
@@ -0,0 +1,19 @@
+package com.gurpreet.loans.service.amortization;
+
+/**
+ * A chunk of loans of the portfolio recompute as parallel primitive arrays, the first size entries are used.
+ *
+ * @param loanIds the primary keys of the loans
+ * @param principals the outstanding amounts in paise
+ * @param emis receives the EMIs in paise
+ * @param totalInterests receives the total interests in paise
+ * @param installments receives the number of installments
+ * @param size the number of loans in the chunk
+ */
+public record ScheduleChunk(long[] loanIds, long[] principals, long[] emis, long[] totalInterests,
+                            int[] installments, int size) {
+
+    public static ScheduleChunk of(long[] loanIds, long[] principals, int size) {
+        return new ScheduleChunk(loanIds, principals, new long[size], new long[size], new int[size], size);
+    }
+}
@@ -0,0 +1,54 @@
+package com.gurpreet.loans.service.amortization;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes the schedule summary of a chunk of loans, splitting it in halves until a part is small
+ * enough to be worth a task of its own.
+ *
+ * The chunk is a set of parallel arrays indexed by loan, the inputs are the principals and the
+ * results are written in place, so the only allocation per leaf is the summary buffer.
+ */
+public class ScheduleChunkTask extends RecursiveAction {
+
+    static final int LEAF_SIZE = 1024;
+
+    private final ScheduleChunk chunk;
+
+    private final double monthlyRate;
+
+    private final int months;
+
+    private final int from;
+
+    private final int to;
+
+    public ScheduleChunkTask(ScheduleChunk chunk, double monthlyRate, int months) {
+        this(chunk, monthlyRate, months, 0, chunk.size());
+    }
+
+    private ScheduleChunkTask(ScheduleChunk chunk, double monthlyRate, int months, int from, int to) {
+        this.chunk = chunk;
+        this.monthlyRate = monthlyRate;
+        this.months = months;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= LEAF_SIZE) {
+            long[] summary = new long[Amortization.SUMMARY_SIZE];
+            for (int i = from; i < to; i++) {
+                Amortization.summarize(chunk.principals()[i], monthlyRate, months, summary);
+                chunk.emis()[i] = summary[Amortization.EMI];
+                chunk.totalInterests()[i] = summary[Amortization.TOTAL_INTEREST];
+                chunk.installments()[i] = (int) summary[Amortization.INSTALLMENTS];
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new ScheduleChunkTask(chunk, monthlyRate, months, from, middle),
+                new ScheduleChunkTask(chunk, monthlyRate, months, middle, to));
+    }
+}
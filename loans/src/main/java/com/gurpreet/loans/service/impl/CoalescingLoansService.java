@@ -0,0 +1,69 @@
+package com.gurpreet.loans.service.impl;
+
+import com.gurpreet.loans.dto.LoansDto;
+import com.gurpreet.loans.mapper.LoansMapper;
+import com.gurpreet.loans.service.ILoansService;
+import com.gurpreet.loans.service.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Coalescing layer in front of {@link LoansServiceImpl}.
+ *
+ * During hot-key storms thousands of identical fetches arrive at the same time, they are collapsed
+ * into one in-flight query per mobile number. Writes are passed through unchanged.
+ */
+@Service
+@Primary
+@Profile("!reactive")
+public class CoalescingLoansService implements ILoansService {
+
+    private final LoansServiceImpl loansServiceImpl;
+
+    private final SingleFlight<String, LoansDto> fetchLoanFlight;
+
+    public CoalescingLoansService(LoansServiceImpl loansServiceImpl, MeterRegistry meterRegistry) {
+        this.loansServiceImpl = loansServiceImpl;
+        this.fetchLoanFlight = new SingleFlight<>("fetchLoan", meterRegistry, LoansMapper::copyOf);
+    }
+
+    @Override
+    public void createLoan(String mobileNumber) {
+        loansServiceImpl.createLoan(mobileNumber);
+    }
+
+    /**
+     * Concurrent fetches for the same mobile number share a single database lookup.
+     */
+    @Override
+    public LoansDto fetchLoan(String mobileNumber) {
+        return fetchLoanFlight.execute(mobileNumber, () -> loansServiceImpl.fetchLoan(mobileNumber));
+    }
+
+    @Override
+    public boolean updateLoan(LoansDto loansDto) {
+        return loansServiceImpl.updateLoan(loansDto);
+    }
+
+    @Override
+    public boolean deleteLoan(String mobileNumber) {
+        return loansServiceImpl.deleteLoan(mobileNumber);
+    }
+
+    @Override
+    public Map<String, LoansDto> fetchLoans(List<String> mobileNumbers) {
+        return loansServiceImpl.fetchLoans(mobileNumbers);
+    }
+
+    @Override
+    public Optional<LocalDateTime> fetchLastModified(String mobileNumber) {
+        return loansServiceImpl.fetchLastModified(mobileNumber);
+    }
+}
@@ -0,0 +1,230 @@
+package com.gurpreet.loans.service.impl;
+
+import com.gurpreet.loans.service.IInterestAccrualService;
+import com.gurpreet.loans.service.ILoanScheduleService;
+import com.gurpreet.loans.service.accrual.AccrualChunk;
+import com.gurpreet.loans.service.accrual.AccrualWatermark;
+import com.gurpreet.loans.service.accrual.InterestAccrualStore;
+import com.gurpreet.loans.service.amortization.Amortization;
+import com.gurpreet.loans.service.amortization.AmortizationTerms;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Accrues the monthly interest of every loan as a chunked, restartable batch.
+ *
+ * One coordinator thread reads the loans in keyset-ordered chunks (loan_id &gt; last id, limit chunk-size)
+ * and hands them to a pool of workers, each chunk being accrued in its own transaction by the
+ * {@link InterestAccrualStore}, after which the stored schedules of its loans are refreshed. At most one
+ * chunk per worker is queued, so the reader never runs ahead.
+ * The {@link AccrualWatermark} of the run is persisted whenever it advances; a run which stopped (crash,
+ * shutdown, database error) resumes from it, with the rate it was started with. The stopped runs are resumed
+ * once the application is ready and by every nightly run, before the previous month, whatever their period.
+ * The bean is never lazy, the schedule must not wait for a request to create it (startup profile).
+ */
+@Service
+@Lazy(false)
+@Profile("!reactive")
+public class InterestAccrualServiceImpl implements IInterestAccrualService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterestAccrualServiceImpl.class);
+
+    private final InterestAccrualStore interestAccrualStore;
+
+    private final ILoanScheduleService iLoanScheduleService;
+
+    private final Environment environment;
+
+    private final int chunkSize;
+
+    private final int workerCount;
+
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "interest-accrual"));
+
+    private final ExecutorService workers;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong watermark = new AtomicLong();
+
+    private final Counter accruedLoans;
+
+    private final Timer chunks;
+
+    private final Timer runs;
+
+    public InterestAccrualServiceImpl(InterestAccrualStore interestAccrualStore,
+                                      ILoanScheduleService iLoanScheduleService, Environment environment,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${interest-accrual.chunk-size:5000}") int chunkSize,
+                                      @Value("${interest-accrual.workers:4}") int workerCount) {
+        this.interestAccrualStore = interestAccrualStore;
+        this.iLoanScheduleService = iLoanScheduleService;
+        this.environment = environment;
+        this.chunkSize = chunkSize;
+        this.workerCount = workerCount;
+        this.workers = Executors.newFixedThreadPool(workerCount,
+                Thread.ofPlatform().name("interest-accrual-worker-", 0).factory());
+
+        this.accruedLoans = Counter.builder("loans.accrual.loans")
+                .description("Loans accrued by the interest accrual batch")
+                .register(meterRegistry);
+        this.chunks = Timer.builder("loans.accrual.chunk")
+                .description("Accrual of one chunk, in one transaction")
+                .register(meterRegistry);
+        this.runs = Timer.builder("loans.accrual.run")
+                .description("Interest accrual run of a whole period")
+                .register(meterRegistry);
+        Gauge.builder("loans.accrual.watermark", watermark, AtomicLong::get)
+                .description("Loan id below which the current run has committed every chunk")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Accrues the previous month every night, after resuming the runs which stopped before completing.
+     * Once the period is completed the next nights are no-ops.
+     */
+    @Scheduled(cron = "${interest-accrual.cron:0 30 1 * * *}")
+    public void accrueLastMonth() {
+        List<YearMonth> periods = new ArrayList<>(interestAccrualStore.findRunningPeriods());
+        YearMonth lastMonth = YearMonth.now().minusMonths(1);
+        if (!periods.contains(lastMonth)) {
+            periods.add(lastMonth);
+        }
+        start(periods);
+    }
+
+    /**
+     * Resumes the runs which stopped before completing, so a crash or a restart during a run does not wait
+     * for the next night, nor gets lost once the month has rolled over.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeStoppedRuns() {
+        List<YearMonth> periods = interestAccrualStore.findRunningPeriods();
+        if (!periods.isEmpty()) {
+            logger.info("Resuming the interest accrual of {}", periods);
+            start(periods);
+        }
+    }
+
+    @Override
+    public boolean startAccrual(YearMonth period) {
+        return start(List.of(period));
+    }
+
+    private boolean start(List<YearMonth> periods) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        coordinator.execute(() -> {
+            try {
+                for (YearMonth period : periods) {
+                    accrueLogged(period);
+                }
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    private void accrueLogged(YearMonth period) {
+        try {
+            runs.record(() -> accrue(period));
+        } catch (RuntimeException e) {
+            logger.error("Interest accrual of {} stopped at loan id {}, it resumes from there on the next run",
+                    period, watermark.get(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void accrue(YearMonth period) {
+        InterestAccrualStore.AccrualRun run = interestAccrualStore.findRun(period).orElseGet(
+                () -> interestAccrualStore.startRun(period, AmortizationTerms.from(environment).annualRatePercent()));
+        if (InterestAccrualStore.COMPLETED.equals(run.status())) {
+            logger.info("Interest of {} already accrued", period);
+            return;
+        }
+        double monthlyRate = Amortization.monthlyRate(run.annualRatePercent());
+        AccrualWatermark accrualWatermark = new AccrualWatermark(run.watermarkLoanId());
+        watermark.set(run.watermarkLoanId());
+        Semaphore inFlight = new Semaphore(workerCount * 2);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        long accrued = 0;
+        long started = System.nanoTime();
+        logger.info("Accruing the interest of {} at {}% from loan id {}", period, run.annualRatePercent(), run.watermarkLoanId());
+
+        long after = run.watermarkLoanId();
+        while (failure.get() == null) {
+            AccrualChunk chunk = interestAccrualStore.nextChunk(after, chunkSize);
+            if (chunk.size() == 0) {
+                break;
+            }
+            after = chunk.lastLoanId();
+            accrued += chunk.size();
+            accrualWatermark.issue(chunk.lastLoanId());
+            acquire(inFlight, 1);
+            workers.execute(() -> {
+                try {
+                    chunks.record(() -> interestAccrualStore.accrue(period, chunk, monthlyRate));
+                    iLoanScheduleService.refreshSchedules(chunk.firstLoanId(), chunk.lastLoanId());
+                    accruedLoans.increment(chunk.size());
+                    long advanced = accrualWatermark.complete(chunk.lastLoanId());
+                    if (watermark.getAndAccumulate(advanced, Math::max) < advanced) {
+                        interestAccrualStore.saveWatermark(period, advanced);
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        acquire(inFlight, workerCount * 2);
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        interestAccrualStore.completeRun(period);
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        logger.info("Accrued the interest of {} on {} loans in {} ms ({} loans/s)", period, accrued, elapsedMillis,
+                accrued * 1000 / elapsedMillis);
+    }
+
+    private static void acquire(Semaphore semaphore, int permits) {
+        try {
+            semaphore.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while accruing the interest", e);
+        }
+    }
+}
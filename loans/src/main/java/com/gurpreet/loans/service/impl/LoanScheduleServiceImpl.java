@@ -0,0 +1,338 @@
+package com.gurpreet.loans.service.impl;
+
+import com.gurpreet.loans.config.ReadYourWritesTracker;
+import com.gurpreet.loans.dto.LoanScheduleDto;
+import com.gurpreet.loans.entity.Loans;
+import com.gurpreet.loans.exception.ResourceNotFoundException;
+import com.gurpreet.loans.mapper.LoanScheduleMapper;
+import com.gurpreet.loans.repository.LoanBalance;
+import com.gurpreet.loans.repository.LoansRepository;
+import com.gurpreet.loans.service.ILoanScheduleService;
+import com.gurpreet.loans.service.MobileNumberFilter;
+import com.gurpreet.loans.service.amortization.Amortization;
+import com.gurpreet.loans.service.amortization.AmortizationTerms;
+import com.gurpreet.loans.service.amortization.LoanScheduleStore;
+import com.gurpreet.loans.service.amortization.ScheduleChunk;
+import com.gurpreet.loans.service.amortization.ScheduleChunkTask;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Computes loan repayment schedules with the {@link Amortization} arithmetic.
+ *
+ * The schedule summary (EMI, total interest, installments) of every loan is stored in loan_schedule. The
+ * portfolio recompute streams the balances of all the loans on one thread, cuts them into chunks of
+ * primitive arrays and hands each chunk to a fork/join pool which splits the computation over the cores
+ * and then writes the chunk with one JDBC batch. At most max-in-flight-chunks chunks are held at once, so
+ * memory stays flat whatever the portfolio size. A change of the rate or tenure in the environment starts a
+ * recompute; the loans created, updated or accrued are refreshed one by one and the deleted ones removed.
+ *
+ * A summary request is served from the stored row when it was computed with the current terms after the
+ * last change of the loan, otherwise (recompute pending, loan changed by another writer) it is computed.
+ * The installments are always computed on request.
+ */
+@Service
+@Profile("!reactive")
+public class LoanScheduleServiceImpl implements ILoanScheduleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoanScheduleServiceImpl.class);
+
+    private final LoansRepository loansRepository;
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    private final MobileNumberFilter mobileNumberFilter;
+
+    private final LoanScheduleStore loanScheduleStore;
+
+    private final TransactionTemplate streamingTransaction;
+
+    private final TransactionTemplate refreshTransaction;
+
+    private final Environment environment;
+
+    private final int chunkSize;
+
+    private final int maxInFlightChunks;
+
+    private final ForkJoinPool pool;
+
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "loan-schedule-recompute"));
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Timer recomputes;
+
+    private final Counter recomputedLoans;
+
+    public LoanScheduleServiceImpl(LoansRepository loansRepository, ReadYourWritesTracker readYourWritesTracker,
+                                   MobileNumberFilter mobileNumberFilter, LoanScheduleStore loanScheduleStore,
+                                   PlatformTransactionManager transactionManager, Environment environment,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${loan-amortization.recompute.chunk-size:10000}") int chunkSize,
+                                   @Value("${loan-amortization.recompute.parallelism:0}") int parallelism,
+                                   @Value("${loan-amortization.recompute.max-in-flight-chunks:4}") int maxInFlightChunks) {
+        this.loansRepository = loansRepository;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.mobileNumberFilter = mobileNumberFilter;
+        this.loanScheduleStore = loanScheduleStore;
+        this.streamingTransaction = new TransactionTemplate(transactionManager);
+        this.streamingTransaction.setReadOnly(true);
+        // also used after the commit of the caller's transaction, which can no longer write
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.environment = environment;
+        this.chunkSize = chunkSize;
+        this.maxInFlightChunks = maxInFlightChunks;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+
+        this.recomputes = Timer.builder("loans.schedule.recompute")
+                .description("Recompute of the schedules of the whole portfolio")
+                .register(meterRegistry);
+        this.recomputedLoans = Counter.builder("loans.schedule.recomputed")
+                .description("Loans whose schedule was recomputed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Computes the schedule of the outstanding amount of the loan of the given mobile number.
+     *
+     * @param mobileNumber the mobile number of the customer
+     * @param withInstallments false to only return the summary, read from loan_schedule when it is current
+     * @return the EMI, the total interest and, if requested, the monthly installments of the loan
+     * @throws ResourceNotFoundException if no loan is associated with the given mobile number
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LoanScheduleDto fetchSchedule(String mobileNumber, boolean withInstallments) {
+        if (!mobileNumberFilter.mightContain(mobileNumber)) {
+            throw new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber);
+        }
+        readYourWritesTracker.pinToPrimaryIfRecentlyWritten(mobileNumber);
+        Loans loans = loansRepository.findByMobileNumber(mobileNumber).orElseThrow(
+                () -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber)
+        );
+        AmortizationTerms terms = AmortizationTerms.from(environment);
+        long principal = loans.getOutstandingAmount() * 100L;
+        int months = terms.tenureMonths();
+        if (!withInstallments) {
+            return fetchSummary(loans, terms, principal);
+        }
+        long[] interest = new long[months];
+        long[] repaid = new long[months];
+        long[] balance = new long[months];
+        int installments = Amortization.schedule(principal, terms.monthlyRate(), months, interest, repaid, balance);
+        return LoanScheduleMapper.mapToLoanScheduleDto(loans, terms.annualRatePercent(), months,
+                Amortization.emi(principal, terms.monthlyRate(), months), interest, repaid, balance, installments,
+                new LoanScheduleDto());
+    }
+
+    @Override
+    public boolean recomputePortfolio() {
+        // invalid terms fail here, before the flag is taken
+        AmortizationTerms terms = AmortizationTerms.from(environment);
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        coordinator.execute(() -> {
+            try {
+                recomputes.record(() -> recompute(terms));
+            } catch (RuntimeException e) {
+                logger.error("Loan schedule recompute failed", e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public void refreshSchedules(long firstLoanId, long lastLoanId) {
+        afterCommit(() -> refreshTransaction.executeWithoutResult(status -> {
+            LocalDateTime readAt = LocalDateTime.now();
+            List<LoanBalance> balances = loansRepository.findBalancesBetween(firstLoanId, lastLoanId);
+            if (balances.isEmpty()) {
+                return;
+            }
+            long[] loanIds = new long[balances.size()];
+            long[] principals = new long[balances.size()];
+            for (int i = 0; i < balances.size(); i++) {
+                loanIds[i] = balances.get(i).loanId();
+                principals[i] = balances.get(i).outstandingAmount() * 100L;
+            }
+            AmortizationTerms terms = AmortizationTerms.from(environment);
+            ScheduleChunk chunk = ScheduleChunk.of(loanIds, principals, balances.size());
+            pool.invoke(new ScheduleChunkTask(chunk, terms.monthlyRate(), terms.tenureMonths()));
+            loanScheduleStore.write(chunk, terms.annualRatePercent(), terms.tenureMonths(), readAt);
+        }));
+    }
+
+    @Override
+    public void removeSchedule(long loanId) {
+        afterCommit(() -> refreshTransaction.executeWithoutResult(status -> loanScheduleStore.delete(loanId)));
+    }
+
+    /**
+     * Recomputes every schedule when the rate or the tenure is refreshed.
+     *
+     * @param event the refresh event carrying the changed property names
+     */
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().contains(AmortizationTerms.ANNUAL_RATE_PERCENT)
+                || event.getKeys().contains(AmortizationTerms.TENURE_MONTHS)) {
+            AmortizationTerms terms;
+            try {
+                terms = AmortizationTerms.from(environment);
+            } catch (IllegalArgumentException e) {
+                logger.error("Invalid amortization terms, the loan schedules are not recomputed: {}", e.getMessage());
+                return;
+            }
+            logger.info("Amortization terms changed to {}, recomputing the loan schedules", terms);
+            if (!recomputePortfolio()) {
+                logger.warn("A loan schedule recompute is already running, the new terms apply to the next one");
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    private LoanScheduleDto fetchSummary(Loans loans, AmortizationTerms terms, long principal) {
+        LocalDateTime lastModified = loans.getUpdatedAt() != null ? loans.getUpdatedAt() : loans.getCreatedAt();
+        Optional<LoanScheduleStore.StoredSchedule> stored = loanScheduleStore.find(loans.getLoanId())
+                .filter(schedule -> schedule.tenureMonths() == terms.tenureMonths()
+                        && Double.compare(schedule.annualRatePercent(), terms.annualRatePercent()) == 0
+                        && (lastModified == null || !schedule.computedAt().isBefore(lastModified)));
+        if (stored.isPresent()) {
+            return LoanScheduleMapper.mapToLoanScheduleSummaryDto(loans, terms.annualRatePercent(),
+                    terms.tenureMonths(), stored.get().emi(), stored.get().totalInterest(), new LoanScheduleDto());
+        }
+        long[] summary = new long[Amortization.SUMMARY_SIZE];
+        Amortization.summarize(principal, terms.monthlyRate(), terms.tenureMonths(), summary);
+        return LoanScheduleMapper.mapToLoanScheduleSummaryDto(loans, terms.annualRatePercent(), terms.tenureMonths(),
+                summary[Amortization.EMI], summary[Amortization.TOTAL_INTEREST], new LoanScheduleDto());
+    }
+
+    /**
+     * Runs the refresh of stored schedules once the current transaction committed, or right away without one.
+     * A failure is only logged: the change of the loan itself is committed, and a stale row is not served.
+     */
+    private static void afterCommit(Runnable action) {
+        Runnable quietly = () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                logger.warn("Could not refresh the stored loan schedule, it is computed on request until the next recompute", e);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            quietly.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                quietly.run();
+            }
+        });
+    }
+
+    private void recompute(AmortizationTerms terms) {
+        Semaphore inFlight = new Semaphore(maxInFlightChunks);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        AtomicLong processed = new AtomicLong();
+        long started = System.nanoTime();
+
+        streamingTransaction.executeWithoutResult(status -> {
+            // the stream reads one consistent snapshot, so every chunk is stamped with the time before the query
+            LocalDateTime readAt = LocalDateTime.now();
+            try (Stream<LoanBalance> balances = loansRepository.streamAllBalances()) {
+                Iterator<LoanBalance> iterator = balances.iterator();
+                long[] loanIds = new long[chunkSize];
+                long[] principals = new long[chunkSize];
+                int size = 0;
+                while (iterator.hasNext() && failure.get() == null) {
+                    LoanBalance balance = iterator.next();
+                    loanIds[size] = balance.loanId();
+                    principals[size] = balance.outstandingAmount() * 100L;
+                    if (++size == chunkSize || !iterator.hasNext()) {
+                        submit(ScheduleChunk.of(loanIds, principals, size), terms, readAt, inFlight, failure, processed);
+                        loanIds = new long[chunkSize];
+                        principals = new long[chunkSize];
+                        size = 0;
+                    }
+                }
+            }
+        });
+        acquire(inFlight, maxInFlightChunks);
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        logger.info("Recomputed the schedules of {} loans at {}% over {} months in {} ms", processed.get(),
+                terms.annualRatePercent(), terms.tenureMonths(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Computes the chunk on the fork/join pool and writes it, once one of the in-flight permits is free.
+     */
+    private void submit(ScheduleChunk chunk, AmortizationTerms terms, LocalDateTime readAt, Semaphore inFlight,
+                        AtomicReference<RuntimeException> failure, AtomicLong processed) {
+        acquire(inFlight, 1);
+        pool.execute(ForkJoinTask.adapt(() -> {
+            try {
+                new ScheduleChunkTask(chunk, terms.monthlyRate(), terms.tenureMonths()).invoke();
+                loanScheduleStore.write(chunk, terms.annualRatePercent(), terms.tenureMonths(), readAt);
+                processed.addAndGet(chunk.size());
+                recomputedLoans.increment(chunk.size());
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                inFlight.release();
+            }
+        }));
+    }
+
+    private static void acquire(Semaphore semaphore, int permits) {
+        try {
+            semaphore.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while recomputing the loan schedules", e);
+        }
+    }
+}
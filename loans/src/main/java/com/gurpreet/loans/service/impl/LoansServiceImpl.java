@@ -1,24 +1,41 @@
 package com.gurpreet.loans.service.impl;
 
+import com.gurpreet.loans.config.ReadYourWritesTracker;
 import com.gurpreet.loans.constants.LoansConstants;
 import com.gurpreet.loans.dto.LoansDto;
 import com.gurpreet.loans.entity.Loans;
 import com.gurpreet.loans.exception.LoanAlreadyExistsException;
 import com.gurpreet.loans.exception.ResourceNotFoundException;
+import com.gurpreet.loans.hotkey.HotKeyTracker;
 import com.gurpreet.loans.mapper.LoansMapper;
 import com.gurpreet.loans.repository.LoansRepository;
+import com.gurpreet.loans.service.ILoanScheduleService;
 import com.gurpreet.loans.service.ILoansService;
+import com.gurpreet.loans.service.MobileNumberFilter;
 import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 
 @Service
+@Profile("!reactive")
 @AllArgsConstructor
 public class LoansServiceImpl implements ILoansService {
 
     private LoansRepository loansRepository;
+    private ReadYourWritesTracker readYourWritesTracker;
+    private MobileNumberFilter mobileNumberFilter;
+    private HotKeyTracker hotKeyTracker;
+    private ILoanScheduleService iLoanScheduleService;
 
     /**
      * Creates a new loan for the given mobile number.
@@ -32,12 +49,17 @@ public class LoansServiceImpl implements ILoansService {
      */
     @Override
     public void createLoan(String mobileNumber) {
-        Optional<Loans> optionalLoans = loansRepository.findByMobileNumber(mobileNumber);
+        Optional<Loans> optionalLoans = mobileNumberFilter.mightContain(mobileNumber)
+                ? loansRepository.findByMobileNumber(mobileNumber)
+                : Optional.empty();
         if(optionalLoans.isPresent())
         {
             throw new LoanAlreadyExistsException("Loan already registered with given mobileNumber " + mobileNumber);
         }
-        loansRepository.save(createNewLoan(mobileNumber));
+        Loans loans = loansRepository.save(createNewLoan(mobileNumber));
+        iLoanScheduleService.refreshSchedules(loans.getLoanId(), loans.getLoanId());
+        mobileNumberFilter.add(mobileNumber);
+        readYourWritesTracker.recordWrite(mobileNumber);
     }
 
     /**
@@ -69,7 +91,12 @@ public class LoansServiceImpl implements ILoansService {
      * @throws ResourceNotFoundException if no loan is associated with the given mobile number
      */
     @Override
+    @Transactional(readOnly = true)
     public LoansDto fetchLoan(String mobileNumber) {
+        if (!mobileNumberFilter.mightContain(mobileNumber)) {
+            throw new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber);
+        }
+        readYourWritesTracker.pinToPrimaryIfRecentlyWritten(mobileNumber);
         Loans loans = loansRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 ()-> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber)
         );
@@ -81,19 +108,31 @@ public class LoansServiceImpl implements ILoansService {
      *
      * This method first checks if a loan exists for the given loan number.
      * If a loan does not exist, a ResourceNotFoundException is thrown.
-     * If a loan does exist, the method updates the loan details with the given loan details and saves the loan.
+     * If a loan does exist, the method updates the loan details with the given loan details. The loan stays
+     * managed for the whole transaction, so the changes are flushed by dirty checking (only the changed
+     * columns), and a payload equal to the stored loan is not written at all.
      *
      * @param loansDto the LoansDto object containing the loan details to be updated
      * @return true if the loan is updated successfully, false otherwise
      * @throws ResourceNotFoundException if no loan is associated with the given loan number
      */
     @Override
+    @Transactional
     public boolean updateLoan(LoansDto loansDto) {
+        hotKeyTracker.record("loanNumber", loansDto.getLoanNumber());
         Loans loans  = loansRepository.findByLoanNumber(loansDto.getLoanNumber()).orElseThrow(
                 ()-> new ResourceNotFoundException("Loan", "LoanNumber", loansDto.getLoanNumber())
         );
+        if (LoansMapper.isUnchanged(loansDto, loans)) {
+            return true;
+        }
+        String previousMobileNumber = loans.getMobileNumber();
         LoansMapper.mapToLoans(loansDto, loans);
-        loansRepository.save(loans);
+        iLoanScheduleService.refreshSchedules(loans.getLoanId(), loans.getLoanId());
+        mobileNumberFilter.add(loans.getMobileNumber());
+        // a loan moved to another mobile number must not be found under the old one on a lagging replica
+        readYourWritesTracker.recordWrite(previousMobileNumber);
+        readYourWritesTracker.recordWrite(loans.getMobileNumber());
         return true;
     }
 
@@ -110,11 +149,58 @@ public class LoansServiceImpl implements ILoansService {
      */
     @Override
     public boolean deleteLoan(String mobileNumber) {
+        if (!mobileNumberFilter.mightContain(mobileNumber)) {
+            throw new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber);
+        }
         Loans loans = loansRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 ()-> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber)
         );
         loansRepository.deleteById(loans.getLoanId());
+        iLoanScheduleService.removeSchedule(loans.getLoanId());
+        readYourWritesTracker.recordWrite(mobileNumber);
         return true;
     }
 
+    /**
+     * Fetches the loan details of several customers at once.
+     *
+     * The distinct mobile numbers are resolved with IN queries of at most FETCH_BATCH_CHUNK_SIZE numbers each,
+     * instead of one query per mobile number. Mobile numbers without a loan are mapped to null
+     * rather than raising a ResourceNotFoundException.
+     *
+     * @param mobileNumbers the mobile numbers of the customers whose loans are to be retrieved
+     * @return a map keyed by mobile number, in request order, with a null value for the ones not found
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, LoansDto> fetchLoans(List<String> mobileNumbers) {
+        List<String> distinctNumbers = new ArrayList<>(new LinkedHashSet<>(mobileNumbers));
+        Map<String, LoansDto> result = new LinkedHashMap<>();
+        distinctNumbers.forEach(mobileNumber -> result.put(mobileNumber, null));
+        distinctNumbers.forEach(mobileNumber -> hotKeyTracker.record("mobileNumber", mobileNumber));
+
+        for (int from = 0; from < distinctNumbers.size(); from += LoansConstants.FETCH_BATCH_CHUNK_SIZE) {
+            List<String> chunk = distinctNumbers.subList(from,
+                    Math.min(from + LoansConstants.FETCH_BATCH_CHUNK_SIZE, distinctNumbers.size()));
+            loansRepository.findByMobileNumberIn(chunk).forEach(
+                    loans -> result.put(loans.getMobileNumber(), LoansMapper.maptoLoansDto(loans, new LoansDto())));
+        }
+        return result;
+    }
+
+    /**
+     * Fetches only the last modification time of the loan details of the given mobile number.
+     *
+     * @param mobileNumber the mobile number of the customer
+     * @return an Optional containing the last modification time, or an empty Optional if not found
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> fetchLastModified(String mobileNumber) {
+        if (!mobileNumberFilter.mightContain(mobileNumber)) {
+            return Optional.empty();
+        }
+        readYourWritesTracker.pinToPrimaryIfRecentlyWritten(mobileNumber);
+        return loansRepository.findLastModifiedByMobileNumber(mobileNumber);
+    }
 }
@@ -0,0 +1,143 @@
+package com.gurpreet.loans.service.impl;
+
+import com.gurpreet.loans.constants.LoansConstants;
+import com.gurpreet.loans.dto.LoansDto;
+import com.gurpreet.loans.entity.Loans;
+import com.gurpreet.loans.exception.LoanAlreadyExistsException;
+import com.gurpreet.loans.exception.ResourceNotFoundException;
+import com.gurpreet.loans.mapper.LoansMapper;
+import com.gurpreet.loans.repository.ReactiveLoansRepository;
+import com.gurpreet.loans.service.IReactiveLoansService;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+@Service
+@Profile("reactive")
+@AllArgsConstructor
+public class ReactiveLoansServiceImpl implements IReactiveLoansService {
+
+    private ReactiveLoansRepository reactiveLoansRepository;
+
+    /**
+     * Creates a new loan for the given mobile number.
+     *
+     * If a loan already exists for the given mobile number, the returned Mono fails with a LoanAlreadyExistsException.
+     * Otherwise a new loan is saved with the given mobile number and the default loan type and limit.
+     *
+     * @param mobileNumber the mobile number for whom the loan is to be created
+     * @return a Mono completing when the loan is saved
+     */
+    @Override
+    public Mono<Void> createLoan(String mobileNumber) {
+        return reactiveLoansRepository.findByMobileNumber(mobileNumber)
+                .hasElement()
+                .flatMap(exists -> exists
+                        ? Mono.error(new LoanAlreadyExistsException("Loan already registered with given mobileNumber " + mobileNumber))
+                        : reactiveLoansRepository.save(createNewLoan(mobileNumber)))
+                .then();
+    }
+
+    /**
+     * Creates a new loan object for the given mobile number.
+     *
+     * @param mobileNumber the mobile number for whom the loan is to be created
+     * @return a Loans object with the given mobile number, a random loan number, the default loan type, and the default loan limit
+     */
+    private Loans createNewLoan(String mobileNumber){
+        Loans newLoan = new Loans();
+        long randomLoanNumber = 100000000000L + new Random().nextInt(900000000);
+        newLoan.setLoanNumber(Long.toString(randomLoanNumber));
+        newLoan.setMobileNumber(mobileNumber);
+        newLoan.setLoanType(LoansConstants.HOME_LOAN);
+        newLoan.setTotalLoan(LoansConstants.NEW_LOAN_LIMIT);
+        newLoan.setAmountPaid(0);
+        newLoan.setOutstandingAmount(LoansConstants.NEW_LOAN_LIMIT);
+        return newLoan;
+    }
+
+    /**
+     * Fetches the loan details for the given mobile number.
+     *
+     * @param mobileNumber the mobile number of the customer whose loan is to be fetched
+     * @return a Mono emitting the loan details, or failing with a ResourceNotFoundException
+     */
+    @Override
+    public Mono<LoansDto> fetchLoan(String mobileNumber) {
+        return reactiveLoansRepository.findByMobileNumber(mobileNumber)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber)))
+                .map(loans -> LoansMapper.maptoLoansDto(loans, new LoansDto()));
+    }
+
+    /**
+     * Updates the loan details for the given loan number.
+     *
+     * @param loansDto the LoansDto object containing the loan details to be updated
+     * @return a Mono emitting true once the loan is saved, or failing with a ResourceNotFoundException
+     */
+    @Override
+    public Mono<Boolean> updateLoan(LoansDto loansDto) {
+        return reactiveLoansRepository.findByLoanNumber(loansDto.getLoanNumber())
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Loan", "LoanNumber", loansDto.getLoanNumber())))
+                .flatMap(loans -> reactiveLoansRepository.save(LoansMapper.mapToLoans(loansDto, loans)))
+                .thenReturn(true);
+    }
+
+    /**
+     * Deletes the loan associated with the given mobile number.
+     *
+     * @param mobileNumber the mobile number of the customer whose loan is to be deleted
+     * @return a Mono emitting true once the loan is deleted, or failing with a ResourceNotFoundException
+     */
+    @Override
+    public Mono<Boolean> deleteLoan(String mobileNumber) {
+        return reactiveLoansRepository.findByMobileNumber(mobileNumber)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber)))
+                .flatMap(loans -> reactiveLoansRepository.deleteById(loans.getLoanId()))
+                .thenReturn(true);
+    }
+
+    /**
+     * Fetches the loan details of several customers at once.
+     *
+     * The distinct mobile numbers are resolved with IN queries of at most FETCH_BATCH_CHUNK_SIZE numbers each,
+     * run one after the other. Mobile numbers without a loan are mapped to null.
+     *
+     * @param mobileNumbers the mobile numbers of the customers whose loans are to be fetched
+     * @return a Mono emitting a map keyed by mobile number, in request order, with a null value for the ones not found
+     */
+    @Override
+    public Mono<Map<String, LoansDto>> fetchLoans(List<String> mobileNumbers) {
+        List<String> distinctNumbers = new ArrayList<>(new LinkedHashSet<>(mobileNumbers));
+        return Flux.fromIterable(distinctNumbers)
+                .buffer(LoansConstants.FETCH_BATCH_CHUNK_SIZE)
+                .concatMap(reactiveLoansRepository::findByMobileNumberIn)
+                .collectMap(Loans::getMobileNumber, loans -> LoansMapper.maptoLoansDto(loans, new LoansDto()))
+                .map(found -> {
+                    Map<String, LoansDto> result = new LinkedHashMap<>();
+                    distinctNumbers.forEach(mobileNumber -> result.put(mobileNumber, found.get(mobileNumber)));
+                    return result;
+                });
+    }
+
+    /**
+     * Fetches only the last modification time of the loan details of the given mobile number.
+     *
+     * @param mobileNumber the mobile number of the customer
+     * @return a Mono emitting the last modification time, or an empty Mono if not found
+     */
+    @Override
+    public Mono<LocalDateTime> fetchLastModified(String mobileNumber) {
+        return reactiveLoansRepository.findLastModifiedByMobileNumber(mobileNumber);
+    }
+}
@@ -6,8 +6,62 @@ CREATE TABLE IF NOT EXISTS `loans` (
     `total_loan` int NOT NULL,
     `amount_paid` int NOT NULL,
     `outstanding_amount` int NOT NULL,
-    `created_at` date NOT NULL,
+    `created_at` datetime(6) NOT NULL,
     `created_by` varchar(20) NOT NULL,
-    `updated_at` date DEFAULT NULL,
+    `updated_at` datetime(6) DEFAULT NULL,
     `updated_by` varchar(20) DEFAULT NULL
-    );
\ No newline at end of file
+    );
+
+-- the audit columns carry the validators of the fetch APIs (ETag/Last-Modified), they need sub-second precision
+-- one-time migration of the tables created before: only altered while a column is still a date or less precise
+SET @widen_loans = (SELECT IF(COUNT(*) > 0,
+    'ALTER TABLE `loans` MODIFY `created_at` datetime(6) NOT NULL, MODIFY `updated_at` datetime(6) DEFAULT NULL',
+    'DO 0')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'loans'
+    AND COLUMN_NAME IN ('created_at', 'updated_at')
+    AND (DATA_TYPE <> 'datetime' OR DATETIME_PRECISION < 6));
+PREPARE widen_loans FROM @widen_loans;
+EXECUTE widen_loans;
+DEALLOCATE PREPARE widen_loans;
+
+-- schedule summary per loan, written by the portfolio recompute (amounts in paise)
+CREATE TABLE IF NOT EXISTS `loan_schedule` (
+    `loan_id` int NOT NULL PRIMARY KEY,
+    `annual_rate_percent` decimal(6,3) NOT NULL,
+    `tenure_months` int NOT NULL,
+    `emi` bigint NOT NULL,
+    `total_interest` bigint NOT NULL,
+    `installments` int NOT NULL,
+    `computed_at` datetime(6) NOT NULL
+    );
+
+-- one row per accrual period, the watermark is the loan id below which every chunk has been committed
+CREATE TABLE IF NOT EXISTS `interest_accrual_run` (
+    `period` char(7) NOT NULL PRIMARY KEY,
+    `status` varchar(20) NOT NULL,
+    `annual_rate_percent` decimal(6,3) NOT NULL,
+    `watermark_loan_id` int NOT NULL,
+    `accrued_loans` bigint NOT NULL,
+    `started_at` datetime(6) NOT NULL,
+    `finished_at` datetime(6) DEFAULT NULL
+    );
+
+-- ledger of the accrued interest, makes replaying a chunk of a resumed run a no-op
+CREATE TABLE IF NOT EXISTS `loan_interest_accrual` (
+    `period` char(7) NOT NULL,
+    `loan_id` int NOT NULL,
+    `interest` int NOT NULL,
+    `applied` boolean NOT NULL DEFAULT false,
+    `accrued_at` datetime(6) NOT NULL,
+    PRIMARY KEY (`period`, `loan_id`)
+    );
+
+-- heavy hitters saved by every instance, replayed at startup to warm the caches before readiness
+CREATE TABLE IF NOT EXISTS `hot_key_snapshot` (
+    `kind` varchar(30) NOT NULL,
+    `key_value` varchar(100) NOT NULL,
+    `estimate` bigint NOT NULL,
+    `saved_at` datetime(6) NOT NULL,
+    PRIMARY KEY (`kind`, `key_value`)
+    );
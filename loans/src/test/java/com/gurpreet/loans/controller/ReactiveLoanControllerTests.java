@@ -0,0 +1,200 @@
+package com.gurpreet.loans.controller;
+
+import com.gurpreet.loans.constants.LoansConstants;
+import com.gurpreet.loans.dto.LoansContactInfoDto;
+import com.gurpreet.loans.dto.LoansDto;
+import com.gurpreet.loans.exception.ReactiveGlobalExceptionHandler;
+import com.gurpreet.loans.exception.ResourceNotFoundException;
+import com.gurpreet.loans.service.IReactiveLoansService;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.validation.beanvalidation.MethodValidationPostProcessor;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveLoanControllerTests {
+
+    private static final String MOBILE_NUMBER = "9876543210";
+
+    private AnnotationConfigApplicationContext context;
+
+    private IReactiveLoansService service;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(WebConfig.class);
+        service = context.getBean(IReactiveLoansService.class);
+        ReflectionTestUtils.setField(context.getBean(ReactiveGlobalExceptionHandler.class), "retryAfterSeconds", 2L);
+        client = WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void fetchIsAnsweredWithNotModifiedWhenTheETagMatches() {
+        when(service.fetchLastModified(MOBILE_NUMBER)).thenReturn(Mono.just(LocalDateTime.of(2025, 1, 1, 10, 0)));
+        when(service.fetchLoan(MOBILE_NUMBER)).thenReturn(Mono.just(loan(MOBILE_NUMBER)));
+
+        String eTag = client.get().uri("/api/fetch?mobileNumber={mobileNumber}", MOBILE_NUMBER)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.LAST_MODIFIED)
+                .expectBody().jsonPath("$.loanNumber").isEqualTo("100012345678")
+                .returnResult().getResponseHeaders().getETag();
+
+        client.get().uri("/api/fetch?mobileNumber={mobileNumber}", MOBILE_NUMBER)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+        verify(service).fetchLoan(MOBILE_NUMBER);
+    }
+
+    @Test
+    void fetchOfAnUnknownMobileNumberIsAnsweredWithNotFound() {
+        when(service.fetchLastModified(MOBILE_NUMBER)).thenReturn(Mono.empty());
+        when(service.fetchLoan(MOBILE_NUMBER))
+                .thenReturn(Mono.error(new ResourceNotFoundException("Loan", "mobileNumber", MOBILE_NUMBER)));
+
+        client.get().uri("/api/fetch?mobileNumber={mobileNumber}", MOBILE_NUMBER)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.apiPath").isEqualTo("uri=/api/fetch")
+                .jsonPath("$.errorCode").isEqualTo("NOT_FOUND");
+    }
+
+    @Test
+    void invalidMobileNumberIsAnsweredWithBadRequest() {
+        client.get().uri("/api/fetch?mobileNumber=123")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$['fetchLoanDetails.mobileNumber']").isEqualTo("Mobile number must be 10 digits");
+        verify(service, never()).fetchLastModified(any());
+    }
+
+    @Test
+    void fetchBatchReturnsTheLoansInRequestOrder() {
+        Map<String, LoansDto> loans = new LinkedHashMap<>();
+        loans.put(MOBILE_NUMBER, loan(MOBILE_NUMBER));
+        loans.put("1234567890", null);
+        when(service.fetchLoans(List.of(MOBILE_NUMBER, "1234567890"))).thenReturn(Mono.just(loans));
+
+        client.post().uri("/api/fetch-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(MOBILE_NUMBER, "1234567890"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$['9876543210'].loanNumber").isEqualTo("100012345678")
+                .jsonPath("$['1234567890']").isEmpty();
+    }
+
+    @Test
+    void fetchBatchWithANullMobileNumberIsAnsweredWithBadRequest() {
+        client.post().uri("/api/fetch-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Arrays.asList(MOBILE_NUMBER, null))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$['fetchLoansDetails.mobileNumbers[1].<list element>']")
+                .isEqualTo("Mobile number can not be null");
+        verify(service, never()).fetchLoans(any());
+    }
+
+    @Test
+    void poolAcquireTimeoutIsAnsweredWithServiceUnavailable() {
+        when(service.fetchLastModified(MOBILE_NUMBER)).thenReturn(Mono.error(new DataAccessResourceFailureException(
+                "Failed to obtain R2DBC Connection", new R2dbcTimeoutException(new TimeoutException()))));
+
+        client.get().uri("/api/fetch?mobileNumber={mobileNumber}", MOBILE_NUMBER)
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "2")
+                .expectBody().jsonPath("$.errorMessage").isEqualTo(LoansConstants.MESSAGE_503);
+    }
+
+    @Test
+    void otherResourceFailureIsAnsweredWithInternalServerError() {
+        when(service.fetchLastModified(MOBILE_NUMBER)).thenReturn(Mono.error(
+                new DataAccessResourceFailureException("Connection refused")));
+
+        client.get().uri("/api/fetch?mobileNumber={mobileNumber}", MOBILE_NUMBER)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectHeader().doesNotExist(HttpHeaders.RETRY_AFTER)
+                .expectBody().jsonPath("$.errorCode").isEqualTo("INTERNAL_SERVER_ERROR");
+    }
+
+    /**
+     * The controller with the method validation of its @Validated parameters and the exception handler,
+     * as the reactive profile wires them.
+     */
+    @Configuration
+    @EnableWebFlux
+    static class WebConfig {
+
+        @Bean
+        static MethodValidationPostProcessor methodValidationPostProcessor() {
+            return new MethodValidationPostProcessor();
+        }
+
+        @Bean
+        IReactiveLoansService reactiveLoansService() {
+            return mock(IReactiveLoansService.class);
+        }
+
+        @Bean
+        ReactiveLoanController reactiveLoanController(IReactiveLoansService reactiveLoansService) {
+            return new ReactiveLoanController(reactiveLoansService);
+        }
+
+        @Bean
+        ReactiveGlobalExceptionHandler reactiveGlobalExceptionHandler() {
+            return new ReactiveGlobalExceptionHandler();
+        }
+
+        @Bean
+        LoansContactInfoDto loansContactInfoDto() {
+            return new LoansContactInfoDto();
+        }
+    }
+
+    private static LoansDto loan(String mobileNumber) {
+        LoansDto loansDto = new LoansDto();
+        loansDto.setMobileNumber(mobileNumber);
+        loansDto.setLoanNumber("100012345678");
+        loansDto.setLoanType("Home Loan");
+        loansDto.setTotalLoan(100_000);
+        loansDto.setOutstandingAmount(100_000);
+        return loansDto;
+    }
+}
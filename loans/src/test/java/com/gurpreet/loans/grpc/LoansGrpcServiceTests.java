@@ -0,0 +1,121 @@
+package com.gurpreet.loans.grpc;
+
+import com.gurpreet.loans.dto.LoansDto;
+import com.gurpreet.loans.exception.LoanAlreadyExistsException;
+import com.gurpreet.loans.grpc.proto.Loan;
+import com.gurpreet.loans.grpc.proto.LoansServiceGrpc;
+import com.gurpreet.loans.grpc.proto.MobileNumberRequest;
+import com.gurpreet.loans.grpc.proto.MobileNumbersRequest;
+import com.gurpreet.loans.service.ILoansService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoansGrpcServiceTests {
+
+    private final ILoansService iLoansService = mock(ILoansService.class);
+
+    private Server server;
+
+    private ManagedChannel channel;
+
+    private LoansServiceGrpc.LoansServiceBlockingStub stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(new LoansGrpcService(iLoansService,
+                        Validation.buildDefaultValidatorFactory().getValidator()))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+        stub = LoansServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void fetchLoanReturnsLoan() {
+        when(iLoansService.fetchLoan("8929014488")).thenReturn(loan("8929014488"));
+
+        Loan loan = stub.fetchLoan(MobileNumberRequest.newBuilder().setMobileNumber("8929014488").build());
+
+        assertThat(loan.getLoanNumber()).isEqualTo("008929014488");
+        assertThat(loan.getOutstandingAmount()).isEqualTo(90000);
+    }
+
+    @Test
+    void createLoanMapsAlreadyExists() {
+        doThrow(new LoanAlreadyExistsException("Loan already registered with given mobileNumber 8929014488"))
+                .when(iLoansService).createLoan("8929014488");
+
+        assertThatThrownBy(() -> stub.createLoan(MobileNumberRequest.newBuilder().setMobileNumber("8929014488").build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.ALREADY_EXISTS));
+    }
+
+    @Test
+    void updateLoanRejectsInvalidLoan() {
+        Loan invalid = Loan.newBuilder().setMobileNumber("8929014488").setLoanNumber("123").setLoanType("Home Loan").build();
+
+        assertThatThrownBy(() -> stub.updateLoan(invalid))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+        verify(iLoansService, never()).updateLoan(any());
+    }
+
+    @Test
+    void fetchLoansStreamsKnownLoansInOrder() {
+        Map<String, LoansDto> result = new LinkedHashMap<>();
+        result.put("1111111111", loan("1111111111"));
+        result.put("2222222222", null);
+        result.put("3333333333", loan("3333333333"));
+        when(iLoansService.fetchLoans(List.of("1111111111", "2222222222", "3333333333"))).thenReturn(result);
+
+        List<String> mobileNumbers = new ArrayList<>();
+        stub.fetchLoans(MobileNumbersRequest.newBuilder()
+                        .addMobileNumbers("1111111111").addMobileNumbers("2222222222").addMobileNumbers("3333333333")
+                        .build())
+                .forEachRemaining(loan -> mobileNumbers.add(loan.getMobileNumber()));
+
+        assertThat(mobileNumbers).containsExactly("1111111111", "3333333333");
+    }
+
+    private static LoansDto loan(String mobileNumber) {
+        LoansDto loansDto = new LoansDto();
+        loansDto.setMobileNumber(mobileNumber);
+        loansDto.setLoanNumber("00" + mobileNumber);
+        loansDto.setLoanType("Home Loan");
+        loansDto.setTotalLoan(100000);
+        loansDto.setAmountPaid(10000);
+        loansDto.setOutstandingAmount(90000);
+        return loansDto;
+    }
+}
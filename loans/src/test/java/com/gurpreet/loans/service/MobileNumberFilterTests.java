@@ -0,0 +1,65 @@
+package com.gurpreet.loans.service;
+
+import com.gurpreet.loans.repository.LoansRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class MobileNumberFilterTests {
+
+    private final LoansRepository loansRepository = mock(LoansRepository.class);
+
+    @Test
+    void everyNumberMightBePresentUntilTheScanCompletes() {
+        MobileNumberFilter filter = filter(true);
+
+        assertThat(filter.mightContain("8929014488")).isTrue();
+    }
+
+    @Test
+    void storedAndAddedNumbersAreAlwaysReported() {
+        when(loansRepository.streamAllMobileNumbers()).thenReturn(numbers(0, 1000));
+        MobileNumberFilter filter = filter(true);
+        filter.rebuild();
+        filter.add("9999999999");
+
+        assertThat(numbers(0, 1000)).allMatch(filter::mightContain);
+        assertThat(filter.mightContain("9999999999")).isTrue();
+    }
+
+    @Test
+    void unknownNumbersAreMostlyRejectedWithinTheFalsePositiveProbability() {
+        when(loansRepository.streamAllMobileNumbers()).thenReturn(numbers(0, 1000));
+        MobileNumberFilter filter = filter(true);
+        filter.rebuild();
+
+        long falsePositives = numbers(1000, 11000).filter(filter::mightContain).count();
+
+        // 1% expected at the configured capacity, the filter holds a tenth of it
+        assertThat(falsePositives).isLessThan(100);
+    }
+
+    @Test
+    void disabledFilterNeverScansAndNeverRejects() {
+        MobileNumberFilter filter = filter(false);
+        filter.rebuild();
+
+        assertThat(filter.mightContain("8929014488")).isTrue();
+        verifyNoInteractions(loansRepository);
+    }
+
+    private MobileNumberFilter filter(boolean enabled) {
+        return new MobileNumberFilter(loansRepository, new SimpleMeterRegistry(), enabled, 10_000, 0.01);
+    }
+
+    private static Stream<String> numbers(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> String.valueOf(7_000_000_000L + i));
+    }
+}
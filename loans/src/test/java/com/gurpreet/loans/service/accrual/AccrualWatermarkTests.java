@@ -0,0 +1,61 @@
+package com.gurpreet.loans.service.accrual;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccrualWatermarkTests {
+
+    @Test
+    void advancesOverChunksCompletedInOrder() {
+        AccrualWatermark accrualWatermark = new AccrualWatermark(0);
+        accrualWatermark.issue(100);
+        accrualWatermark.issue(200);
+
+        assertThat(accrualWatermark.complete(100)).isEqualTo(100);
+        assertThat(accrualWatermark.complete(200)).isEqualTo(200);
+    }
+
+    @Test
+    void staysBelowAChunkStillRunning() {
+        AccrualWatermark accrualWatermark = new AccrualWatermark(50);
+        accrualWatermark.issue(100);
+        accrualWatermark.issue(200);
+        accrualWatermark.issue(300);
+
+        assertThat(accrualWatermark.complete(300)).isEqualTo(50);
+        assertThat(accrualWatermark.complete(200)).isEqualTo(50);
+        assertThat(accrualWatermark.complete(100)).isEqualTo(300);
+        assertThat(accrualWatermark.get()).isEqualTo(300);
+    }
+
+    @Test
+    void endsAtTheLastChunkWhateverTheCompletionOrder() throws Exception {
+        AccrualWatermark accrualWatermark = new AccrualWatermark(0);
+        List<Long> lastLoanIds = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            accrualWatermark.issue(id * 10);
+            lastLoanIds.add(id * 10);
+        }
+        Collections.shuffle(lastLoanIds);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (long lastLoanId : lastLoanIds) {
+                executor.execute(() -> accrualWatermark.complete(lastLoanId));
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(accrualWatermark.get()).isEqualTo(10_000);
+    }
+}
@@ -0,0 +1,35 @@
+package com.gurpreet.loans.service.amortization;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AmortizationTermsTests {
+
+    @Test
+    void readsTheTermsFromTheEnvironment() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(AmortizationTerms.ANNUAL_RATE_PERCENT, "0")
+                .withProperty(AmortizationTerms.TENURE_MONTHS, "12");
+
+        assertThat(AmortizationTerms.from(environment)).isEqualTo(new AmortizationTerms(0, 12));
+    }
+
+    @Test
+    void rejectsATenureWithoutInstallmentOrTooLong() {
+        assertThatThrownBy(() -> new AmortizationTerms(8.5, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AmortizationTerms(8.5, -1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AmortizationTerms(8.5, AmortizationTerms.MAX_TENURE_MONTHS + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsANegativeOrUndefinedRate() {
+        assertThatThrownBy(() -> new AmortizationTerms(-0.5, 240)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AmortizationTerms(Double.NaN, 240)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AmortizationTerms(Double.POSITIVE_INFINITY, 240))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,82 @@
+package com.gurpreet.loans.service.amortization;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AmortizationTests {
+
+    private static final double ONE_PERCENT_MONTHLY = Amortization.monthlyRate(12);
+
+    @Test
+    void emiIsRoundedUpToThePaisa() {
+        // 10,000,000 * 0.01 * 1.01^12 / (1.01^12 - 1) = 888,487.88
+        assertThat(Amortization.emi(10_000_000, ONE_PERCENT_MONTHLY, 12)).isEqualTo(888_488);
+    }
+
+    @Test
+    void emiOfAZeroRateSplitsThePrincipalRoundedUp() {
+        assertThat(Amortization.emi(1000, 0, 3)).isEqualTo(334);
+        assertThat(Amortization.emi(1200, 0, 12)).isEqualTo(100);
+    }
+
+    @Test
+    void nothingIsOwedOnANonPositivePrincipal() {
+        long[] summary = new long[Amortization.SUMMARY_SIZE];
+        Amortization.summarize(0, ONE_PERCENT_MONTHLY, 12, summary);
+
+        assertThat(Amortization.emi(0, ONE_PERCENT_MONTHLY, 12)).isZero();
+        assertThat(summary).containsExactly(0, 0, 0);
+    }
+
+    @Test
+    void scheduleClosesAtZeroWithTheLastInstallmentPayingTheRest() {
+        long[] interest = new long[12];
+        long[] repaid = new long[12];
+        long[] balance = new long[12];
+
+        int installments = Amortization.schedule(10_000_000, ONE_PERCENT_MONTHLY, 12, interest, repaid, balance);
+
+        assertThat(installments).isEqualTo(12);
+        assertThat(interest[0]).isEqualTo(100_000);
+        assertThat(repaid[0]).isEqualTo(888_488 - 100_000);
+        assertThat(interest[11]).isEqualTo(8797);
+        assertThat(repaid[11]).isEqualTo(879_688);
+        assertThat(balance[11]).isZero();
+        assertThat(Arrays.stream(repaid).sum()).isEqualTo(10_000_000);
+        assertThat(Arrays.stream(interest).sum()).isEqualTo(661_853);
+    }
+
+    @Test
+    void scheduleOfAZeroRateHasNoInterest() {
+        long[] interest = new long[3];
+        long[] repaid = new long[3];
+        long[] balance = new long[3];
+
+        int installments = Amortization.schedule(1000, 0, 3, interest, repaid, balance);
+
+        assertThat(installments).isEqualTo(3);
+        assertThat(interest).containsExactly(0, 0, 0);
+        assertThat(repaid).containsExactly(334, 334, 332);
+        assertThat(balance).containsExactly(666, 332, 0);
+    }
+
+    @Test
+    void summaryMatchesTheSchedule() {
+        long[] summary = new long[Amortization.SUMMARY_SIZE];
+        long[] interest = new long[240];
+        long[] repaid = new long[240];
+        long[] balance = new long[240];
+        double monthlyRate = Amortization.monthlyRate(8.5);
+
+        Amortization.summarize(250_000_000, monthlyRate, 240, summary);
+        int installments = Amortization.schedule(250_000_000, monthlyRate, 240, interest, repaid, balance);
+
+        assertThat(summary[Amortization.EMI]).isEqualTo(Amortization.emi(250_000_000, monthlyRate, 240));
+        assertThat(summary[Amortization.INSTALLMENTS]).isEqualTo(installments);
+        assertThat(summary[Amortization.TOTAL_INTEREST]).isEqualTo(Arrays.stream(interest).sum());
+        assertThat(balance[installments - 1]).isZero();
+    }
+}
@@ -0,0 +1,42 @@
+package com.gurpreet.loans.service.impl;
+
+import com.gurpreet.loans.config.ReadYourWritesTracker;
+import com.gurpreet.loans.repository.LoansRepository;
+import com.gurpreet.loans.service.MobileNumberFilter;
+import com.gurpreet.loans.service.amortization.AmortizationTerms;
+import com.gurpreet.loans.service.amortization.LoanScheduleStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LoanScheduleServiceImplTests {
+
+    private final LoansRepository loansRepository = mock(LoansRepository.class);
+
+    @Test
+    void invalidTermsDoNotLeaveTheRecomputeMarkedAsRunning() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(AmortizationTerms.ANNUAL_RATE_PERCENT, "8.5")
+                .withProperty(AmortizationTerms.TENURE_MONTHS, "0");
+        when(loansRepository.streamAllBalances()).thenReturn(Stream.empty());
+        LoanScheduleServiceImpl service = new LoanScheduleServiceImpl(loansRepository,
+                mock(ReadYourWritesTracker.class), mock(MobileNumberFilter.class), mock(LoanScheduleStore.class),
+                mock(PlatformTransactionManager.class), environment, new SimpleMeterRegistry(), 100, 1, 2);
+        try {
+            assertThatThrownBy(service::recomputePortfolio).isInstanceOf(IllegalArgumentException.class);
+
+            environment.setProperty(AmortizationTerms.TENURE_MONTHS, "240");
+            assertThat(service.recomputePortfolio()).isTrue();
+        } finally {
+            service.shutdown();
+        }
+    }
+}